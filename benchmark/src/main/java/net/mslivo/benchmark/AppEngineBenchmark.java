@@ -0,0 +1,90 @@
+package net.mslivo.benchmark;
+
+import net.mslivo.core.engine.tools.appengine.AppEngine;
+import net.mslivo.core.engine.tools.appengine.AppEngineAdapter;
+import net.mslivo.core.engine.tools.appengine.AppEngineIO;
+import net.mslivo.core.engine.tools.appengine.AppEngineOutputQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Input -> update -> output round trip cost of AppEngine, in synchronized and concurrent mode.
+ * Every input produces one output, one invocation pushes a whole batch through a single tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppEngineBenchmark {
+
+    private static final int INPUT_MOVE = 1;
+    private static final int OUTPUT_MOVED = 1;
+
+    @Param({"100", "10000"})
+    public int batch;
+
+    @Param({"false", "true"})
+    public boolean concurrent;
+
+    private AppEngine<BenchmarkAdapter, BenchmarkData> appEngine;
+
+    public static class BenchmarkData {
+        public long sum;
+    }
+
+    public static class BenchmarkAdapter implements AppEngineAdapter<BenchmarkData> {
+        private BenchmarkData data;
+        private AppEngineOutputQueue outputQueue;
+
+        @Override
+        public void init(BenchmarkData data, AppEngineOutputQueue outputQueue) {
+            this.data = data;
+            this.outputQueue = outputQueue;
+        }
+
+        @Override
+        public void processInput(AppEngineIO engineIO) {
+            int x = engineIO.pollInt();
+            int y = engineIO.pollInt();
+            float speed = engineIO.pollFloat();
+            data.sum += x + y;
+            outputQueue.addOutput(OUTPUT_MOVED).pushInt(x, y).pushFloat(speed);
+        }
+
+        @Override
+        public void update() {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+    @Setup
+    public void setup() {
+        appEngine = new AppEngine<>(new BenchmarkAdapter(), new BenchmarkData(), concurrent);
+    }
+
+    @TearDown
+    public void tearDown() {
+        appEngine.shutdown();
+    }
+
+    @Benchmark
+    public long roundTrip() {
+        for (int i = 0; i < batch; i++) {
+            appEngine.submitInput(appEngine.obtainInput(INPUT_MOVE).pushInt(i, -i).pushFloat(1f));
+        }
+        appEngine.update();
+        long sum = 0;
+        AppEngineIO output;
+        while ((output = appEngine.processOutput()) != null) {
+            sum += output.pollInt();
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,132 @@
+package net.mslivo.benchmark;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL32;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Installs no-op Gdx.app/Gdx.graphics/Gdx.gl stubs so renderers can be constructed and fed without a window.
+ * Every GL call returns immediately, measurements only cover the CPU side (vertex generation, batching).
+ */
+public final class HeadlessGdx {
+
+    public static final int WIDTH = 640;
+    public static final int HEIGHT = 480;
+
+    private static boolean initialized = false;
+
+    private HeadlessGdx() {
+    }
+
+    public static synchronized void init() {
+        if (initialized) return;
+        GdxNativesLoader.load();
+        ShaderProgram.pedantic = false;
+
+        GL32 gl = stub(GL32.class, new StubHandler() {
+            private final AtomicInteger handles = new AtomicInteger(1);
+            private ByteBuffer mappedBuffer = BufferUtils.newByteBuffer(0);
+
+            @Override
+            Object handle(Method method, Object[] args) {
+                switch (method.getName()) {
+                    case "glGetShaderiv", "glGetProgramiv" -> {
+                        int pname = (int) args[1];
+                        if (pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS)
+                            ((IntBuffer) args[2]).put(0, 1);
+                        return null;
+                    }
+                    case "glGetShaderInfoLog", "glGetProgramInfoLog", "glGetString" -> {
+                        return "";
+                    }
+                    case "glMapBufferRange" -> {
+                        int length = (int) args[2];
+                        if (mappedBuffer.capacity() < length) mappedBuffer = BufferUtils.newByteBuffer(length);
+                        mappedBuffer.clear();
+                        return mappedBuffer;
+                    }
+                }
+                if (method.getReturnType() == int.class) return handles.getAndIncrement();
+                return defaultValue(method.getReturnType());
+            }
+        });
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+        Gdx.gl30 = gl;
+        Gdx.gl31 = gl;
+        Gdx.gl32 = gl;
+
+        Gdx.graphics = stub(Graphics.class, new StubHandler() {
+            @Override
+            Object handle(Method method, Object[] args) {
+                return switch (method.getName()) {
+                    case "getWidth", "getBackBufferWidth" -> WIDTH;
+                    case "getHeight", "getBackBufferHeight" -> HEIGHT;
+                    case "getGL20", "getGL30", "getGL31", "getGL32" -> gl;
+                    case "isGL30Available", "isGL31Available", "isGL32Available" -> true;
+                    default -> defaultValue(method.getReturnType());
+                };
+            }
+        });
+
+        Gdx.app = stub(Application.class, new StubHandler() {
+            @Override
+            Object handle(Method method, Object[] args) {
+                return switch (method.getName()) {
+                    case "getType" -> Application.ApplicationType.HeadlessDesktop;
+                    case "getGraphics" -> Gdx.graphics;
+                    default -> defaultValue(method.getReturnType());
+                };
+            }
+        });
+
+        initialized = true;
+    }
+
+    private static <T> T stub(Class<T> type, StubHandler handler) {
+        return type.cast(Proxy.newProxyInstance(HeadlessGdx.class.getClassLoader(), new Class[]{type}, handler));
+    }
+
+    private static abstract class StubHandler implements InvocationHandler {
+
+        abstract Object handle(Method method, Object[] args);
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> "HeadlessGdx";
+                };
+            }
+            return handle(method, args);
+        }
+
+        static Object defaultValue(Class<?> type) {
+            if (type == boolean.class) return false;
+            if (type == int.class) return 0;
+            if (type == long.class) return 0L;
+            if (type == float.class) return 0f;
+            if (type == double.class) return 0d;
+            if (type == short.class) return (short) 0;
+            if (type == byte.class) return (byte) 0;
+            if (type == char.class) return (char) 0;
+            if (type == String.class) return "";
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+package net.mslivo.benchmark;
+
+import com.badlogic.gdx.graphics.GL32;
+import net.mslivo.core.engine.tools.particles.ParticleUpdater;
+import net.mslivo.core.engine.tools.particles.PrimitiveParticleSystem;
+import net.mslivo.core.engine.tools.particles.SoAParticleSystem;
+import net.mslivo.core.engine.tools.particles.particles.Particle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ParticleSystem update cost. "steady" keeps every particle alive, "churn" lets particles expire
+ * after a short lifetime and refills the system each tick, which exercises removal and pooling.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParticleSystemBenchmark {
+
+    private static final int LIFETIME = 30;
+
+    @Param({"1000", "10000", "100000"})
+    public int particles;
+
+    private PrimitiveParticleSystem<ParticleData> steadySystem;
+    private PrimitiveParticleSystem<ParticleData> churnSystem;
+    private SoAParticleSystem soaSystem;
+    private int spawnCounter;
+
+    public static class ParticleData {
+        public int life;
+    }
+
+    @Setup
+    public void setup() {
+        steadySystem = new PrimitiveParticleSystem<>(ParticleData.class, new ParticleUpdater<>() {
+            @Override
+            public boolean updateParticle(Particle<ParticleData> particle) {
+                particle.x += 0.5f;
+                particle.y += 0.25f;
+                if (particle.x > HeadlessGdx.WIDTH) particle.x = 0;
+                if (particle.y > HeadlessGdx.HEIGHT) particle.y = 0;
+                return true;
+            }
+        }, particles);
+        churnSystem = new PrimitiveParticleSystem<>(ParticleData.class, new ParticleUpdater<>() {
+            @Override
+            public boolean updateParticle(Particle<ParticleData> particle) {
+                particle.x += 0.5f;
+                particle.a -= 1f / LIFETIME;
+                return --particle.data.life > 0;
+            }
+
+            @Override
+            public void resetParticleData(ParticleData particleData) {
+                particleData.life = 0;
+            }
+        }, particles);
+        soaSystem = new SoAParticleSystem(particles);
+        soaSystem.setGravity(0f, -0.01f);
+        for (int i = 0; i < particles; i++) {
+            spawn(steadySystem, i);
+            spawn(churnSystem, i);
+            soaSystem.addParticle(i % HeadlessGdx.WIDTH, i % HeadlessGdx.HEIGHT, 0.5f, 0.25f, 1f, 1f, 1f, 1f, SoAParticleSystem.LIFE_INFINITE);
+        }
+    }
+
+    private void spawn(PrimitiveParticleSystem<ParticleData> system, int i) {
+        Particle<ParticleData> particle = system.addPrimitiveParticle(GL32.GL_POINTS, i % HeadlessGdx.WIDTH, i % HeadlessGdx.HEIGHT, 1f, 1f, 1f, 1f);
+        particle.data.life = 1 + (i % LIFETIME);
+    }
+
+    @TearDown
+    public void tearDown() {
+        steadySystem.shutdown();
+        churnSystem.shutdown();
+    }
+
+    @Benchmark
+    public int steadyUpdate() {
+        steadySystem.update();
+        return steadySystem.particleCount();
+    }
+
+    @Benchmark
+    public int steadyUpdateParallel() {
+        steadySystem.updateParallel();
+        return steadySystem.particleCount();
+    }
+
+    @Benchmark
+    public int soaSteadyUpdate() {
+        soaSystem.update();
+        return soaSystem.particleCount();
+    }
+
+    @Benchmark
+    public int soaSteadyUpdateParallel() {
+        soaSystem.updateParallel();
+        return soaSystem.particleCount();
+    }
+
+    @Benchmark
+    public int churnUpdate() {
+        churnSystem.update();
+        while (churnSystem.canAddParticle()) spawn(churnSystem, spawnCounter++);
+        return churnSystem.particleCount();
+    }
+
+    @Benchmark
+    public int churnUpdateParallel() {
+        churnSystem.updateParallel();
+        while (churnSystem.canAddParticle()) spawn(churnSystem, spawnCounter++);
+        return churnSystem.particleCount();
+    }
+
+}
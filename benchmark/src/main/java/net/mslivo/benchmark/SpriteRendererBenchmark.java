@@ -0,0 +1,76 @@
+package net.mslivo.benchmark;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import net.mslivo.core.engine.ui_engine.rendering.SpriteRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vertex generation and batching cost of SpriteRenderer. GL is stubbed, see HeadlessGdx.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpriteRendererBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int sprites;
+
+    private SpriteRenderer spriteRenderer;
+    private Texture texture;
+    private TextureRegion[] regions;
+
+    @Setup
+    public void setup() {
+        HeadlessGdx.init();
+        spriteRenderer = new SpriteRenderer();
+        Pixmap pixmap = new Pixmap(64, 64, Pixmap.Format.RGBA8888);
+        texture = new Texture(pixmap);
+        pixmap.dispose();
+        regions = new TextureRegion[16];
+        for (int i = 0; i < regions.length; i++) {
+            regions[i] = new TextureRegion(texture, (i % 4) * 16, (i / 4) * 16, 16, 16);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        spriteRenderer.dispose();
+        texture.dispose();
+    }
+
+    @Benchmark
+    public void drawRegion() {
+        spriteRenderer.begin();
+        for (int i = 0; i < sprites; i++) {
+            spriteRenderer.draw(regions[i & 15], i % HeadlessGdx.WIDTH, i % HeadlessGdx.HEIGHT);
+        }
+        spriteRenderer.end();
+    }
+
+    @Benchmark
+    public void drawRegionRotatedScaled() {
+        spriteRenderer.begin();
+        for (int i = 0; i < sprites; i++) {
+            spriteRenderer.draw(regions[i & 15], i % HeadlessGdx.WIDTH, i % HeadlessGdx.HEIGHT, 8, 8, 16, 16, 1.5f, 1.5f, i % 360);
+        }
+        spriteRenderer.end();
+    }
+
+    @Benchmark
+    public void drawRegionColored() {
+        spriteRenderer.begin();
+        for (int i = 0; i < sprites; i++) {
+            spriteRenderer.setColor((i & 255) / 255f, 0.5f, 0.5f, 1f);
+            spriteRenderer.draw(regions[i & 15], i % HeadlessGdx.WIDTH, i % HeadlessGdx.HEIGHT);
+        }
+        spriteRenderer.end();
+    }
+
+}
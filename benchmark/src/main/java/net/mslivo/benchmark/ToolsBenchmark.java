@@ -0,0 +1,38 @@
+package net.mslivo.benchmark;
+
+import net.mslivo.core.engine.tools.Tools;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToolsBenchmark {
+
+    @Param({"4", "16", "64"})
+    public int radius;
+
+    private final CountFunction countFunction = new CountFunction();
+
+    private static class CountFunction implements Tools.Calc.DoInRadiusFunction<Object> {
+        private long sum;
+
+        @Override
+        public boolean doInRadiusContinue(int x_center, int y_center, int x, int y) {
+            sum += x + y;
+            return true;
+        }
+    }
+
+    @Benchmark
+    public long doInRadius() {
+        countFunction.sum = 0;
+        Tools.Calc.doInRadius(100, 100, radius, countFunction);
+        return countFunction.sum;
+    }
+
+}
@@ -0,0 +1,74 @@
+package net.mslivo.core.engine.ui_engine;
+
+import net.mslivo.core.engine.ui_engine.rendering.ColorMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorMapBenchmark {
+
+    @Param({"64", "512"})
+    public int size;
+
+    private ColorMap colorMap;
+    private ColorMap colorMapTarget;
+
+    @Setup
+    public void setup() {
+        colorMap = UICommonUtils.colorMap_create(size, size);
+        colorMapTarget = UICommonUtils.colorMap_create(size, size);
+        UICommonUtils.colorMap_clear(colorMap, 0.2f, 0.4f, 0.6f, 1f);
+    }
+
+    @Benchmark
+    public ColorMap clear() {
+        UICommonUtils.colorMap_clear(colorMapTarget, 0.5f, 0.5f, 0.5f, 1f);
+        return colorMapTarget;
+    }
+
+    @Benchmark
+    public ColorMap fill() {
+        UICommonUtils.colorMap_fill(colorMapTarget, size / 4, size / 4, size / 2, size / 2, 1f, 0f, 0f, 1f);
+        return colorMapTarget;
+    }
+
+    @Benchmark
+    public ColorMap setRGBA8888() {
+        for (int iy = 0; iy < size; iy++) {
+            for (int ix = 0; ix < size; ix++) {
+                UICommonUtils.colorMap_setRGBA8888(colorMapTarget, ix, iy, (ix << 24) | (iy << 16) | 0xFF);
+            }
+        }
+        return colorMapTarget;
+    }
+
+    @Benchmark
+    public long getRGBA8888() {
+        long sum = 0;
+        for (int iy = 0; iy < size; iy++) {
+            for (int ix = 0; ix < size; ix++) {
+                sum += UICommonUtils.colorMap_getRGBA8888(colorMap, ix, iy);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public ColorMap copy() {
+        UICommonUtils.colorMap_copy(colorMap, colorMapTarget);
+        return colorMapTarget;
+    }
+
+    @Benchmark
+    public ColorMap blit() {
+        UICommonUtils.colorMap_blit(colorMap, 0, 0, colorMapTarget, size / 4, size / 4, size / 2, size / 2);
+        return colorMapTarget;
+    }
+
+}
@@ -0,0 +1,97 @@
+package net.mslivo.core.engine.ui_engine;
+
+import net.mslivo.core.engine.ui_engine.constants.TILE_SIZE;
+import net.mslivo.core.engine.ui_engine.state.UIEngineState;
+import net.mslivo.core.engine.ui_engine.ui.Window;
+import net.mslivo.core.engine.ui_engine.ui.components.Component;
+import net.mslivo.core.engine.ui_engine.ui.components.ComponentIndex;
+import net.mslivo.core.engine.ui_engine.ui.components.text.Text;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mouse hit testing via UICommonUtils.component_getUIObjectAtPosition over many overlapping windows.
+ * The state is assembled by hand so no GL context is needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentAtPositionBenchmark {
+
+    private static final int RESOLUTION_WIDTH = 1280;
+    private static final int RESOLUTION_HEIGHT = 720;
+    private static final int POSITIONS = 1024;
+
+    @Param({"10", "100"})
+    public int windows;
+
+    @Param({"10", "200"})
+    public int componentsPerWindow;
+
+    private UIEngineState uiEngineState;
+    private int[] positionsX, positionsY;
+    private int position;
+
+    @Setup
+    public void setup() {
+        uiEngineState = new UIEngineState();
+        uiEngineState.tileSize = TILE_SIZE.MODE_8x8;
+        uiEngineState.resolutionWidth = RESOLUTION_WIDTH;
+        uiEngineState.resolutionHeight = RESOLUTION_HEIGHT;
+        uiEngineState.notifications = new ArrayList<>();
+        uiEngineState.windows = new ArrayList<>();
+        uiEngineState.screenComponents = new ArrayList<>();
+        uiEngineState.screenComponentIndex = new ComponentIndex();
+
+        int columns = (int) Math.ceil(Math.sqrt(componentsPerWindow));
+        for (int i = 0; i < windows; i++) {
+            Window window = new Window();
+            window.width = columns * 4;
+            window.height = columns * 2;
+            window.x = (i * 37) % (RESOLUTION_WIDTH - uiEngineState.tileSize.TL(window.width) / 2);
+            window.y = (i * 23) % (RESOLUTION_HEIGHT - uiEngineState.tileSize.TL(window.height) / 2);
+            window.visible = true;
+            window.components = new ArrayList<>();
+            window.componentIndex = new ComponentIndex();
+            for (int c = 0; c < componentsPerWindow; c++) {
+                Text text = new Text();
+                text.x = uiEngineState.tileSize.TL((c % columns) * 4);
+                text.y = uiEngineState.tileSize.TL((c / columns) * 2);
+                text.width = 4;
+                text.height = 1;
+                text.visible = true;
+                text.addedToWindow = window;
+                window.components.add(text);
+            }
+            window.addedToScreen = true;
+            uiEngineState.windows.add(window);
+        }
+
+        positionsX = new int[POSITIONS];
+        positionsY = new int[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            positionsX[i] = (i * 7919) % RESOLUTION_WIDTH;
+            positionsY[i] = (i * 104729) % RESOLUTION_HEIGHT;
+        }
+    }
+
+    @Benchmark
+    public Object getUIObjectAtPosition() {
+        position = (position + 1) & (POSITIONS - 1);
+        return UICommonUtils.component_getUIObjectAtPosition(uiEngineState, positionsX[position], positionsY[position]);
+    }
+
+    @Benchmark
+    public Object getUIObjectAtPositionInvalidated() {
+        // Worst case: a component moved every frame forces an index rebuild on the hovered window
+        position = (position + 1) & (POSITIONS - 1);
+        for (int i = 0; i < uiEngineState.windows.size(); i++) uiEngineState.windows.get(i).componentIndex.valid = false;
+        return UICommonUtils.component_getUIObjectAtPosition(uiEngineState, positionsX[position], positionsY[position]);
+    }
+
+}
@@ -0,0 +1,248 @@
+package net.mslivo.core.engine.media_manager;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Array;
+import net.mslivo.core.engine.tools.Tools;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/*
+ * Stores the packed atlas pages as raw RGBA8888 files next to an index holding
+ * the region table and generated font data. Page files are memory mapped on load.
+ */
+final class AtlasCache {
+    private static final int VERSION = 1;
+    private static final String FILE_PREFIX = "atlas_";
+    private static final String INDEX_FILE = FILE_PREFIX + "%s.index";
+    private static final String PAGE_FILE = FILE_PREFIX + "%s_%d.rgba";
+    private static final String TMP_SUFFIX = ".tmp";
+    // INDEX_FILE and PAGE_FILE names with a SHA-256 hex hash, including leftover temp files
+    private static final Pattern CACHE_FILE = Pattern.compile(Pattern.quote(FILE_PREFIX) + "[0-9a-f]{64}(\\.index|_\\d+\\.rgba)(" + Pattern.quote(TMP_SUFFIX) + ")?");
+    private static final String ERROR_WRITE = "Atlas cache \"%s\" could not be written";
+    private static final String ERROR_PAGE_SIZE = "Atlas cache page \"%s\" has an unexpected size";
+    private static final String ERROR_FONT_COUNT = "Atlas cache font count mismatch";
+
+    private AtlasCache() {
+    }
+
+    static String hash(int pageWidth, int pageHeight, ArrayList<CMediaSprite> spriteCMedias, ArrayList<CMediaFont> fontCMedias) {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        HashSet<String> hashedFiles = new HashSet<>();
+        try (DataOutputStream out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), messageDigest))) {
+            out.writeInt(VERSION);
+            out.writeInt(pageWidth);
+            out.writeInt(pageHeight);
+
+            out.writeInt(spriteCMedias.size());
+            for (int i = 0; i < spriteCMedias.size(); i++) {
+                hashFile(out, hashedFiles, Tools.File.findResource(spriteCMedias.get(i).file));
+            }
+
+            out.writeInt(fontCMedias.size());
+            for (int i = 0; i < fontCMedias.size(); i++) {
+                CMediaFont cMediaFont = fontCMedias.get(i);
+                FileHandle fontFileHandle = Tools.File.findResource(cMediaFont.file);
+                hashFile(out, hashedFiles, fontFileHandle);
+                hashFile(out, hashedFiles, MediaManager.getBitmapFontTextureHandle(fontFileHandle));
+                out.writeInt(Color.rgba8888(cMediaFont.outlineColor));
+                out.writeBoolean(cMediaFont.outlineOnly);
+                out.writeBoolean(cMediaFont.outlineSymbols);
+                out.writeInt(cMediaFont.symbols.length);
+                for (int is = 0; is < cMediaFont.symbols.length; is++) {
+                    CMediaFontSymbol symbol = cMediaFont.symbols[is];
+                    hashFile(out, hashedFiles, Tools.File.findResource(symbol.file));
+                    switch (symbol) {
+                        case CMediaFontSingleSymbol singleSymbol -> {
+                            out.writeInt(0);
+                            out.writeInt(singleSymbol.id);
+                        }
+                        case CMediaFontArraySymbol arraySymbol -> {
+                            out.writeInt(1);
+                            out.writeInt(arraySymbol.ids.length);
+                            for (int iid = 0; iid < arraySymbol.ids.length; iid++) out.writeInt(arraySymbol.ids[iid]);
+                            out.writeInt(arraySymbol.regionWidth);
+                            out.writeInt(arraySymbol.regionHeight);
+                            out.writeInt(arraySymbol.frameOffset);
+                            out.writeInt(arraySymbol.frameLength);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HexFormat.of().formatHex(messageDigest.digest());
+    }
+
+    private static void hashFile(DataOutputStream out, HashSet<String> hashedFiles, FileHandle fileHandle) throws IOException {
+        String path = fileHandle.path();
+        out.writeUTF(path);
+        if (!hashedFiles.add(path)) return;
+        byte[] bytes = fileHandle.readBytes();
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static TextureAtlas read(Path directory, String hash, Texture.TextureFilter textureFilter, ArrayList<CMediaFont> fontCMedias,
+                             HashMap<CMediaFont, String> fontFNTFileData, HashMap<CMediaFont, String> fontFNTPackedName) {
+        Path indexFile = directory.resolve(String.format(INDEX_FILE, hash));
+        if (!Files.isRegularFile(indexFile)) return null;
+
+        TextureAtlas textureAtlas = new TextureAtlas();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != VERSION) {
+                textureAtlas.dispose();
+                return null;
+            }
+
+            // Pages
+            int pageCount = in.readInt();
+            Texture[] textures = new Texture[pageCount];
+            for (int i = 0; i < pageCount; i++) {
+                int width = in.readInt();
+                int height = in.readInt();
+                Path pageFile = directory.resolve(String.format(PAGE_FILE, hash, i));
+                Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+                try (FileChannel fileChannel = FileChannel.open(pageFile, StandardOpenOption.READ)) {
+                    if (fileChannel.size() != (long) width * height * 4)
+                        throw new IOException(String.format(ERROR_PAGE_SIZE, pageFile));
+                    MappedByteBuffer mappedPage = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+                    ByteBuffer pixels = pixmap.getPixels();
+                    pixels.clear();
+                    pixels.put(mappedPage);
+                    pixels.position(0);
+                    textures[i] = new Texture(pixmap);
+                    textures[i].setFilter(textureFilter, textureFilter);
+                    textureAtlas.getTextures().add(textures[i]);
+                } finally {
+                    pixmap.dispose();
+                }
+            }
+
+            // Regions
+            int regionCount = in.readInt();
+            for (int i = 0; i < regionCount; i++) {
+                String name = in.readUTF();
+                int page = in.readInt();
+                int x = in.readInt();
+                int y = in.readInt();
+                int width = in.readInt();
+                int height = in.readInt();
+                textureAtlas.addRegion(name, textures[page], x, y, width, height);
+            }
+
+            // Fonts
+            int fontCount = in.readInt();
+            if (fontCount != fontCMedias.size()) throw new IOException(ERROR_FONT_COUNT);
+            for (int i = 0; i < fontCount; i++) {
+                CMediaFont cMediaFont = fontCMedias.get(i);
+                fontFNTPackedName.put(cMediaFont, in.readUTF());
+                byte[] fntFileData = new byte[in.readInt()];
+                in.readFully(fntFileData);
+                fontFNTFileData.put(cMediaFont, new String(fntFileData, StandardCharsets.UTF_8));
+            }
+            return textureAtlas;
+        } catch (IOException | RuntimeException e) {
+            // Unreadable cache, fall back to packing
+            textureAtlas.dispose();
+            fontFNTPackedName.clear();
+            fontFNTFileData.clear();
+            return null;
+        }
+    }
+
+    static void write(Path directory, String hash, PixmapPacker pixmapPacker, ArrayList<CMediaFont> fontCMedias,
+                      HashMap<CMediaFont, String> fontFNTFileData, HashMap<CMediaFont, String> fontFNTPackedName) {
+        try {
+            Files.createDirectories(directory);
+            deleteStaleFiles(directory);
+
+            Array<PixmapPacker.Page> pages = pixmapPacker.getPages();
+            Path indexFile = directory.resolve(String.format(INDEX_FILE, hash));
+            Path indexFileTmp = directory.resolve(String.format(INDEX_FILE, hash) + TMP_SUFFIX);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFileTmp)))) {
+                out.writeInt(VERSION);
+
+                // Pages
+                out.writeInt(pages.size);
+                for (int i = 0; i < pages.size; i++) {
+                    Pixmap pixmap = pages.get(i).getPixmap();
+                    out.writeInt(pixmap.getWidth());
+                    out.writeInt(pixmap.getHeight());
+                    Path pageFile = directory.resolve(String.format(PAGE_FILE, hash, i));
+                    Path pageFileTmp = directory.resolve(String.format(PAGE_FILE, hash, i) + TMP_SUFFIX);
+                    try (FileChannel fileChannel = FileChannel.open(pageFileTmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                        ByteBuffer pixels = pixmap.getPixels().duplicate();
+                        pixels.clear();
+                        while (pixels.hasRemaining()) fileChannel.write(pixels);
+                    }
+                    Files.move(pageFileTmp, pageFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                // Regions
+                int regionCount = 0;
+                for (int i = 0; i < pages.size; i++) regionCount += pages.get(i).getRects().size;
+                out.writeInt(regionCount);
+                for (int i = 0; i < pages.size; i++) {
+                    PixmapPacker.Page page = pages.get(i);
+                    Array<String> names = page.getRects().orderedKeys();
+                    for (int ir = 0; ir < names.size; ir++) {
+                        PixmapPacker.PixmapPackerRectangle rect = page.getRects().get(names.get(ir));
+                        out.writeUTF(names.get(ir));
+                        out.writeInt(i);
+                        out.writeInt((int) rect.x);
+                        out.writeInt((int) rect.y);
+                        out.writeInt((int) rect.width);
+                        out.writeInt((int) rect.height);
+                    }
+                }
+
+                // Fonts
+                out.writeInt(fontCMedias.size());
+                for (int i = 0; i < fontCMedias.size(); i++) {
+                    CMediaFont cMediaFont = fontCMedias.get(i);
+                    out.writeUTF(fontFNTPackedName.get(cMediaFont));
+                    byte[] fntFileData = fontFNTFileData.get(cMediaFont).getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(fntFileData.length);
+                    out.write(fntFileData);
+                }
+            }
+            // Index is moved last, an index file always references complete pages
+            Files.move(indexFileTmp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format(ERROR_WRITE, directory), e);
+        }
+    }
+
+    private static void deleteStaleFiles(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, file -> CACHE_FILE.matcher(file.getFileName().toString()).matches())) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+}
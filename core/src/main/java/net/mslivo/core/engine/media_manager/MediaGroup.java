@@ -0,0 +1,49 @@
+package net.mslivo.core.engine.media_manager;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/*
+ * Handle for a batch of CMedia loaded into its own atlas on top of the base assets.
+ * Pixmaps are decoded and packed in the background, pages and sounds are uploaded in update steps.
+ */
+public final class MediaGroup {
+    final ArrayList<CMediaSprite> spriteCMedias = new ArrayList<>();
+    final ArrayList<CMediaFont> fontCMedias = new ArrayList<>();
+    final ArrayList<CMediaSound> soundCMedias = new ArrayList<>();
+    final HashMap<CMediaFont, String> fontFNTFileData = new HashMap<>();
+    final HashMap<CMediaFont, String> fontFNTPackedName = new HashMap<>();
+    final int pageWidth, pageHeight;
+    final Texture.TextureFilter textureFilter;
+    final TextureAtlas textureAtlas = new TextureAtlas();
+    PixmapPacker pixmapPacker; // guarded by this, set once packing finished
+    RuntimeException error; // guarded by this
+    int uploadedPages;
+    int loadedSounds;
+    boolean filled;
+    boolean loaded;
+    boolean unloaded;
+
+    MediaGroup(int pageWidth, int pageHeight, Texture.TextureFilter textureFilter) {
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+        this.textureFilter = textureFilter;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean isUnloaded() {
+        return unloaded;
+    }
+
+    public int size() {
+        return spriteCMedias.size() + fontCMedias.size() + soundCMedias.size();
+    }
+
+}
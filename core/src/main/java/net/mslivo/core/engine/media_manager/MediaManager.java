@@ -11,6 +11,7 @@ import com.badlogic.gdx.graphics.TextureData;
 import com.badlogic.gdx.graphics.g2d.*;
 import com.badlogic.gdx.math.GridPoint2;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.IntSet;
 import com.badlogic.gdx.utils.ObjectMap;
@@ -20,9 +21,15 @@ import net.mslivo.core.engine.ui_engine.rendering.ExtendedAnimation;
 
 import java.io.*;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,7 +46,8 @@ public final class MediaManager {
     private static final String ERROR_SYMBOL_ID_DUPLICATE = "Symbol \"%s\" id \"%d\" is already defined in font";
     private static final String ERROR_SYMBOL_NOT_ENOUGH_SPACE = "SymbolArray \"%s\" more symbols defined than available in texture";
     private static final String PACKED_FONT_NAME = "%s_%d.packed";
-    private static final GlyphLayout glyphLayout = new GlyphLayout();
+    private static final int DEFAULT_FONT_LAYOUT_CACHE_SIZE = 2048;
+    private static final String GROUP_LOADER_THREAD_NAME = "MediaGroup Loader";
     private static final int DEFAULT_PAGE_WIDTH = 4096;
     private static final int DEFAULT_PAGE_HEIGHT = 4096;
     private static final Pattern FNT_FILE_PATTERN = Pattern.compile("file=\"([^\"]+)\"");
@@ -58,6 +66,19 @@ public final class MediaManager {
     private final ArrayDeque<CMedia> loadMediaList = new ArrayDeque<>();
     private ArrayList<CMedia> loadedMediaList = new ArrayList<>();
     private TextureAtlas textureAtlas = null;
+    private final LinkedHashMap<FontLayoutKey, GlyphLayout> fontLayoutCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<FontLayoutKey, GlyphLayout> eldest) {
+            return size() > fontLayoutCacheSize;
+        }
+    };
+    private final FontLayoutKey fontLayoutLookupKey = new FontLayoutKey();
+    private int fontLayoutCacheSize = DEFAULT_FONT_LAYOUT_CACHE_SIZE;
+    private Path atlasCacheDirectory = null;
+    private final ArrayList<MediaGroup> mediaGroups = new ArrayList<>();
+    private final HashSet<CMedia> mediaGroupCMedias = new HashSet<>();
+    private long fontLayoutCacheHits = 0;
+    private long fontLayoutCacheMisses = 0;
 
     public MediaManager() {
         unloadAndReset();
@@ -80,6 +101,23 @@ public final class MediaManager {
         return true;
     }
 
+    /* ----- Atlas Cache ----- */
+
+    /**
+     * Directory in which the packed texture atlas is cached between runs, null disables caching.
+     * The cache is reused as long as the prepared CMedia and their source files are unchanged.
+     * Only the cache's own files are replaced in the directory, loading fails if they can't be written.
+     */
+    public boolean setAtlasCacheDirectory(Path atlasCacheDirectory) {
+        if (loaded) return false;
+        this.atlasCacheDirectory = atlasCacheDirectory;
+        return true;
+    }
+
+    public Path getAtlasCacheDirectory() {
+        return atlasCacheDirectory;
+    }
+
     /* ----- Load ---- */
 
     public boolean loadAssets() {
@@ -315,7 +353,6 @@ public final class MediaManager {
 
     public boolean loadAssets(int pageWidth, int pageHeight, LoadProgress loadProgress, Texture.TextureFilter textureFilter) {
         if (loaded) return false;
-        PixmapPacker pixmapPacker = new PixmapPacker(pageWidth, pageHeight, Pixmap.Format.RGBA8888, 4, true);
         ArrayList<CMediaFont> fontCMediaLoadStack = new ArrayList<>();
         ArrayList<CMediaSprite> spriteCMediaLoadStack = new ArrayList<>();
         ArrayList<CMediaSound> soundCMediaLoadStack = new ArrayList<>();
@@ -346,106 +383,191 @@ public final class MediaManager {
         medias_sounds = new ObjectMap<>();
         medias_music = new ObjectMap<>();
 
-        // Load Sprite Data Into Pixmap Packer
-        for (int i = 0; i < spriteCMediaLoadStack.size(); i++) {
-            CMediaSprite cMediaSprite = spriteCMediaLoadStack.get(i);
+        // Load TextureAtlas from cache or decode and pack it
+        String atlasCacheHash = atlasCacheDirectory != null ? AtlasCache.hash(pageWidth, pageHeight, spriteCMediaLoadStack, fontCMediaLoadStack) : null;
+        this.textureAtlas = atlasCacheHash != null ? AtlasCache.read(atlasCacheDirectory, atlasCacheHash, textureFilter, fontCMediaLoadStack, createFontFNTFileData, createFontFNTPackedName) : null;
+        boolean atlasCached = this.textureAtlas != null;
+        if (!atlasCached) {
+            this.textureAtlas = packTextureAtlas(pageWidth, pageHeight, textureFilter, spriteCMediaLoadStack, fontCMediaLoadStack,
+                    createFontFNTFileData, createFontFNTPackedName, atlasCacheHash, loadProgress, step, stepsMax);
+        }
+        step += spriteCMediaLoadStack.size() + fontCMediaLoadStack.size();
+        if (loadProgress != null && atlasCached) loadProgress.onLoadStep(atlasCacheDirectory.toString(), step, stepsMax);
 
-            FileHandle textureFileHandle = Tools.File.findResource(cMediaSprite.file);
-            String packedTextureName = cMediaSprite.file;
-            if (pixmapPacker.getRect(packedTextureName) == null) {
-                Pixmap pixmap = createTexturePixmap(textureFileHandle);
-                pixmapPacker.pack(packedTextureName, pixmap);
-                pixmap.dispose();
-            }
+        // Fill Sprite and Font CMedia Arrays with TextureAtlas Data
+        fillSprites(this.textureAtlas, spriteCMediaLoadStack);
+        fillFonts(this.textureAtlas, fontCMediaLoadStack, createFontFNTFileData, createFontFNTPackedName);
 
+        // Fill CMedia Arrays with Sound Data
+        for (int i = 0; i < soundCMediaLoadStack.size(); i++) {
+            CMediaSound soundMedia = soundCMediaLoadStack.get(i);
+            loadSound(soundMedia);
             step++;
-            if (loadProgress != null) loadProgress.onLoadStep(cMediaSprite.file, step, stepsMax);
+            if (loadProgress != null) loadProgress.onLoadStep(soundMedia.file, step, stepsMax);
+        }
+        soundCMediaLoadStack.clear();
+
+        // 7. Clean up & Finish
+        spriteCMediaLoadStack.clear();
+        createFontFNTFileData.clear();
+        createFontFNTPackedName.clear();
+        this.loaded = true;
+        return true;
+    }
+
+    private TextureAtlas packTextureAtlas(int pageWidth, int pageHeight, Texture.TextureFilter textureFilter,
+                                          ArrayList<CMediaSprite> spriteCMediaLoadStack, ArrayList<CMediaFont> fontCMediaLoadStack,
+                                          HashMap<CMediaFont, String> createFontFNTFileData, HashMap<CMediaFont, String> createFontFNTPackedName,
+                                          String atlasCacheHash, LoadProgress loadProgress, int step, int stepsMax) {
+        PixmapPacker pixmapPacker = packPixmaps(pageWidth, pageHeight, spriteCMediaLoadStack, fontCMediaLoadStack,
+                createFontFNTFileData, createFontFNTPackedName, loadProgress, step, stepsMax);
+
+        // Create TextureAtlas
+        try {
+            if (atlasCacheHash != null)
+                AtlasCache.write(atlasCacheDirectory, atlasCacheHash, pixmapPacker, fontCMediaLoadStack, createFontFNTFileData, createFontFNTPackedName);
+            TextureAtlas textureAtlas = new TextureAtlas();
+            pixmapPacker.updateTextureAtlas(textureAtlas, textureFilter, textureFilter, false);
+            return textureAtlas;
+        } finally {
+            pixmapPacker.dispose();
         }
+    }
 
-        // Create and Load Font Data Into Pixmap Packer
-        int fontCount = 1;
+    private PixmapPacker packPixmaps(int pageWidth, int pageHeight, ArrayList<CMediaSprite> spriteCMediaLoadStack, ArrayList<CMediaFont> fontCMediaLoadStack,
+                                     HashMap<CMediaFont, String> createFontFNTFileData, HashMap<CMediaFont, String> createFontFNTPackedName,
+                                     LoadProgress loadProgress, int step, int stepsMax) {
+        // Decode Sprites and create Fonts on worker threads, pack results in order on this thread
+        ArrayList<PackJob> packJobs = new ArrayList<>();
+        HashMap<String, PackJob> spriteFilePackJobs = new HashMap<>();
+        for (int i = 0; i < spriteCMediaLoadStack.size(); i++) {
+            CMediaSprite cMediaSprite = spriteCMediaLoadStack.get(i);
+            PackJob packJob = spriteFilePackJobs.get(cMediaSprite.file);
+            if (packJob == null) {
+                packJob = new PackJob(cMediaSprite.file, cMediaSprite.file, null);
+                spriteFilePackJobs.put(cMediaSprite.file, packJob);
+                packJobs.add(packJob);
+            }
+            packJob.steps++;
+        }
         for (int i = 0; i < fontCMediaLoadStack.size(); i++) {
             CMediaFont cMediaFont = fontCMediaLoadStack.get(i);
+            PackJob packJob = new PackJob(String.format(PACKED_FONT_NAME, cMediaFont.file, i + 1), cMediaFont.file, cMediaFont);
+            packJob.steps = 1;
+            packJobs.add(packJob);
+        }
 
-            FileHandle textureFileHandle = getBitmapFontTextureHandle(Tools.File.findResource(cMediaFont.file));
-            String packedFontTextureName = String.format(PACKED_FONT_NAME, cMediaFont.file, fontCount);
-            CreateFontResult fontResult = createFont(textureFileHandle, cMediaFont.outlineColor, cMediaFont.outlineOnly, cMediaFont.outlineSymbols, cMediaFont.symbols);
+        LinkedBlockingQueue<PackJob> finishedPackJobs = new LinkedBlockingQueue<>();
+        for (int i = 0; i < packJobs.size(); i++) {
+            PackJob packJob = packJobs.get(i);
+            ForkJoinPool.commonPool().execute(() -> {
+                try {
+                    if (packJob.cMediaFont != null) {
+                        FileHandle textureFileHandle = getBitmapFontTextureHandle(Tools.File.findResource(packJob.cMediaFont.file));
+                        CreateFontResult fontResult = createFont(textureFileHandle, packJob.cMediaFont.outlineColor, packJob.cMediaFont.outlineOnly, packJob.cMediaFont.outlineSymbols, packJob.cMediaFont.symbols);
+                        packJob.pixmap = fontResult.pixmap;
+                        packJob.fontFileData = fontResult.fontFileData;
+                    } else {
+                        packJob.pixmap = createTexturePixmap(Tools.File.findResource(packJob.file));
+                    }
+                } catch (Throwable e) {
+                    packJob.error = e;
+                }
+                finishedPackJobs.add(packJob);
+            });
+        }
 
-            // pack
-            createFontFNTFileData.put(cMediaFont, fontResult.fontFileData);
-            createFontFNTPackedName.put(cMediaFont, packedFontTextureName);
-            pixmapPacker.pack(packedFontTextureName, fontResult.pixmap);
-            fontResult.pixmap.dispose();
-            fontCount++;
-            step++;
-            if (loadProgress != null) loadProgress.onLoadStep(cMediaFont.file, step, stepsMax);
+        PixmapPacker pixmapPacker = new PixmapPacker(pageWidth, pageHeight, Pixmap.Format.RGBA8888, 4, true);
+        RuntimeException packError = null;
+        int nextPackJob = 0;
+        for (int i = 0; i < packJobs.size(); i++) {
+            PackJob finishedPackJob;
+            try {
+                finishedPackJob = finishedPackJobs.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            finishedPackJob.finished = true;
+            if (finishedPackJob.error != null && packError == null)
+                packError = finishedPackJob.error instanceof RuntimeException runtimeException ? runtimeException : new RuntimeException(finishedPackJob.error);
+
+            // Pack in submission order to keep the atlas layout deterministic
+            while (nextPackJob < packJobs.size() && packJobs.get(nextPackJob).finished) {
+                PackJob packJob = packJobs.get(nextPackJob);
+                if (packJob.pixmap != null) {
+                    if (packError == null) {
+                        pixmapPacker.pack(packJob.packedName, packJob.pixmap);
+                        if (packJob.cMediaFont != null) {
+                            createFontFNTFileData.put(packJob.cMediaFont, packJob.fontFileData);
+                            createFontFNTPackedName.put(packJob.cMediaFont, packJob.packedName);
+                        }
+                    }
+                    packJob.pixmap.dispose();
+                    packJob.pixmap = null;
+                }
+                nextPackJob++;
+            }
+
+            step += finishedPackJob.steps;
+            if (loadProgress != null) loadProgress.onLoadStep(finishedPackJob.file, step, stepsMax);
+        }
+        if (packError != null) {
+            pixmapPacker.dispose();
+            throw packError;
         }
 
-        // Create TextureAtlas
-        this.textureAtlas = new TextureAtlas();
-        pixmapPacker.updateTextureAtlas(textureAtlas, textureFilter, textureFilter, false);
-        pixmapPacker.dispose();
+        return pixmapPacker;
+    }
 
-        // Fill Sprite CMedia Arrays with TextureAtlas Data
-        for (int i = 0; i < spriteCMediaLoadStack.size(); i++) {
-            CMediaSprite cMediaSprite = spriteCMediaLoadStack.get(i);
+    private void fillSprites(TextureAtlas textureAtlas, ArrayList<CMediaSprite> spriteCMedias) {
+        for (int i = 0; i < spriteCMedias.size(); i++) {
+            CMediaSprite cMediaSprite = spriteCMedias.get(i);
             switch (cMediaSprite) {
                 case CMediaImage cMediaImage -> {
-
                     medias_images.put(cMediaImage, new TextureRegion(textureAtlas.findRegion(cMediaImage.file)));
                 }
                 case CMediaArray cMediaArray -> {
-                    medias_arrays.put(cMediaArray, splitFrames(cMediaArray.file, cMediaArray.regionWidth, cMediaArray.regionHeight,
+                    medias_arrays.put(cMediaArray, splitFrames(textureAtlas, cMediaArray.file, cMediaArray.regionWidth, cMediaArray.regionHeight,
                             cMediaArray.frameOffset, cMediaArray.frameLength).toArray(TextureRegion.class));
                 }
                 case CMediaAnimation cMediaAnimation -> {
                     medias_animations.put(cMediaAnimation, new ExtendedAnimation(cMediaAnimation.animationSpeed,
-                            splitFrames(cMediaAnimation.file, cMediaAnimation.regionWidth, cMediaAnimation.regionHeight, cMediaAnimation.frameOffset, cMediaAnimation.frameLength),
+                            splitFrames(textureAtlas, cMediaAnimation.file, cMediaAnimation.regionWidth, cMediaAnimation.regionHeight, cMediaAnimation.frameOffset, cMediaAnimation.frameLength),
                             cMediaAnimation.playMode
                     ));
                 }
             }
             loadedMediaList.add(cMediaSprite);
         }
-        // Fill Font CMedia Arrays with TextureAtlas Data
+    }
 
-        for (int i = 0; i < fontCMediaLoadStack.size(); i++) {
-            CMediaFont cMediaFont = fontCMediaLoadStack.get(i);
+    private void fillFonts(TextureAtlas textureAtlas, ArrayList<CMediaFont> fontCMedias, HashMap<CMediaFont, String> fontFNTFileData, HashMap<CMediaFont, String> fontFNTPackedName) {
+        for (int i = 0; i < fontCMedias.size(); i++) {
+            CMediaFont cMediaFont = fontCMedias.get(i);
             BitmapFont bitmapFont = new BitmapFont(
-                    new FontFileHandle(Tools.File.findResource(cMediaFont.file), createFontFNTFileData.get(cMediaFont)),
-                    new TextureRegion(textureAtlas.findRegion(createFontFNTPackedName.get(cMediaFont)))
+                    new FontFileHandle(Tools.File.findResource(cMediaFont.file), fontFNTFileData.get(cMediaFont)),
+                    new TextureRegion(textureAtlas.findRegion(fontFNTPackedName.get(cMediaFont)))
             );
             bitmapFont.setColor(Color.GRAY);
             bitmapFont.getData().markupEnabled = cMediaFont.markupEnabled;
             medias_fonts.put(cMediaFont, bitmapFont);
         }
+    }
 
-        // 6. Fill CMedia Arrays with Sound Data
-        for (int i = 0; i < soundCMediaLoadStack.size(); i++) {
-            CMediaSound soundMedia = soundCMediaLoadStack.get(i);
-            switch (soundMedia) {
-                case CMediaSoundEffect cMediaSoundEffect -> {
-                    medias_sounds.put(cMediaSoundEffect, Gdx.audio.newSound(Tools.File.findResource(cMediaSoundEffect.file)));
-                }
-                case CMediaMusic cMediaMusic -> {
-                    medias_music.put(cMediaMusic, Gdx.audio.newMusic(Tools.File.findResource(soundMedia.file)));
-                }
+    private void loadSound(CMediaSound cMediaSound) {
+        switch (cMediaSound) {
+            case CMediaSoundEffect cMediaSoundEffect -> {
+                medias_sounds.put(cMediaSoundEffect, Gdx.audio.newSound(Tools.File.findResource(cMediaSoundEffect.file)));
+            }
+            case CMediaMusic cMediaMusic -> {
+                medias_music.put(cMediaMusic, Gdx.audio.newMusic(Tools.File.findResource(cMediaMusic.file)));
             }
-            loadedMediaList.add(soundMedia);
-            step++;
-            if (loadProgress != null) loadProgress.onLoadStep(soundMedia.file, step, stepsMax);
         }
-        soundCMediaLoadStack.clear();
-
-        // 7. Clean up & Finish
-        spriteCMediaLoadStack.clear();
-        createFontFNTFileData.clear();
-        createFontFNTPackedName.clear();
-        this.loaded = true;
-        return true;
+        loadedMediaList.add(cMediaSound);
     }
 
-    private FileHandle getBitmapFontTextureHandle(FileHandle fontFileHandle) {
+    static FileHandle getBitmapFontTextureHandle(FileHandle fontFileHandle) {
         try (BufferedReader bufferedReader = fontFileHandle.reader(1024, Charset.defaultCharset().name())) {
             String line;
             while ((line = bufferedReader.readLine()) != null) {
@@ -462,7 +584,7 @@ public final class MediaManager {
         throw new RuntimeException(ERROR_READ_FONT_FILE_DESCRIPTOR);
     }
 
-    private Array<TextureRegion> splitFrames(String file, int tile_width, int tile_height, int frameOffset,
+    private Array<TextureRegion> splitFrames(TextureAtlas textureAtlas, String file, int tile_width, int tile_height, int frameOffset,
                                              int frameLength) {
         TextureRegion textureRegion = textureAtlas.findRegion(file);
         int width = (textureRegion.getRegionWidth() / tile_width);
@@ -493,9 +615,209 @@ public final class MediaManager {
     }
 
 
+    /* --- Groups ---- */
+
+    public MediaGroup loadGroup(CMedia[] cMedias) {
+        return loadGroup(cMedias, DEFAULT_PAGE_WIDTH, DEFAULT_PAGE_HEIGHT, null, Texture.TextureFilter.Nearest);
+    }
+
+    public MediaGroup loadGroup(CMedia[] cMedias, LoadProgress loadProgress) {
+        return loadGroup(cMedias, DEFAULT_PAGE_WIDTH, DEFAULT_PAGE_HEIGHT, loadProgress, Texture.TextureFilter.Nearest);
+    }
+
+    /**
+     * Loads additional CMedia into a new atlas after loadAssets. CMedia that are already loaded are skipped.
+     */
+    public MediaGroup loadGroup(CMedia[] cMedias, int pageWidth, int pageHeight, LoadProgress loadProgress, Texture.TextureFilter textureFilter) {
+        MediaGroup mediaGroup = createGroup(cMedias, pageWidth, pageHeight, textureFilter);
+        if (mediaGroup == null) return null;
+        int stepsMax = mediaGroup.size();
+        int packSteps = mediaGroup.spriteCMedias.size() + mediaGroup.fontCMedias.size();
+        try {
+            mediaGroup.pixmapPacker = packPixmaps(pageWidth, pageHeight, mediaGroup.spriteCMedias, mediaGroup.fontCMedias,
+                    mediaGroup.fontFNTFileData, mediaGroup.fontFNTPackedName, loadProgress, 0, stepsMax);
+        } catch (RuntimeException e) {
+            unloadGroup(mediaGroup);
+            throw e;
+        }
+        while (!updateGroup(mediaGroup)) {
+            if (loadProgress != null && mediaGroup.loadedSounds > 0)
+                loadProgress.onLoadStep(mediaGroup.soundCMedias.get(mediaGroup.loadedSounds - 1).file, packSteps + mediaGroup.loadedSounds, stepsMax);
+        }
+        return mediaGroup;
+    }
+
+    public MediaGroup loadGroupAsync(CMedia[] cMedias) {
+        return loadGroupAsync(cMedias, DEFAULT_PAGE_WIDTH, DEFAULT_PAGE_HEIGHT, Texture.TextureFilter.Nearest);
+    }
+
+    /**
+     * Decodes and packs the group on a background thread. Call updateGroup once per frame until it returns true,
+     * each call uploads at most one atlas page or one sound.
+     */
+    public MediaGroup loadGroupAsync(CMedia[] cMedias, int pageWidth, int pageHeight, Texture.TextureFilter textureFilter) {
+        MediaGroup mediaGroup = createGroup(cMedias, pageWidth, pageHeight, textureFilter);
+        if (mediaGroup == null) return null;
+        Thread loaderThread = new Thread(() -> {
+            PixmapPacker pixmapPacker = null;
+            RuntimeException error = null;
+            try {
+                pixmapPacker = packPixmaps(mediaGroup.pageWidth, mediaGroup.pageHeight, mediaGroup.spriteCMedias, mediaGroup.fontCMedias,
+                        mediaGroup.fontFNTFileData, mediaGroup.fontFNTPackedName, null, 0, 0);
+            } catch (RuntimeException e) {
+                error = e;
+            }
+            synchronized (mediaGroup) {
+                if (mediaGroup.unloaded) {
+                    if (pixmapPacker != null) pixmapPacker.dispose();
+                } else {
+                    mediaGroup.pixmapPacker = pixmapPacker;
+                    mediaGroup.error = error;
+                }
+            }
+        }, GROUP_LOADER_THREAD_NAME);
+        loaderThread.setDaemon(true);
+        loaderThread.start();
+        return mediaGroup;
+    }
+
+    public boolean updateGroup(MediaGroup mediaGroup) {
+        if (mediaGroup == null || mediaGroup.unloaded) return false;
+        if (mediaGroup.loaded) return true;
+
+        if (!mediaGroup.filled) {
+            PixmapPacker pixmapPacker;
+            RuntimeException error;
+            synchronized (mediaGroup) {
+                pixmapPacker = mediaGroup.pixmapPacker;
+                error = mediaGroup.error;
+            }
+            if (error != null) {
+                unloadGroup(mediaGroup);
+                throw error;
+            }
+            if (pixmapPacker == null) return false; // still packing
+
+            // Upload one page per step
+            Array<PixmapPacker.Page> pages = pixmapPacker.getPages();
+            if (mediaGroup.uploadedPages < pages.size) {
+                uploadPage(mediaGroup.textureAtlas, pages.get(mediaGroup.uploadedPages), mediaGroup.textureFilter);
+                mediaGroup.uploadedPages++;
+                return false;
+            }
+            synchronized (mediaGroup) {
+                mediaGroup.pixmapPacker = null;
+            }
+            pixmapPacker.dispose();
+
+            fillSprites(mediaGroup.textureAtlas, mediaGroup.spriteCMedias);
+            fillFonts(mediaGroup.textureAtlas, mediaGroup.fontCMedias, mediaGroup.fontFNTFileData, mediaGroup.fontFNTPackedName);
+            mediaGroup.filled = true;
+        }
+
+        // Load one sound per step
+        if (mediaGroup.loadedSounds < mediaGroup.soundCMedias.size()) {
+            loadSound(mediaGroup.soundCMedias.get(mediaGroup.loadedSounds));
+            mediaGroup.loadedSounds++;
+            return false;
+        }
+
+        mediaGroup.loaded = true;
+        return true;
+    }
+
+    public boolean unloadGroup(MediaGroup mediaGroup) {
+        if (mediaGroup == null || mediaGroup.unloaded) return false;
+        synchronized (mediaGroup) {
+            mediaGroup.unloaded = true;
+            if (mediaGroup.pixmapPacker != null) {
+                mediaGroup.pixmapPacker.dispose();
+                mediaGroup.pixmapPacker = null;
+            }
+        }
+
+        for (int i = 0; i < mediaGroup.spriteCMedias.size(); i++) {
+            CMediaSprite cMediaSprite = mediaGroup.spriteCMedias.get(i);
+            switch (cMediaSprite) {
+                case CMediaImage cMediaImage -> medias_images.remove(cMediaImage);
+                case CMediaArray cMediaArray -> medias_arrays.remove(cMediaArray);
+                case CMediaAnimation cMediaAnimation -> medias_animations.remove(cMediaAnimation);
+            }
+            loadedMediaList.remove(cMediaSprite);
+        }
+        for (int i = 0; i < mediaGroup.fontCMedias.size(); i++) {
+            BitmapFont bitmapFont = medias_fonts.remove(mediaGroup.fontCMedias.get(i));
+            if (bitmapFont != null) bitmapFont.dispose();
+        }
+        for (int i = 0; i < mediaGroup.loadedSounds; i++) {
+            CMediaSound cMediaSound = mediaGroup.soundCMedias.get(i);
+            switch (cMediaSound) {
+                case CMediaSoundEffect cMediaSoundEffect -> medias_sounds.remove(cMediaSoundEffect).dispose();
+                case CMediaMusic cMediaMusic -> medias_music.remove(cMediaMusic).dispose();
+            }
+            loadedMediaList.remove(cMediaSound);
+        }
+        if (!mediaGroup.fontCMedias.isEmpty()) fontLayoutCache.clear();
+        mediaGroup.textureAtlas.dispose();
+
+        mediaGroupCMedias.removeAll(mediaGroup.spriteCMedias);
+        mediaGroupCMedias.removeAll(mediaGroup.fontCMedias);
+        mediaGroupCMedias.removeAll(mediaGroup.soundCMedias);
+        mediaGroups.remove(mediaGroup);
+        mediaGroup.loaded = false;
+        return true;
+    }
+
+    private MediaGroup createGroup(CMedia[] cMedias, int pageWidth, int pageHeight, Texture.TextureFilter textureFilter) {
+        if (!loaded || cMedias == null) return null;
+        // Check all files first, a failed group must not claim any CMedia
+        for (int i = 0; i < cMedias.length; i++) {
+            if (!Tools.File.findResource(cMedias[i].file).exists()) {
+                throw new RuntimeException(String.format(ERROR_FILE_NOT_FOUND, cMedias[i].file));
+            }
+        }
+        MediaGroup mediaGroup = new MediaGroup(pageWidth, pageHeight, textureFilter);
+        for (int i = 0; i < cMedias.length; i++) {
+            CMedia cMedia = cMedias[i];
+            if (isCMediaLoaded(cMedia) || !mediaGroupCMedias.add(cMedia)) continue;
+            switch (cMedia) {
+                case CMediaSprite cMediaSprite -> mediaGroup.spriteCMedias.add(cMediaSprite);
+                case CMediaSound cMediaSound -> mediaGroup.soundCMedias.add(cMediaSound);
+                case CMediaFont cMediaFont -> mediaGroup.fontCMedias.add(cMediaFont);
+            }
+        }
+        mediaGroups.add(mediaGroup);
+        return mediaGroup;
+    }
+
+    private boolean isCMediaLoaded(CMedia cMedia) {
+        return switch (cMedia) {
+            case CMediaImage cMediaImage -> medias_images.containsKey(cMediaImage);
+            case CMediaArray cMediaArray -> medias_arrays.containsKey(cMediaArray);
+            case CMediaAnimation cMediaAnimation -> medias_animations.containsKey(cMediaAnimation);
+            case CMediaFont cMediaFont -> medias_fonts.containsKey(cMediaFont);
+            case CMediaSoundEffect cMediaSoundEffect -> medias_sounds.containsKey(cMediaSoundEffect);
+            case CMediaMusic cMediaMusic -> medias_music.containsKey(cMediaMusic);
+        };
+    }
+
+    private static void uploadPage(TextureAtlas textureAtlas, PixmapPacker.Page page, Texture.TextureFilter textureFilter) {
+        Texture texture = new Texture(page.getPixmap());
+        texture.setFilter(textureFilter, textureFilter);
+        textureAtlas.getTextures().add(texture);
+        Array<String> names = page.getRects().orderedKeys();
+        for (int i = 0; i < names.size; i++) {
+            PixmapPacker.PixmapPackerRectangle rect = page.getRects().get(names.get(i));
+            textureAtlas.addRegion(names.get(i), texture, (int) rect.x, (int) rect.y, (int) rect.width, (int) rect.height);
+        }
+    }
+
     /* --- Unload  ---- */
     public boolean unloadAndReset() {
         if (!loaded) return false;
+        // Unload Groups
+        while (!mediaGroups.isEmpty()) unloadGroup(mediaGroups.getLast());
+
         // Dispose Atlas
         if (textureAtlas != null) this.textureAtlas.dispose();
         textureAtlas = null;
@@ -511,6 +833,7 @@ public final class MediaManager {
         this.medias_sounds = null;
         this.medias_music = null;
         this.medias_fonts = null;
+        this.fontLayoutCache.clear();
 
         // Reset lists
         this.loadedMediaList.clear();
@@ -598,13 +921,61 @@ public final class MediaManager {
     }
 
     public int fontTextWidth(CMediaFont font, String text) {
-        glyphLayout.setText(font(font), text);
-        return (int) glyphLayout.width;
+        return (int) fontLayout(font, text, 0).width;
     }
 
     public int fontTextHeight(CMediaFont font, String text) {
-        glyphLayout.setText(font(font), text);
-        return (int) glyphLayout.height;
+        return (int) fontLayout(font, text, 0).height;
+    }
+
+    /**
+     * Returns a cached layout of text in the fonts current color, truncated with "" if maxWidth > 0.
+     * The returned layout is shared and must not be modified.
+     */
+    public GlyphLayout fontLayout(CMediaFont cMediaFont, String text, int maxWidth) {
+        BitmapFont bitmapFont = font(cMediaFont);
+        int color = Color.rgba8888(bitmapFont.getColor());
+        fontLayoutLookupKey.set(cMediaFont, text, maxWidth, color);
+        GlyphLayout glyphLayout = fontLayoutCache.get(fontLayoutLookupKey);
+        if (glyphLayout != null) {
+            fontLayoutCacheHits++;
+            return glyphLayout;
+        }
+        fontLayoutCacheMisses++;
+        glyphLayout = new GlyphLayout();
+        glyphLayout.setText(bitmapFont, text, 0, text.length(), bitmapFont.getColor(), maxWidth, Align.left, false, maxWidth > 0 ? "" : null);
+        FontLayoutKey key = new FontLayoutKey();
+        key.set(cMediaFont, text, maxWidth, color);
+        fontLayoutCache.put(key, glyphLayout);
+        return glyphLayout;
+    }
+
+    public long fontLayoutCacheHits() {
+        return fontLayoutCacheHits;
+    }
+
+    public long fontLayoutCacheMisses() {
+        return fontLayoutCacheMisses;
+    }
+
+    public int fontLayoutCacheEntries() {
+        return fontLayoutCache.size();
+    }
+
+    public int getFontLayoutCacheSize() {
+        return fontLayoutCacheSize;
+    }
+
+    public void setFontLayoutCacheSize(int fontLayoutCacheSize) {
+        this.fontLayoutCacheSize = Math.max(fontLayoutCacheSize, 1);
+        while (fontLayoutCache.size() > this.fontLayoutCacheSize) {
+            fontLayoutCache.pollFirstEntry();
+        }
+    }
+
+    public void resetFontLayoutCacheStats() {
+        this.fontLayoutCacheHits = 0;
+        this.fontLayoutCacheMisses = 0;
     }
 
     /* ---- Shutdown ---- */
@@ -617,6 +988,52 @@ public final class MediaManager {
         return loaded;
     }
 
+    private static final class FontLayoutKey {
+        private CMediaFont cMediaFont;
+        private String text;
+        private int maxWidth;
+        private int color;
+
+        private void set(CMediaFont cMediaFont, String text, int maxWidth, int color) {
+            this.cMediaFont = cMediaFont;
+            this.text = text;
+            this.maxWidth = maxWidth;
+            this.color = color;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FontLayoutKey other)) return false;
+            return cMediaFont == other.cMediaFont && maxWidth == other.maxWidth && color == other.color && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(cMediaFont);
+            result = 31 * result + text.hashCode();
+            result = 31 * result + maxWidth;
+            result = 31 * result + color;
+            return result;
+        }
+    }
+
+    private static final class PackJob {
+        private final String packedName;
+        private final String file;
+        private final CMediaFont cMediaFont;
+        private int steps;
+        private Pixmap pixmap;
+        private String fontFileData;
+        private Throwable error;
+        private boolean finished;
+
+        private PackJob(String packedName, String file, CMediaFont cMediaFont) {
+            this.packedName = packedName;
+            this.file = file;
+            this.cMediaFont = cMediaFont;
+        }
+    }
+
     private class CreateFontResult {
         public final Pixmap pixmap;
         public final String fontFileData;
@@ -13,6 +13,7 @@ import com.badlogic.gdx.utils.IntMap;
 import com.badlogic.gdx.utils.LongArray;
 import com.badlogic.gdx.utils.SharedLibraryLoader;
 import net.mslivo.core.engine.media_manager.*;
+import net.mslivo.core.engine.tools.parallel.ParallelExecutor;
 
 import javax.swing.*;
 import java.awt.*;
@@ -25,8 +26,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.List;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.ForkJoinTask;
 import java.util.function.Consumer;
 import java.util.function.IntConsumer;
 import java.util.zip.ZipEntry;
@@ -45,62 +44,21 @@ public class Tools {
         private static float timeStepX2;
         private static float timeBetweenUpdates;
         private static final Path ERROR_LOG_FILE = Path.of("error.log");
-        private static ArrayDeque<ForkJoinTask> parallelTaskList = new ArrayDeque<>();
 
         public static void runParallel(int[] array, IntConsumer consumer) {
-            runParallel(array, consumer, array.length);
+            ParallelExecutor.common().forEach(array, consumer);
         }
 
         public static void runParallel(int[] array, IntConsumer consumer, int size) {
-            if (array.length == 0) return;
-            final int parallelism = ForkJoinPool.commonPool().getParallelism();
-            final int listSize = size;
-
-            int taskCount = Math.min(parallelism, listSize);
-            int chunkSize = MathUtils.ceil(listSize / (float) taskCount);
-
-            for (int i = 0; i < taskCount; i++) {
-                int start = i * chunkSize;
-                int end = Math.min(start + chunkSize, listSize);
-
-                ForkJoinTask forkJoinTask = ForkJoinPool.commonPool().submit(() -> {
-                    for (int i2 = start; i2 < end; i2++) {
-                        consumer.accept(array[i2]);
-                    }
-                });
-                parallelTaskList.add(forkJoinTask);
-            }
-
-            while (!parallelTaskList.isEmpty())
-                parallelTaskList.poll().join();
+            ParallelExecutor.common().forEach(array, consumer, size);
         }
 
         public static <T> void runParallel(List<T> list, Consumer<T> consumer) {
-            runParallel(list, consumer, list.size());
+            ParallelExecutor.common().forEach(list, consumer);
         }
 
         public static <T> void runParallel(List<T> list, Consumer<T> consumer, int size) {
-            if (list.size() == 0) return;
-            final int parallelism = ForkJoinPool.commonPool().getParallelism();
-            final int listSize = size;
-
-            int taskCount = Math.min(parallelism, listSize);
-            int chunkSize = MathUtils.ceil(listSize / (float) taskCount);
-
-            for (int i = 0; i < taskCount; i++) {
-                int start = i * chunkSize;
-                int end = Math.min(start + chunkSize, listSize);
-
-                ForkJoinTask forkJoinTask = ForkJoinPool.commonPool().submit(() -> {
-                    for (int i2 = start; i2 < end; i2++) {
-                        consumer.accept(list.get(i2));
-                    }
-                });
-                parallelTaskList.add(forkJoinTask);
-            }
-
-            while (!parallelTaskList.isEmpty())
-                parallelTaskList.poll().join();
+            ParallelExecutor.common().forEach(list, consumer, size);
         }
 
         public static void exceptionToErrorLogFile(Exception e) {
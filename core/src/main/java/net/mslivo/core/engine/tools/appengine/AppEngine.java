@@ -1,10 +1,15 @@
 package net.mslivo.core.engine.tools.appengine;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Modifies Data Structure 1 update step at a time.
  * Sends input to adapter & gathers outputs using object pooling.
+ * In concurrent mode inputs, outputs and the pool are lock-free ring buffers:
+ * inputs may be submitted from any thread, update() and outputs are single threaded.
+ * The input queue is bounded by the queue capacity, submitInput() reports a full queue instead of waiting.
  */
 public class AppEngine<A extends AppEngineAdapter<D>, D extends Object> {
 
@@ -21,25 +26,51 @@ public class AppEngine<A extends AppEngineAdapter<D>, D extends Object> {
         }
     }
 
+    public static final int DEFAULT_QUEUE_CAPACITY = 65536;
+    private static final int SUBMIT_SPINS = 64;
+    private static final long SUBMIT_PARK_NANOS = 100_000L;
+    private static final String ERROR_CONCURRENT_ADD_INPUT = "addInput() is not supported in concurrent mode, use obtainInput() and submitInput()";
+
     private long lastUpdateTime;
     private long ticks;
     private AppEngineIO lastOutput;
+    private AppEngineRecorder recorder;
 
     private final A adapter;
     private final D data;
     private final ArrayDeque<AppEngineIO> inputs;
     private final ArrayDeque<AppEngineIO> outputs;
     private final ArrayDeque<AppEngineIO> engineIOPool;
+    private final boolean concurrent;
+    private final ConcurrentRingBuffer<AppEngineIO> concurrentInputs;
+    private final SPSCRingBuffer<AppEngineIO> concurrentOutputs;
+    private final ConcurrentRingBuffer<AppEngineIO> concurrentEngineIOPool;
     private final AppEngineOutputQueue appEngineOutputQueue = new AppEngineOutputQueue() {
         @Override
-        public synchronized AppEngineIO addOutput(int type) {
-            AppEngineIO appEngineIO = getNextEngineIOFromPool(type);
-            outputs.add(appEngineIO);
-            return appEngineIO;
+        public AppEngineIO addOutput(int type) {
+            if (concurrent) {
+                // Collected during update(), published afterwards
+                AppEngineIO appEngineIO = getNextEngineIOFromPool(type);
+                outputs.add(appEngineIO);
+                return appEngineIO;
+            }
+            synchronized (this) {
+                AppEngineIO appEngineIO = getNextEngineIOFromPool(type);
+                outputs.add(appEngineIO);
+                return appEngineIO;
+            }
         }
     };
 
     public AppEngine(A adapter, D data) {
+        this(adapter, data, false, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public AppEngine(A adapter, D data, boolean concurrent) {
+        this(adapter, data, concurrent, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public AppEngine(A adapter, D data, boolean concurrent, int queueCapacity) {
         final String errorMessageNull = "Cannot initialize AppEngine: %s is null";
         if(data == null) throw new RuntimeException(String.format(errorMessageNull, "data"));
         if(adapter == null) throw new RuntimeException(String.format(errorMessageNull, "adapter"));
@@ -52,9 +83,29 @@ public class AppEngine<A extends AppEngineAdapter<D>, D extends Object> {
         this.inputs = new ArrayDeque<>();
         this.outputs = new ArrayDeque<>();
         this.engineIOPool = new ArrayDeque<>();
+        this.concurrent = concurrent;
+        this.concurrentInputs = concurrent ? new ConcurrentRingBuffer<>(queueCapacity) : null;
+        this.concurrentOutputs = concurrent ? new SPSCRingBuffer<>(queueCapacity) : null;
+        this.concurrentEngineIOPool = concurrent ? new ConcurrentRingBuffer<>(queueCapacity * 2) : null;
         this.adapter = adapter;
 
         this.adapter.init(this.data, this.appEngineOutputQueue);
+        if (concurrent) publishOutputs();
+    }
+
+    public AppEngineRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Records all inputs processed by update() from now on, null stops recording.
+     */
+    public void setRecorder(AppEngineRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
     }
 
     public long getTicks() {
@@ -66,7 +117,13 @@ public class AppEngine<A extends AppEngineAdapter<D>, D extends Object> {
     }
 
     private AppEngineIO getNextEngineIOFromPool(int type){
-        AppEngineIO engineIO = engineIOPool.isEmpty() ?  new AppEngineIO() : engineIOPool.poll();
+        AppEngineIO engineIO;
+        if (concurrent) {
+            engineIO = concurrentEngineIOPool.poll();
+            if (engineIO == null) engineIO = new AppEngineIO();
+        } else {
+            engineIO = engineIOPool.isEmpty() ? new AppEngineIO() : engineIOPool.poll();
+        }
         engineIO.type = type;
         engineIO.readIndex = 0;
         engineIO.writeIndex = 0;
@@ -76,12 +133,32 @@ public class AppEngine<A extends AppEngineAdapter<D>, D extends Object> {
         return engineIO;
     }
 
+    private void returnEngineIOToPool(AppEngineIO engineIO) {
+        if (concurrent) {
+            concurrentEngineIOPool.offer(engineIO); // pool full: leave to gc
+        } else {
+            engineIOPool.add(engineIO);
+        }
+    }
+
+    private void publishOutputs() {
+        // Outputs that don't fit stay pending until the next update
+        AppEngineIO engineIO;
+        while ((engineIO = outputs.peek()) != null && concurrentOutputs.offer(engineIO)) {
+            outputs.poll();
+        }
+    }
+
     public boolean outputAvailable() {
-        return !this.outputs.isEmpty();
+        return concurrent ? !this.concurrentOutputs.isEmpty() : !this.outputs.isEmpty();
     }
 
     public AppEngineIO processOutput(){
-        if(lastOutput != null) engineIOPool.add(lastOutput);
+        if(lastOutput != null) returnEngineIOToPool(lastOutput);
+        if (concurrent) {
+            lastOutput = concurrentOutputs.poll();
+            return lastOutput;
+        }
         if(outputAvailable()){
             lastOutput = outputs.poll();
             return lastOutput;
@@ -92,6 +169,15 @@ public class AppEngine<A extends AppEngineAdapter<D>, D extends Object> {
     }
 
     public void clearOutputs() {
+        if (concurrent) {
+            AppEngineIO engineIO;
+            while ((engineIO = concurrentOutputs.poll()) != null) returnEngineIOToPool(engineIO);
+            // Outputs that did not fit into the ring yet
+            while ((engineIO = outputs.poll()) != null) returnEngineIOToPool(engineIO);
+            if (lastOutput != null) returnEngineIOToPool(lastOutput);
+            lastOutput = null;
+            return;
+        }
         engineIOPool.addAll(outputs);
         outputs.clear();
         lastOutput = null;
@@ -106,15 +192,41 @@ public class AppEngine<A extends AppEngineAdapter<D>, D extends Object> {
     }
 
     public void update() {
+        update(null);
+    }
+
+    /**
+     * Runs one update with replayInputs instead of the submitted inputs, used by AppEngineReplayer.
+     * The inputs bypass the bounded input queue, recorded ticks of any size replay unchanged.
+     */
+    void update(ArrayList<AppEngineIO> replayInputs) {
         adapter.beforeInputs();
         // Process Inputs
         AppEngineIO engineIO;
-        while ((engineIO = this.inputs.pollFirst()) != null) {
-            adapter.processInput(engineIO);
-            engineIOPool.add(engineIO);
+        if (replayInputs != null) {
+            for (int i = 0; i < replayInputs.size(); i++) {
+                engineIO = replayInputs.get(i);
+                if (recorder != null) recorder.recordInput(engineIO);
+                adapter.processInput(engineIO);
+                returnEngineIOToPool(engineIO);
+            }
+        } else if (concurrent) {
+            while ((engineIO = this.concurrentInputs.poll()) != null) {
+                if (recorder != null) recorder.recordInput(engineIO);
+                adapter.processInput(engineIO);
+                returnEngineIOToPool(engineIO);
+            }
+        } else {
+            while ((engineIO = this.inputs.pollFirst()) != null) {
+                if (recorder != null) recorder.recordInput(engineIO);
+                adapter.processInput(engineIO);
+                engineIOPool.add(engineIO);
+            }
         }
         // Update Engine
         adapter.update();
+        if (recorder != null) recorder.endTick();
+        if (concurrent) publishOutputs();
         this.lastUpdateTime = System.currentTimeMillis();
         this.ticks++;
     }
@@ -122,13 +234,76 @@ public class AppEngine<A extends AppEngineAdapter<D>, D extends Object> {
     public void shutdown() {
         inputs.clear();
         outputs.clear();
+        if (concurrent) {
+            while (concurrentInputs.poll() != null) ;
+            while (concurrentOutputs.poll() != null) ;
+        }
         adapter.shutdown();
     }
 
     public synchronized AppEngineIO addInput(int type){
+        if (concurrent) throw new RuntimeException(ERROR_CONCURRENT_ADD_INPUT);
         AppEngineIO appEngineIO = getNextEngineIOFromPool(type);
         inputs.add(appEngineIO);
         return appEngineIO;
     }
 
+    /**
+     * Returns a pooled input that is not yet visible to the engine, push parameters then call submitInput().
+     */
+    public AppEngineIO obtainInput(int type) {
+        if (!concurrent) {
+            synchronized (this) {
+                return getNextEngineIOFromPool(type);
+            }
+        }
+        return getNextEngineIOFromPool(type);
+    }
+
+    /**
+     * Makes an input from obtainInput() visible to the next update().
+     * In concurrent mode at most getInputCapacity() inputs can be pending, returns false if the queue is full.
+     * The input then stays with the caller and can be submitted again after the engine drained the queue.
+     */
+    public boolean submitInput(AppEngineIO appEngineIO) {
+        if (appEngineIO == null) return false;
+        if (!concurrent) {
+            synchronized (this) {
+                inputs.add(appEngineIO);
+            }
+            return true;
+        }
+        return concurrentInputs.offer(appEngineIO);
+    }
+
+    /**
+     * Like submitInput(), but waits up to timeoutNanos for space if the queue is full.
+     * Never call this from the thread that runs update(), nothing drains the queue while it waits.
+     */
+    public boolean submitInput(AppEngineIO appEngineIO, long timeoutNanos) {
+        if (submitInput(appEngineIO)) return true;
+        if (appEngineIO == null) return false;
+        final long deadline = System.nanoTime() + timeoutNanos;
+        int spins = 0;
+        while (!concurrentInputs.offer(appEngineIO)) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return false;
+            // Spin briefly, then back off so the engine thread gets the core
+            if (spins < SUBMIT_SPINS) {
+                spins++;
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(Math.min(remaining, SUBMIT_PARK_NANOS));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Maximum number of pending inputs in concurrent mode, unbounded otherwise.
+     */
+    public int getInputCapacity() {
+        return concurrent ? concurrentInputs.capacity() : Integer.MAX_VALUE;
+    }
+
 }
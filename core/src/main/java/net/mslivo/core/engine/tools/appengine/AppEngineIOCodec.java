@@ -0,0 +1,14 @@
+package net.mslivo.core.engine.tools.appengine;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes object parameters of AppEngineIO for AppEngineIOWire.
+ */
+public interface AppEngineIOCodec {
+    int size(Object object);
+
+    void write(Object object, ByteBuffer buffer);
+
+    Object read(ByteBuffer buffer);
+}
@@ -0,0 +1,100 @@
+package net.mslivo.core.engine.tools.appengine;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary encoding of AppEngineIO.
+ * Layout: int type, byte parameterCount, per parameter byte tag + payload (int, float, byte or codec object).
+ * Primitive parameters are read back into pooled AppEngineIOs without allocation.
+ */
+public final class AppEngineIOWire {
+
+    private static final byte TAG_OBJECT = 0;
+    private static final byte TAG_INTEGER = 1;
+    private static final byte TAG_FLOAT = 2;
+    private static final byte TAG_BOOLEAN = 3;
+    private static final byte TAG_NULL = 4;
+    private static final String ERROR_NO_CODEC = "Object parameter requires an AppEngineIOCodec";
+    private static final String ERROR_TAG = "Invalid parameter tag %d";
+
+    private AppEngineIOWire() {
+    }
+
+    public static int size(AppEngineIO appEngineIO, AppEngineIOCodec codec) {
+        int size = Integer.BYTES + Byte.BYTES;
+        for (int i = 0; i < appEngineIO.writeIndex; i++) {
+            size += Byte.BYTES;
+            size += switch (appEngineIO.parameterTypes[i]) {
+                case OBJECT -> {
+                    Object object = appEngineIO.objectStack[i];
+                    if (object == null) yield 0;
+                    if (codec == null) throw new RuntimeException(ERROR_NO_CODEC);
+                    yield codec.size(object);
+                }
+                case INTEGER -> Integer.BYTES;
+                case FLOAT -> Float.BYTES;
+                case BOOLEAN -> Byte.BYTES;
+            };
+        }
+        return size;
+    }
+
+    public static void write(AppEngineIO appEngineIO, ByteBuffer buffer, AppEngineIOCodec codec) {
+        buffer.putInt(appEngineIO.type);
+        buffer.put((byte) appEngineIO.writeIndex);
+        for (int i = 0; i < appEngineIO.writeIndex; i++) {
+            switch (appEngineIO.parameterTypes[i]) {
+                case OBJECT -> {
+                    Object object = appEngineIO.objectStack[i];
+                    if (object == null) {
+                        buffer.put(TAG_NULL);
+                    } else {
+                        if (codec == null) throw new RuntimeException(ERROR_NO_CODEC);
+                        buffer.put(TAG_OBJECT);
+                        codec.write(object, buffer);
+                    }
+                }
+                case INTEGER -> {
+                    buffer.put(TAG_INTEGER);
+                    buffer.putInt(appEngineIO.intStack[i]);
+                }
+                case FLOAT -> {
+                    buffer.put(TAG_FLOAT);
+                    buffer.putFloat(appEngineIO.floatStack[i]);
+                }
+                case BOOLEAN -> {
+                    buffer.put(TAG_BOOLEAN);
+                    buffer.put(appEngineIO.booleanStack[i] ? (byte) 1 : (byte) 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the next encoded IO into a pooled input of the engine. The input still has to be submitted.
+     */
+    public static AppEngineIO readInput(ByteBuffer buffer, AppEngine<?, ?> appEngine, AppEngineIOCodec codec) {
+        AppEngineIO appEngineIO = appEngine.obtainInput(buffer.getInt());
+        readParameters(buffer, appEngineIO, codec);
+        return appEngineIO;
+    }
+
+    public static void readParameters(ByteBuffer buffer, AppEngineIO appEngineIO, AppEngineIOCodec codec) {
+        int parameterCount = buffer.get();
+        for (int i = 0; i < parameterCount; i++) {
+            byte tag = buffer.get();
+            switch (tag) {
+                case TAG_OBJECT -> {
+                    if (codec == null) throw new RuntimeException(ERROR_NO_CODEC);
+                    appEngineIO.push(codec.read(buffer));
+                }
+                case TAG_NULL -> appEngineIO.push(null);
+                case TAG_INTEGER -> appEngineIO.pushInt(buffer.getInt());
+                case TAG_FLOAT -> appEngineIO.pushFloat(buffer.getFloat());
+                case TAG_BOOLEAN -> appEngineIO.pushBoolean(buffer.get() != 0);
+                default -> throw new RuntimeException(String.format(ERROR_TAG, tag));
+            }
+        }
+    }
+
+}
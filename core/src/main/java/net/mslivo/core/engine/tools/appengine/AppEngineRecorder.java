@@ -0,0 +1,115 @@
+package net.mslivo.core.engine.tools.appengine;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends all inputs processed by an AppEngine to a memory mapped log, one block per tick.
+ * Attach with AppEngine.setRecorder(), replay with AppEngineReplayer.
+ */
+public class AppEngineRecorder {
+
+    static final int MAGIC = 0x41455243; // "AERC"
+    static final int VERSION = 1;
+    static final byte RECORD_INPUT = 1;
+    static final byte RECORD_TICK_END = 2;
+    static final long CHUNK_SIZE = 64L * 1024L * 1024L;
+    private static final String ERROR_OPEN = "Error opening recording \"%s\"";
+    private static final String ERROR_WRITE = "Error writing recording \"%s\"";
+
+    private final Path file;
+    private final AppEngineIOCodec codec;
+    private final FileChannel fileChannel;
+    private MappedByteBuffer mappedBuffer;
+    private long mappedPosition;
+    private long ticks;
+    private long inputs;
+    private boolean closed;
+
+    public AppEngineRecorder(Path file) {
+        this(file, null);
+    }
+
+    public AppEngineRecorder(Path file, AppEngineIOCodec codec) {
+        this.file = file;
+        this.codec = codec;
+        try {
+            this.fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.mappedPosition = 0;
+            this.mappedBuffer = map(0, CHUNK_SIZE);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format(ERROR_OPEN, file), e);
+        }
+        this.mappedBuffer.putInt(MAGIC);
+        this.mappedBuffer.putInt(VERSION);
+        this.ticks = 0;
+        this.inputs = 0;
+        this.closed = false;
+    }
+
+    private MappedByteBuffer map(long position, long size) throws IOException {
+        MappedByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (mappedBuffer.remaining() >= bytes) return;
+        try {
+            long position = mappedPosition + mappedBuffer.position();
+            mappedBuffer.force();
+            mappedBuffer = map(position, Math.max(CHUNK_SIZE, bytes));
+            mappedPosition = position;
+        } catch (IOException e) {
+            throw new RuntimeException(String.format(ERROR_WRITE, file), e);
+        }
+    }
+
+    public void recordInput(AppEngineIO appEngineIO) {
+        if (closed) return;
+        int size = AppEngineIOWire.size(appEngineIO, codec);
+        ensureRemaining(Byte.BYTES + Integer.BYTES + size);
+        mappedBuffer.put(RECORD_INPUT);
+        mappedBuffer.putInt(size);
+        AppEngineIOWire.write(appEngineIO, mappedBuffer, codec);
+        inputs++;
+    }
+
+    public void endTick() {
+        if (closed) return;
+        ensureRemaining(Byte.BYTES);
+        mappedBuffer.put(RECORD_TICK_END);
+        ticks++;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getInputs() {
+        return inputs;
+    }
+
+    public long getBytesWritten() {
+        return mappedPosition + mappedBuffer.position();
+    }
+
+    public void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            long length = getBytesWritten();
+            mappedBuffer.force();
+            mappedBuffer = null;
+            fileChannel.truncate(length);
+            fileChannel.close();
+        } catch (IOException e) {
+            throw new RuntimeException(String.format(ERROR_WRITE, file), e);
+        }
+    }
+
+}
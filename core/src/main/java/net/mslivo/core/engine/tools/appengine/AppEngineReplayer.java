@@ -0,0 +1,146 @@
+package net.mslivo.core.engine.tools.appengine;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * Feeds a log written by AppEngineRecorder back into an AppEngine, one update per recorded tick.
+ * The log ends at the first incomplete tick or invalid record header, e.g. the zero-filled tail of a mapped chunk or a truncated file.
+ */
+public class AppEngineReplayer {
+
+    private static final String ERROR_OPEN = "Error opening recording \"%s\"";
+    private static final String ERROR_READ = "Error reading recording \"%s\"";
+    private static final String ERROR_FORMAT = "Recording \"%s\" has an invalid header";
+    private static final String ERROR_RECORD = "Recording \"%s\" has an invalid record at %d";
+
+    private final Path file;
+    private final AppEngineIOCodec codec;
+    private final FileChannel fileChannel;
+    private final long fileSize;
+    private final ArrayList<AppEngineIO> tickInputs;
+    private MappedByteBuffer mappedBuffer;
+    private long mappedPosition;
+    private long position;
+    private long ticks;
+    private boolean ended;
+
+    public AppEngineReplayer(Path file) {
+        this(file, null);
+    }
+
+    public AppEngineReplayer(Path file, AppEngineIOCodec codec) {
+        this.file = file;
+        this.codec = codec;
+        this.tickInputs = new ArrayList<>();
+        try {
+            this.fileChannel = FileChannel.open(file, StandardOpenOption.READ);
+            this.fileSize = fileChannel.size();
+        } catch (IOException e) {
+            throw new RuntimeException(String.format(ERROR_OPEN, file), e);
+        }
+        this.mappedBuffer = null;
+        this.mappedPosition = 0;
+        this.position = 0;
+        this.ticks = 0;
+        this.ended = false;
+        if (!ensureMapped(0, Integer.BYTES * 2) ||
+                mappedBuffer.getInt(0) != AppEngineRecorder.MAGIC ||
+                mappedBuffer.getInt(Integer.BYTES) != AppEngineRecorder.VERSION) {
+            close();
+            throw new RuntimeException(String.format(ERROR_FORMAT, file));
+        }
+        this.position = Integer.BYTES * 2;
+    }
+
+    private boolean ensureMapped(long start, int bytes) {
+        if (start + bytes > fileSize) return false;
+        if (mappedBuffer != null && start >= mappedPosition && start + bytes <= mappedPosition + mappedBuffer.capacity()) return true;
+        try {
+            long size = Math.min(Math.max(AppEngineRecorder.CHUNK_SIZE, bytes), fileSize - start);
+            mappedBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, start, size);
+            mappedBuffer.order(ByteOrder.LITTLE_ENDIAN);
+            mappedPosition = start;
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException(String.format(ERROR_READ, file), e);
+        }
+    }
+
+    /**
+     * Processes the inputs of the next recorded tick in one engine update. Returns false when no complete tick is left.
+     * Inputs submitted by other threads meanwhile are not processed by replayed ticks.
+     */
+    public boolean replayTick(AppEngine<?, ?> appEngine) {
+        if (ended) return false;
+        // Find the end of the tick first so incomplete ticks are never submitted
+        long scan = position;
+        while (true) {
+            if (!ensureMapped(scan, Byte.BYTES)) return endOfLog();
+            byte record = mappedBuffer.get((int) (scan - mappedPosition));
+            if (record == AppEngineRecorder.RECORD_TICK_END) break;
+            if (record != AppEngineRecorder.RECORD_INPUT) return endOfLog();
+            if (!ensureMapped(scan + Byte.BYTES, Integer.BYTES)) return endOfLog();
+            int size = mappedBuffer.getInt((int) (scan + Byte.BYTES - mappedPosition));
+            if (size <= 0 || size > fileSize - (scan + Byte.BYTES + Integer.BYTES)) return endOfLog();
+            scan += Byte.BYTES + Integer.BYTES + size;
+        }
+
+        // Inputs are handed to the engine directly, a tick may hold more inputs than the engine's input queue
+        tickInputs.clear();
+        while (true) {
+            if (!ensureMapped(position, Byte.BYTES)) throw new RuntimeException(String.format(ERROR_RECORD, file, position));
+            byte record = mappedBuffer.get((int) (position - mappedPosition));
+            position += Byte.BYTES;
+            if (record == AppEngineRecorder.RECORD_TICK_END) break;
+            if (!ensureMapped(position, Integer.BYTES)) throw new RuntimeException(String.format(ERROR_RECORD, file, position));
+            int size = mappedBuffer.getInt((int) (position - mappedPosition));
+            position += Integer.BYTES;
+            if (!ensureMapped(position, size)) throw new RuntimeException(String.format(ERROR_RECORD, file, position));
+            mappedBuffer.position((int) (position - mappedPosition));
+            tickInputs.add(AppEngineIOWire.readInput(mappedBuffer, appEngine, codec));
+            position += size;
+        }
+        appEngine.update(tickInputs);
+        tickInputs.clear();
+        ticks++;
+        return true;
+    }
+
+    private boolean endOfLog() {
+        this.ended = true;
+        return false;
+    }
+
+    /**
+     * Replays all remaining ticks as fast as possible and returns the number of replayed ticks.
+     */
+    public long replay(AppEngine<?, ?> appEngine) {
+        long replayed = 0;
+        while (replayTick(appEngine)) replayed++;
+        return replayed;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public boolean isFinished() {
+        return ended || position >= fileSize;
+    }
+
+    public void close() {
+        try {
+            mappedBuffer = null;
+            fileChannel.close();
+        } catch (IOException e) {
+            throw new RuntimeException(String.format(ERROR_READ, file), e);
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+package net.mslivo.core.engine.tools.appengine;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs AppEngine.update() on a dedicated thread at a fixed tick rate.
+ * After each tick the data is copied into a triple buffer, acquireSnapshot() returns the latest
+ * complete copy without blocking the engine thread. The engine has to be in concurrent mode.
+ */
+public class AppEngineRunner<A extends AppEngineAdapter<D>, D extends Object> {
+
+    private static final String ERROR_NOT_CONCURRENT = "Cannot initialize AppEngineRunner: AppEngine is not in concurrent mode";
+    private static final String ERROR_TICK_RATE = "Cannot initialize AppEngineRunner: ticksPerSecond must be > 0";
+    private static final String THREAD_NAME = "AppEngine Runner";
+    private static final int MAX_CATCH_UP_TICKS = 5;
+    private static final int SNAPSHOT_FRESH = 4;
+    private static final int SNAPSHOT_INDEX = 3;
+    private static final float AVERAGE_FACTOR = 0.05f;
+
+    private final AppEngine<A, D> appEngine;
+    private final AppEngineSnapshot<D> appEngineSnapshot;
+    private final long tickNanos;
+    private final ArrayList<D> snapshots;
+    private final long[] snapshotTicks;
+    private final AtomicInteger snapshotShared;
+    private int snapshotBack;
+    private int snapshotFront;
+    private Thread thread;
+    private volatile boolean running;
+    private volatile Throwable error;
+
+    // Metrics
+    private volatile long lastTickNanos;
+    private volatile long averageTickNanos;
+    private volatile long maxTickNanos;
+    private volatile long lagNanos;
+    private volatile long skippedTicks;
+
+    public AppEngineRunner(AppEngine<A, D> appEngine, int ticksPerSecond) {
+        this(appEngine, ticksPerSecond, null);
+    }
+
+    public AppEngineRunner(AppEngine<A, D> appEngine, int ticksPerSecond, AppEngineSnapshot<D> appEngineSnapshot) {
+        if (!appEngine.isConcurrent()) throw new RuntimeException(ERROR_NOT_CONCURRENT);
+        if (ticksPerSecond <= 0) throw new RuntimeException(ERROR_TICK_RATE);
+        this.appEngine = appEngine;
+        this.appEngineSnapshot = appEngineSnapshot;
+        this.tickNanos = 1_000_000_000L / ticksPerSecond;
+        this.snapshots = new ArrayList<>(3);
+        this.snapshotTicks = new long[3];
+        if (appEngineSnapshot != null) {
+            for (int i = 0; i < 3; i++) {
+                D snapshot = appEngineSnapshot.create();
+                appEngineSnapshot.copy(appEngine.getData(), snapshot);
+                snapshots.add(snapshot);
+                snapshotTicks[i] = appEngine.getTicks();
+            }
+        }
+        this.snapshotBack = 0;
+        this.snapshotShared = new AtomicInteger(1);
+        this.snapshotFront = 2;
+        this.running = false;
+        this.error = null;
+    }
+
+    public synchronized boolean start() {
+        if (running) return false;
+        running = true;
+        error = null;
+        thread = new Thread(this::run, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public synchronized boolean stop() {
+        if (!running) return false;
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the most recent snapshot. It stays unchanged until the next acquireSnapshot() call,
+     * which must come from the same (render) thread.
+     */
+    public D acquireSnapshot() {
+        if (appEngineSnapshot == null) return null;
+        if ((snapshotShared.get() & SNAPSHOT_FRESH) != 0) {
+            snapshotFront = snapshotShared.getAndSet(snapshotFront) & SNAPSHOT_INDEX;
+        }
+        return snapshots.get(snapshotFront);
+    }
+
+    public long getSnapshotTick() {
+        return snapshotTicks[snapshotFront];
+    }
+
+    private void run() {
+        long nextTick = System.nanoTime();
+        try {
+            while (running) {
+                long now = System.nanoTime();
+                if (now < nextTick) {
+                    LockSupport.parkNanos(nextTick - now);
+                    continue;
+                }
+
+                appEngine.update();
+                publishSnapshot();
+
+                long end = System.nanoTime();
+                long duration = end - now;
+                lastTickNanos = duration;
+                averageTickNanos = averageTickNanos == 0 ? duration : averageTickNanos + (long) ((duration - averageTickNanos) * AVERAGE_FACTOR);
+                maxTickNanos = Math.max(maxTickNanos, duration);
+
+                nextTick += tickNanos;
+                long lag = end - nextTick;
+                lagNanos = Math.max(lag, 0);
+                if (lag > tickNanos * MAX_CATCH_UP_TICKS) {
+                    // Too far behind, drop ticks instead of spiraling
+                    skippedTicks += lag / tickNanos;
+                    nextTick = end;
+                }
+            }
+        } catch (Throwable t) {
+            error = t;
+            running = false;
+        }
+    }
+
+    private void publishSnapshot() {
+        if (appEngineSnapshot == null) return;
+        appEngineSnapshot.copy(appEngine.getData(), snapshots.get(snapshotBack));
+        snapshotTicks[snapshotBack] = appEngine.getTicks();
+        snapshotBack = snapshotShared.getAndSet(snapshotBack | SNAPSHOT_FRESH) & SNAPSHOT_INDEX;
+    }
+
+    public AppEngine<A, D> getAppEngine() {
+        return appEngine;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public long getAverageTickNanos() {
+        return averageTickNanos;
+    }
+
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+
+    public long getLagNanos() {
+        return lagNanos;
+    }
+
+    public long getSkippedTicks() {
+        return skippedTicks;
+    }
+
+    public void resetMetrics() {
+        this.maxTickNanos = 0;
+        this.skippedTicks = 0;
+    }
+
+}
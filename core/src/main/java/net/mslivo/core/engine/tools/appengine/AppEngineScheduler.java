@@ -0,0 +1,215 @@
+package net.mslivo.core.engine.tools.appengine;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Steps many independent AppEngines across all cores on a work-stealing pool.
+ * Every engine is updated by at most one worker at a time, engines can carry a tick budget.
+ * Has no GL dependency and can be used headless.
+ * Outputs are drained after every tick: handed to the output consumer given in add(...), or cleared back to the pool without one.
+ * The consumer runs on a pool worker, one call at a time per engine.
+ */
+public class AppEngineScheduler {
+
+    public static final long TICK_BUDGET_UNLIMITED = -1;
+    private static final String ERROR_DUPLICATE = "AppEngine is already scheduled";
+
+    private final ForkJoinPool forkJoinPool;
+    private final ArrayList<Instance> instances;
+    private long totalTicks;
+    private long totalNanos;
+    private long lastStepTicks;
+    private long lastStepNanos;
+
+    private static final class Instance {
+        private final AppEngine<?, ?> appEngine;
+        private final long tickBudget;
+        private final Consumer<AppEngineIO> outputConsumer;
+        private long ticks;
+        private long nanos;
+
+        private Instance(AppEngine<?, ?> appEngine, long tickBudget, Consumer<AppEngineIO> outputConsumer) {
+            this.appEngine = appEngine;
+            this.tickBudget = tickBudget;
+            this.outputConsumer = outputConsumer;
+        }
+
+        private void drainOutputs() {
+            if (outputConsumer != null) {
+                AppEngineIO output;
+                // The final null poll also recycles the last output, outputs still pending in concurrent mode follow next tick
+                while ((output = appEngine.processOutput()) != null) outputConsumer.accept(output);
+                return;
+            }
+            appEngine.clearOutputs();
+        }
+
+        private boolean isFinished() {
+            return tickBudget != TICK_BUDGET_UNLIMITED && ticks >= tickBudget;
+        }
+    }
+
+    private static final class StepTask extends RecursiveTask<Long> {
+        private final ArrayList<Instance> instances;
+        private final int from, to;
+        private final int ticks;
+
+        private StepTask(ArrayList<Instance> instances, int from, int to, int ticks) {
+            this.instances = instances;
+            this.from = from;
+            this.to = to;
+            this.ticks = ticks;
+        }
+
+        @Override
+        protected Long compute() {
+            if ((to - from) > 1) {
+                int middle = (from + to) >>> 1;
+                StepTask left = new StepTask(instances, from, middle, ticks);
+                left.fork();
+                long rightTicks = new StepTask(instances, middle, to, ticks).compute();
+                return rightTicks + left.join();
+            }
+            if (from >= to) return 0L;
+
+            Instance instance = instances.get(from);
+            long steps = instance.tickBudget == TICK_BUDGET_UNLIMITED ? ticks : Math.min(ticks, instance.tickBudget - instance.ticks);
+            if (steps <= 0) return 0L;
+            long start = System.nanoTime();
+            for (long i = 0; i < steps; i++) {
+                instance.appEngine.update();
+                instance.drainOutputs();
+            }
+            instance.nanos += System.nanoTime() - start;
+            instance.ticks += steps;
+            return steps;
+        }
+    }
+
+    public AppEngineScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public AppEngineScheduler(int parallelism) {
+        this.forkJoinPool = new ForkJoinPool(Math.max(parallelism, 1));
+        this.instances = new ArrayList<>();
+    }
+
+    public synchronized void add(AppEngine<?, ?> appEngine) {
+        add(appEngine, TICK_BUDGET_UNLIMITED);
+    }
+
+    public synchronized void add(AppEngine<?, ?> appEngine, long tickBudget) {
+        add(appEngine, tickBudget, null);
+    }
+
+    /**
+     * outputConsumer receives every output of the engine after each tick, outputs are recycled once it returns and must not be kept.
+     */
+    public synchronized void add(AppEngine<?, ?> appEngine, long tickBudget, Consumer<AppEngineIO> outputConsumer) {
+        if (appEngine == null) return;
+        if (indexOf(appEngine) != -1) throw new RuntimeException(ERROR_DUPLICATE);
+        instances.add(new Instance(appEngine, tickBudget, outputConsumer));
+    }
+
+    public synchronized boolean remove(AppEngine<?, ?> appEngine) {
+        int index = indexOf(appEngine);
+        if (index == -1) return false;
+        instances.remove(index);
+        return true;
+    }
+
+    public synchronized void removeFinished() {
+        instances.removeIf(Instance::isFinished);
+    }
+
+    private int indexOf(AppEngine<?, ?> appEngine) {
+        for (int i = 0; i < instances.size(); i++) {
+            if (instances.get(i).appEngine == appEngine) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Updates every unfinished engine up to ticks times and blocks until all are done.
+     */
+    public synchronized long step(int ticks) {
+        if (ticks <= 0 || instances.isEmpty()) return 0;
+        long start = System.nanoTime();
+        long stepTicks = forkJoinPool.invoke(new StepTask(instances, 0, instances.size(), ticks));
+        long stepNanos = System.nanoTime() - start;
+
+        this.lastStepTicks = stepTicks;
+        this.lastStepNanos = stepNanos;
+        this.totalTicks += stepTicks;
+        this.totalNanos += stepNanos;
+        return stepTicks;
+    }
+
+    /**
+     * Steps until every engine has used up its tick budget. Engines with an unlimited budget never finish.
+     */
+    public synchronized void runUntilFinished(int ticksPerStep) {
+        while (!isFinished()) step(ticksPerStep);
+    }
+
+    public synchronized void runFor(long millis, int ticksPerStep) {
+        long end = System.nanoTime() + (millis * 1_000_000L);
+        while (System.nanoTime() < end && !isFinished()) step(ticksPerStep);
+    }
+
+    public synchronized boolean isFinished() {
+        for (int i = 0; i < instances.size(); i++) {
+            if (!instances.get(i).isFinished()) return false;
+        }
+        return true;
+    }
+
+    public synchronized boolean isFinished(AppEngine<?, ?> appEngine) {
+        int index = indexOf(appEngine);
+        return index == -1 || instances.get(index).isFinished();
+    }
+
+    public synchronized long getTicks(AppEngine<?, ?> appEngine) {
+        int index = indexOf(appEngine);
+        return index != -1 ? instances.get(index).ticks : 0;
+    }
+
+    public synchronized float getTicksPerSecond(AppEngine<?, ?> appEngine) {
+        int index = indexOf(appEngine);
+        if (index == -1 || instances.get(index).nanos == 0) return 0f;
+        return instances.get(index).ticks / (instances.get(index).nanos / 1_000_000_000f);
+    }
+
+    public synchronized int size() {
+        return instances.size();
+    }
+
+    public synchronized long getTotalTicks() {
+        return totalTicks;
+    }
+
+    public synchronized float getTicksPerSecond() {
+        return totalNanos > 0 ? totalTicks / (totalNanos / 1_000_000_000f) : 0f;
+    }
+
+    public synchronized float getLastStepTicksPerSecond() {
+        return lastStepNanos > 0 ? lastStepTicks / (lastStepNanos / 1_000_000_000f) : 0f;
+    }
+
+    public synchronized void resetMetrics() {
+        this.totalTicks = 0;
+        this.totalNanos = 0;
+        this.lastStepTicks = 0;
+        this.lastStepNanos = 0;
+    }
+
+    public synchronized void shutdown() {
+        forkJoinPool.shutdown();
+        instances.clear();
+    }
+
+}
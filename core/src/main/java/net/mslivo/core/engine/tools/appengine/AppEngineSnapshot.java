@@ -0,0 +1,7 @@
+package net.mslivo.core.engine.tools.appengine;
+
+public interface AppEngineSnapshot<D> {
+    D create();
+
+    void copy(D source, D target);
+}
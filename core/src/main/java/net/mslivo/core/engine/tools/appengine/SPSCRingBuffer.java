@@ -0,0 +1,51 @@
+package net.mslivo.core.engine.tools.appengine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free single producer / single consumer queue.
+ * offer() must only be called from one thread and poll() only from one other thread.
+ */
+final class SPSCRingBuffer<T> {
+
+    private final int mask;
+    private final Object[] buffer;
+    private final AtomicLong head;
+    private final AtomicLong tail;
+
+    SPSCRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.mask = size - 1;
+        this.buffer = new Object[size];
+        this.head = new AtomicLong(0);
+        this.tail = new AtomicLong(0);
+    }
+
+    boolean offer(T element) {
+        long position = tail.get();
+        if (position - head.get() > mask) return false; // full
+        buffer[(int) (position & mask)] = element;
+        tail.lazySet(position + 1);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    T poll() {
+        long position = head.get();
+        if (position == tail.get()) return null; // empty
+        int index = (int) (position & mask);
+        T element = (T) buffer[index];
+        buffer[index] = null;
+        head.lazySet(position + 1);
+        return element;
+    }
+
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+}
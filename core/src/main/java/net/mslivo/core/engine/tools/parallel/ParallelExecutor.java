@@ -0,0 +1,239 @@
+package net.mslivo.core.engine.tools.parallel;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Parallel-for on a ForkJoinPool.
+ * The caller and up to parallelism-1 pooled worker tasks claim chunks from a shared counter, so threads that finish early
+ * take over remaining work of uneven loops. Jobs and worker tasks are reused per calling thread and nesting depth,
+ * calls are allocation-free after warm up and safe from multiple threads and from within a running body.
+ */
+public final class ParallelExecutor {
+
+    private static final String ERROR_SHUTDOWN_SHARED = "Cannot shutdown the common ParallelExecutor";
+    private static final int CHUNKS_PER_THREAD = 8;
+    private static final ParallelExecutor COMMON = new ParallelExecutor(ForkJoinPool.commonPool(), false);
+
+    private final ForkJoinPool forkJoinPool;
+    private final boolean ownsPool;
+    private final int parallelism;
+    private final ThreadLocal<JobStack> jobStacks;
+
+    private static final class JobStack {
+        private Job[] jobs = new Job[0];
+        private int depth;
+    }
+
+    private static final class Worker extends ForkJoinTask<Void> {
+        private final Job job;
+
+        private Worker(Job job) {
+            this.job = job;
+        }
+
+        @Override
+        public Void getRawResult() {
+            return null;
+        }
+
+        @Override
+        protected void setRawResult(Void value) {
+        }
+
+        @Override
+        protected boolean exec() {
+            job.runChunks();
+            return true;
+        }
+    }
+
+    private static final class Job {
+        private final Worker[] workers;
+        private final AtomicInteger next;
+        private int end, grain;
+        private ParallelRange range;
+        private List list;
+        private Consumer consumer;
+        private int[] array;
+        private IntConsumer intConsumer;
+        private volatile Throwable error;
+
+        private Job(int workerCount) {
+            this.workers = new Worker[workerCount];
+            for (int i = 0; i < workerCount; i++) workers[i] = new Worker(this);
+            this.next = new AtomicInteger();
+        }
+
+        private void runChunks() {
+            try {
+                int from;
+                while ((from = next.getAndAdd(grain)) < end) {
+                    runChunk(from, Math.min(from + grain, end));
+                }
+            } catch (Throwable t) {
+                if (error == null) error = t;
+                next.set(end); // stop other threads from claiming more chunks
+            }
+        }
+
+        private void runChunk(int from, int to) {
+            if (range != null) {
+                range.run(from, to);
+            } else if (list != null) {
+                for (int i = from; i < to; i++) consumer.accept(list.get(i));
+            } else {
+                for (int i = from; i < to; i++) intConsumer.accept(array[i]);
+            }
+        }
+
+        private void clear() {
+            this.range = null;
+            this.list = null;
+            this.consumer = null;
+            this.array = null;
+            this.intConsumer = null;
+            this.error = null;
+        }
+    }
+
+    public static ParallelExecutor common() {
+        return COMMON;
+    }
+
+    public ParallelExecutor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelExecutor(int parallelism) {
+        this(new ForkJoinPool(Math.max(parallelism, 1)), true);
+    }
+
+    public ParallelExecutor(ForkJoinPool forkJoinPool) {
+        this(forkJoinPool, false);
+    }
+
+    private ParallelExecutor(ForkJoinPool forkJoinPool, boolean ownsPool) {
+        this.forkJoinPool = forkJoinPool;
+        this.ownsPool = ownsPool;
+        // the caller thread works as well
+        this.parallelism = Math.max(forkJoinPool.getParallelism(), 1) + 1;
+        this.jobStacks = ThreadLocal.withInitial(JobStack::new);
+    }
+
+    public void forRange(int from, int to, ParallelRange range) {
+        forRange(from, to, 0, range);
+    }
+
+    /**
+     * Runs range over [from, to) in chunks of grain indices, grain <= 0 picks a grain size based on parallelism.
+     */
+    public void forRange(int from, int to, int grain, ParallelRange range) {
+        if (to <= from) return;
+        grain = grain > 0 ? grain : autoGrain(to - from);
+        if ((to - from) <= grain) {
+            range.run(from, to);
+            return;
+        }
+        Job job = obtainJob();
+        job.range = range;
+        run(job, from, to, grain);
+    }
+
+    public <T> void forEach(List<T> list, Consumer<T> consumer) {
+        forEach(list, consumer, list.size());
+    }
+
+    public <T> void forEach(List<T> list, Consumer<T> consumer, int size) {
+        if (size <= 0) return;
+        int grain = autoGrain(size);
+        if (size <= grain) {
+            for (int i = 0; i < size; i++) consumer.accept(list.get(i));
+            return;
+        }
+        Job job = obtainJob();
+        job.list = list;
+        job.consumer = consumer;
+        run(job, 0, size, grain);
+    }
+
+    public void forEach(int[] array, IntConsumer consumer) {
+        forEach(array, consumer, array.length);
+    }
+
+    public void forEach(int[] array, IntConsumer consumer, int size) {
+        if (size <= 0) return;
+        int grain = autoGrain(size);
+        if (size <= grain) {
+            for (int i = 0; i < size; i++) consumer.accept(array[i]);
+            return;
+        }
+        Job job = obtainJob();
+        job.array = array;
+        job.intConsumer = consumer;
+        run(job, 0, size, grain);
+    }
+
+    private int autoGrain(int size) {
+        return Math.max(1, size / (parallelism * CHUNKS_PER_THREAD));
+    }
+
+    private Job obtainJob() {
+        JobStack jobStack = jobStacks.get();
+        if (jobStack.depth == jobStack.jobs.length) {
+            Job[] jobs = new Job[jobStack.jobs.length + 1];
+            System.arraycopy(jobStack.jobs, 0, jobs, 0, jobStack.jobs.length);
+            jobs[jobStack.jobs.length] = new Job(parallelism - 1);
+            jobStack.jobs = jobs;
+        }
+        return jobStack.jobs[jobStack.depth++];
+    }
+
+    private void run(Job job, int from, int to, int grain) {
+        try {
+            job.end = to;
+            job.grain = grain;
+            job.next.set(from);
+
+            int chunks = ((to - from) + grain - 1) / grain;
+            int workerCount = Math.min(job.workers.length, chunks - 1);
+            for (int i = 0; i < workerCount; i++) {
+                job.workers[i].reinitialize();
+                forkJoinPool.execute(job.workers[i]);
+            }
+            job.runChunks();
+            for (int i = 0; i < workerCount; i++) job.workers[i].join();
+
+            Throwable error = job.error;
+            if (error != null) {
+                if (error instanceof RuntimeException runtimeException) throw runtimeException;
+                if (error instanceof Error e) throw e;
+                throw new RuntimeException(error);
+            }
+        } finally {
+            job.clear();
+            jobStacks.get().depth--;
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    public void shutdown() {
+        if (!ownsPool) {
+            if (this == COMMON) throw new RuntimeException(ERROR_SHUTDOWN_SHARED);
+            return;
+        }
+        forkJoinPool.shutdown();
+    }
+
+}
@@ -0,0 +1,8 @@
+package net.mslivo.core.engine.tools.parallel;
+
+public interface ParallelRange {
+    /**
+     * Processes indices from (inclusive) to to (exclusive), may be called concurrently for disjoint ranges.
+     */
+    void run(int from, int to);
+}
@@ -1,6 +1,7 @@
 package net.mslivo.core.engine.tools.particles;
 
-import net.mslivo.core.engine.tools.Tools;
+import net.mslivo.core.engine.tools.parallel.ParallelExecutor;
+import net.mslivo.core.engine.tools.parallel.ParallelRange;
 import net.mslivo.core.engine.tools.particles.particles.Particle;
 
 import java.lang.reflect.Modifier;
@@ -10,53 +11,109 @@ import java.util.HashMap;
 import java.util.function.Consumer;
 
 public sealed abstract class ParticleSystem<T> permits PrimitiveParticleSystem, SpriteParticleSystem {
+    private static final int PARALLEL_CHUNK_WORDS_MIN = 16; // 1024 particles per chunk
+
     protected Class<T> dataClass;
     protected int maxParticles;
     protected int numParticles;
     protected final HashMap<Class, ArrayDeque<Particle<T>>> particlePools;
-    protected final ArrayDeque<Particle<T>> deleteQueue;
-    protected final Consumer<Particle<T>> parallelConsumer;
     protected final ParticleUpdater<T> particleUpdater;
     protected final ArrayList<Particle<T>> particles;
+    private final ParallelRange parallelUpdateRange;
+    private ParallelExecutor parallelExecutor;
+    private long[] deadMask;
+    private int parallelSize;
 
     protected ParticleSystem(Class<T> dataClass, ParticleUpdater<T> particleUpdater, int maxParticles) {
         this.dataClass = dataClass;
         this.numParticles = 0;
         this.maxParticles = Math.max(maxParticles, 0);
-        this.deleteQueue = new ArrayDeque<>();
         this.particlePools = new HashMap<>();
         this.particles = new ArrayList<>();
         this.particleUpdater = particleUpdater != null ? particleUpdater : new ParticleUpdater<T>() {
         };
-        this.parallelConsumer = new Consumer<>() {
-            @Override
-            public void accept(Particle<T> particle) {
-                boolean remove = !particleUpdater.updateParticle(particle);
-                if (particle != null && remove) {
-                    synchronized (deleteQueue) {
-                        deleteQueue.add(particle);
-                    }
-                }
-            }
-        };
+        this.parallelUpdateRange = (fromWord, toWord) -> updateParallelChunk(fromWord, toWord, parallelSize);
+        this.parallelExecutor = ParallelExecutor.common();
+        this.deadMask = new long[0];
     }
 
     public void update() {
         if (this.numParticles == 0) return;
-        // Update
+        // Update & compact in one pass, keeps draw order
+        int alive = 0;
         for (int i = 0; i < this.particles.size(); i++) {
             Particle<T> particle = particles.get(i);
-            if (!particleUpdater.updateParticle(particle))
-                deleteQueue.add(particle);
+            if (particleUpdater.updateParticle(particle)) {
+                if (alive != i) particles.set(alive, particle);
+                alive++;
+            } else {
+                addParticleToPool(particle.getClass(), particle);
+            }
         }
-        // Clear DeleteQueue
-        deleteQueuedParticles();
+        if (alive < particles.size()) particles.subList(alive, particles.size()).clear();
+        this.numParticles = particles.size();
     }
 
+    /**
+     * Updates particles on the ParallelExecutor. Each chunk owns whole 64 particle words of a dead-particle bitset,
+     * so no locking is needed, a single compaction pass afterwards removes the dead particles in draw order.
+     * Particles must not be added or removed from within the ParticleUpdater while this runs.
+     */
     public void updateParallel() {
         if (this.numParticles == 0) return;
-        Tools.App.runParallel(this.particles, this.parallelConsumer);
-        deleteQueuedParticles();
+        final int size = particles.size();
+        final int words = (size + 63) >>> 6;
+        if (deadMask.length < words) deadMask = new long[words];
+
+        this.parallelSize = size;
+        parallelExecutor.forRange(0, words, PARALLEL_CHUNK_WORDS_MIN, parallelUpdateRange);
+
+        compactDeadParticles(words, size);
+    }
+
+    public ParallelExecutor getParallelExecutor() {
+        return parallelExecutor;
+    }
+
+    public void setParallelExecutor(ParallelExecutor parallelExecutor) {
+        this.parallelExecutor = parallelExecutor != null ? parallelExecutor : ParallelExecutor.common();
+    }
+
+    private void updateParallelChunk(int fromWord, int toWord, int size) {
+        for (int word = fromWord; word < toWord; word++) {
+            final int base = word << 6;
+            final int end = Math.min(base + 64, size);
+            long dead = 0L;
+            for (int i = base; i < end; i++) {
+                if (!particleUpdater.updateParticle(particles.get(i)))
+                    dead |= (1L << (i - base));
+            }
+            deadMask[word] = dead;
+        }
+    }
+
+    private void compactDeadParticles(int words, int size) {
+        int alive = 0;
+        for (int word = 0; word < words; word++) {
+            final long dead = deadMask[word];
+            final int base = word << 6;
+            final int end = Math.min(base + 64, size);
+            if (dead == 0L && alive == base) {
+                alive = end; // nothing died and nothing to move
+                continue;
+            }
+            for (int i = base; i < end; i++) {
+                Particle<T> particle = particles.get(i);
+                if ((dead & (1L << (i - base))) != 0L) {
+                    addParticleToPool(particle.getClass(), particle);
+                    continue;
+                }
+                if (alive != i) particles.set(alive, particle);
+                alive++;
+            }
+        }
+        if (alive < particles.size()) particles.subList(alive, particles.size()).clear();
+        this.numParticles = particles.size();
     }
 
     public boolean canAddParticle() {
@@ -72,8 +129,12 @@ public sealed abstract class ParticleSystem<T> permits PrimitiveParticleSystem,
     }
 
     public void removeAllParticles() {
-        this.deleteQueue.addAll(this.particles);
-        deleteQueuedParticles();
+        for (int i = 0; i < particles.size(); i++) {
+            Particle<T> particle = particles.get(i);
+            addParticleToPool(particle.getClass(), particle);
+        }
+        this.particles.clear();
+        this.numParticles = 0;
     }
 
     public int getMaxParticles() {
@@ -100,13 +161,6 @@ public sealed abstract class ParticleSystem<T> permits PrimitiveParticleSystem,
         this.particlePools.get(particleClass).add(particle);
     }
 
-    protected void removeParticleFromSystem(Particle<T> particle) {
-        if (particle == null) return;
-        this.particles.remove(particle);
-        addParticleToPool(particle.getClass(), particle);
-        this.numParticles--;
-    }
-
     protected void addParticleToSystem(Particle<T> particle) {
         if (particle == null) return;
         particles.add(particle);
@@ -151,11 +205,4 @@ public sealed abstract class ParticleSystem<T> permits PrimitiveParticleSystem,
         return particles;
     }
 
-    private void deleteQueuedParticles() {
-        Particle<T> deleteParticle;
-        while ((deleteParticle = deleteQueue.poll()) != null) {
-            removeParticleFromSystem(deleteParticle);
-        }
-    }
-
 }
@@ -2,6 +2,7 @@ package net.mslivo.core.engine.tools.particles;
 
 import com.badlogic.gdx.graphics.Color;
 import net.mslivo.core.engine.tools.particles.particles.PrimitiveParticle;
+import net.mslivo.core.engine.ui_engine.rendering.InstancedPrimitiveRenderer;
 import net.mslivo.core.engine.ui_engine.rendering.PrimitiveRenderer;
 
 public final class PrimitiveParticleSystem<T> extends ParticleSystem<T> {
@@ -42,6 +43,19 @@ public final class PrimitiveParticleSystem<T> extends ParticleSystem<T> {
         primitiveRenderer.setVertexColor(primitiveRendererBackupColor);
     }
 
+    /**
+     * Draws every visible particle as one instance of the renderer's shape at its position.
+     * The primitive type and additional vertexes of the particles are ignored.
+     */
+    public void render(InstancedPrimitiveRenderer instancedPrimitiveRenderer) {
+        if (super.numParticles == 0) return;
+        for (int i = 0; i < particles.size(); i++) {
+            PrimitiveParticle<T> primitiveParticle = (PrimitiveParticle) particles.get(i);
+            if (!primitiveParticle.visible) continue;
+            instancedPrimitiveRenderer.instance(primitiveParticle.x, primitiveParticle.y, primitiveParticle.r, primitiveParticle.g, primitiveParticle.b, primitiveParticle.a);
+        }
+    }
+
 
     public PrimitiveParticle<T> addPrimitiveParticle(int particleType, float x1, float y1, float r1, float g1, float b1, float a1) {
         if (!canAddParticle())
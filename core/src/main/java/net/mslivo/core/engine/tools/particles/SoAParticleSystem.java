@@ -0,0 +1,269 @@
+package net.mslivo.core.engine.tools.particles;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL32;
+import net.mslivo.core.engine.tools.parallel.ParallelExecutor;
+import net.mslivo.core.engine.tools.parallel.ParallelRange;
+import net.mslivo.core.engine.ui_engine.rendering.InstancedPrimitiveRenderer;
+import net.mslivo.core.engine.ui_engine.rendering.PrimitiveRenderer;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays primitive particles for large emitters.
+ * Attributes are stored in one float array each and updated by fixed kernels (gravity, velocity, fade, lifetime),
+ * every kernel is a branch-free loop over the arrays that the JIT can autovectorize.
+ * Arrays are valid from 0 to particleCount() and may be modified directly.
+ * Every particle is one vertex, PrimitiveRenderer output is always GL_POINTS.
+ */
+public final class SoAParticleSystem {
+
+    public static final float LIFE_INFINITE = Float.POSITIVE_INFINITY;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int PARALLEL_CHUNK_MIN = 8192;
+
+    public float[] x, y;
+    public float[] velocityX, velocityY;
+    public float[] r, g, b, a;
+    public float[] life;
+
+    private final Color primitiveRendererBackupColor;
+    private final ParallelRange parallelUpdateRange;
+    private ParallelExecutor parallelExecutor;
+    private int maxParticles;
+    private int numParticles;
+    private float gravityX, gravityY;
+    private float fade;
+
+    public SoAParticleSystem() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public SoAParticleSystem(int maxParticles) {
+        this.maxParticles = Math.max(maxParticles, 0);
+        this.numParticles = 0;
+        this.primitiveRendererBackupColor = new Color(Color.CLEAR);
+        this.parallelUpdateRange = this::updateKernels;
+        this.parallelExecutor = ParallelExecutor.common();
+        allocate(Math.min(INITIAL_CAPACITY, this.maxParticles));
+    }
+
+    public int addParticle(float x, float y, float r, float g, float b, float a) {
+        return addParticle(x, y, 0f, 0f, r, g, b, a, LIFE_INFINITE);
+    }
+
+    public int addParticle(float x, float y, float velocityX, float velocityY, float r, float g, float b, float a, float life) {
+        if (!canAddParticle()) return -1;
+        if (numParticles == this.x.length) allocate((int) Math.min((long) this.x.length * 2L + 1, maxParticles));
+        int i = numParticles++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.velocityX[i] = velocityX;
+        this.velocityY[i] = velocityY;
+        this.r[i] = r;
+        this.g[i] = g;
+        this.b[i] = b;
+        this.a[i] = a;
+        this.life[i] = life;
+        return i;
+    }
+
+    public void update() {
+        if (numParticles == 0) return;
+        updateKernels(0, numParticles);
+        compact();
+    }
+
+    /**
+     * Runs the kernels for disjoint index ranges on the ParallelExecutor, then compacts once on the caller thread.
+     */
+    public void updateParallel() {
+        if (numParticles == 0) return;
+        parallelExecutor.forRange(0, numParticles, PARALLEL_CHUNK_MIN, parallelUpdateRange);
+        compact();
+    }
+
+    public ParallelExecutor getParallelExecutor() {
+        return parallelExecutor;
+    }
+
+    public void setParallelExecutor(ParallelExecutor parallelExecutor) {
+        this.parallelExecutor = parallelExecutor != null ? parallelExecutor : ParallelExecutor.common();
+    }
+
+    private void updateKernels(int from, int to) {
+        if (gravityX != 0f || gravityY != 0f) kernelGravity(from, to);
+        kernelVelocity(from, to);
+        if (fade != 0f) kernelFade(from, to);
+        kernelLifetime(from, to);
+    }
+
+    private void kernelGravity(int from, int to) {
+        final float[] velocityX = this.velocityX, velocityY = this.velocityY;
+        final float gravityX = this.gravityX, gravityY = this.gravityY;
+        for (int i = from; i < to; i++) {
+            velocityX[i] += gravityX;
+            velocityY[i] += gravityY;
+        }
+    }
+
+    private void kernelVelocity(int from, int to) {
+        final float[] x = this.x, y = this.y, velocityX = this.velocityX, velocityY = this.velocityY;
+        for (int i = from; i < to; i++) {
+            x[i] += velocityX[i];
+            y[i] += velocityY[i];
+        }
+    }
+
+    private void kernelFade(int from, int to) {
+        final float[] a = this.a, life = this.life;
+        final float fade = this.fade;
+        for (int i = from; i < to; i++) {
+            a[i] = Math.max(a[i] - fade, 0f);
+        }
+        // Faded out particles expire
+        for (int i = from; i < to; i++) {
+            life[i] = a[i] > 0f ? life[i] : 0f;
+        }
+    }
+
+    private void kernelLifetime(int from, int to) {
+        final float[] life = this.life;
+        for (int i = from; i < to; i++) {
+            life[i] -= 1f;
+        }
+    }
+
+    private void compact() {
+        int alive = 0;
+        for (int i = 0; i < numParticles; i++) {
+            if (life[i] <= 0f) continue;
+            if (alive != i) move(i, alive);
+            alive++;
+        }
+        numParticles = alive;
+    }
+
+    private void move(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        velocityX[to] = velocityX[from];
+        velocityY[to] = velocityY[from];
+        r[to] = r[from];
+        g[to] = g[from];
+        b[to] = b[from];
+        a[to] = a[from];
+        life[to] = life[from];
+    }
+
+    public void render(PrimitiveRenderer primitiveRenderer) {
+        if (numParticles == 0) return;
+        this.primitiveRendererBackupColor.set(primitiveRenderer.getVertexColor());
+        final int primitiveRendererBackupType = primitiveRenderer.getPrimitiveType();
+        if (primitiveRendererBackupType != GL32.GL_POINTS) {
+            primitiveRenderer.end();
+            primitiveRenderer.begin(GL32.GL_POINTS);
+        }
+        final float[] x = this.x, y = this.y, r = this.r, g = this.g, b = this.b, a = this.a;
+        for (int i = 0; i < numParticles; i++) {
+            if (a[i] <= 0f) continue;
+            primitiveRenderer.setVertexColor(r[i], g[i], b[i], a[i]);
+            primitiveRenderer.vertex(x[i], y[i]);
+        }
+        primitiveRenderer.setVertexColor(primitiveRendererBackupColor);
+        if (primitiveRendererBackupType != GL32.GL_POINTS) {
+            primitiveRenderer.end();
+            primitiveRenderer.begin(primitiveRendererBackupType);
+        }
+    }
+
+    public void render(InstancedPrimitiveRenderer instancedPrimitiveRenderer) {
+        render(instancedPrimitiveRenderer, 1f, 1f);
+    }
+
+    /**
+     * Draws every particle as one instance, width/height apply to RECT shapes.
+     */
+    public void render(InstancedPrimitiveRenderer instancedPrimitiveRenderer, float width, float height) {
+        if (numParticles == 0) return;
+        final float[] x = this.x, y = this.y, r = this.r, g = this.g, b = this.b, a = this.a;
+        for (int i = 0; i < numParticles; i++) {
+            if (a[i] <= 0f) continue;
+            instancedPrimitiveRenderer.instance(x[i], y[i], width, height,
+                    InstancedPrimitiveRenderer.colorPackedRGBA(r[i], g[i], b[i], a[i]));
+        }
+    }
+
+    public void removeParticle(int index) {
+        if (index < 0 || index >= numParticles) return;
+        // Swap-remove
+        numParticles--;
+        if (index != numParticles) move(numParticles, index);
+    }
+
+    public void removeAllParticles() {
+        numParticles = 0;
+    }
+
+    public boolean canAddParticle() {
+        return numParticles < maxParticles;
+    }
+
+    public int particleCount() {
+        return numParticles;
+    }
+
+    public boolean hasAnyParticles() {
+        return numParticles > 0;
+    }
+
+    public int getMaxParticles() {
+        return maxParticles;
+    }
+
+    public void setMaxParticles(int maxParticles) {
+        this.maxParticles = Math.max(maxParticles, 0);
+        if (numParticles > this.maxParticles) numParticles = this.maxParticles;
+    }
+
+    public void setGravity(float gravityX, float gravityY) {
+        this.gravityX = gravityX;
+        this.gravityY = gravityY;
+    }
+
+    public float getGravityX() {
+        return gravityX;
+    }
+
+    public float getGravityY() {
+        return gravityY;
+    }
+
+    /**
+     * Alpha removed per update, particles are removed once fully faded.
+     */
+    public void setFade(float fade) {
+        this.fade = Math.max(fade, 0f);
+    }
+
+    public float getFade() {
+        return fade;
+    }
+
+    private void allocate(int capacity) {
+        this.x = resize(this.x, capacity);
+        this.y = resize(this.y, capacity);
+        this.velocityX = resize(this.velocityX, capacity);
+        this.velocityY = resize(this.velocityY, capacity);
+        this.r = resize(this.r, capacity);
+        this.g = resize(this.g, capacity);
+        this.b = resize(this.b, capacity);
+        this.a = resize(this.a, capacity);
+        this.life = resize(this.life, capacity);
+    }
+
+    private static float[] resize(float[] array, int capacity) {
+        return array == null ? new float[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+}
@@ -54,6 +54,8 @@ public final class API {
     public final APICamera camera;
     public final APIConfig config;
     public final APIComposites composites;
+    public final APIRenderStats renderStats;
+    public final APIFrameProfiler frameProfiler;
 
     public API(UIEngineState uiEngineState, MediaManager mediaManager) {
         this.uiEngineState = uiEngineState;
@@ -71,6 +73,8 @@ public final class API {
         this.camera = new APICamera(this, uiEngineState, mediaManager);
         this.config = new APIConfig(this, uiEngineState, mediaManager);
         this.composites = new APIComposites(this, uiEngineState, mediaManager);
+        this.renderStats = new APIRenderStats(this, uiEngineState, mediaManager);
+        this.frameProfiler = new APIFrameProfiler(this, uiEngineState, mediaManager);
     }
 
     /* #################### Notifications #################### */
@@ -81,6 +85,7 @@ public final class API {
 
     public void addNotification(Notification notification) {
         if (notification == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, notification);
         UICommonUtils.notification_addToScreen(uiEngineState, notification, uiConfig.notification_max);
     }
 
@@ -91,6 +96,7 @@ public final class API {
 
     public void removeNotification(Notification notification) {
         if (notification == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, notification);
         UICommonUtils.notification_removeFromScreen(uiEngineState, notification);
     }
 
@@ -129,15 +135,18 @@ public final class API {
     }
 
     public void openContextMenu(Contextmenu contextMenu) {
+        UICommonUtils.ui_markDirty(uiEngineState, contextMenu);
         UICommonUtils.contextMenu_openAtMousePosition(uiEngineState, mediaManager, contextMenu);
     }
 
     public void openContextMenu(Contextmenu contextMenu, int x, int y) {
         if (contextMenu == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, contextMenu);
         UICommonUtils.contextMenu_open(uiEngineState, mediaManager, contextMenu, x, y);
     }
 
     public void closeContextMenu(Contextmenu contextMenu) {
+        UICommonUtils.ui_markDirty(uiEngineState, contextMenu);
         UICommonUtils.contextMenu_close(uiEngineState, contextMenu);
     }
 
@@ -149,10 +158,12 @@ public final class API {
 
     public void openMouseTextInput(MouseTextInput mouseTextInput){
         if(mouseTextInput == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTextInput);
         UICommonUtils.mouseTextInput_open(uiEngineState, mouseTextInput);
     }
 
     public void closeMouseTextInput(){
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         UICommonUtils.mouseTextInput_close(uiEngineState);
     }
 
@@ -164,6 +175,7 @@ public final class API {
 
     public void addWindow(Window window) {
         if (window == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         UICommonUtils.window_addToScreen(uiEngineState, window);
     }
 
@@ -174,6 +186,7 @@ public final class API {
 
     public void removeWindow(Window window) {
         if (window == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         UICommonUtils.window_removeFromScreen(uiEngineState, window);
     }
 
@@ -188,6 +201,7 @@ public final class API {
 
     public boolean closeWindow(Window window) {
         if (window == null) return false;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         return UICommonUtils.window_close(uiEngineState, window);
     }
 
@@ -202,6 +216,7 @@ public final class API {
 
     public void sendMessageToWindow(Window window, int type, Object... parameters) {
         if (window == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         UICommonUtils.window_receiveMessage(window, type, parameters);
     }
 
@@ -216,6 +231,7 @@ public final class API {
     }
 
     public void windowsEnforceScreenBounds() {
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         for (int i = 0; i < uiEngineState.windows.size(); i++)
             UICommonUtils.window_enforceScreenBounds(uiEngineState, uiEngineState.windows.get(i));
     }
@@ -228,15 +244,18 @@ public final class API {
 
     public void addWindowAsModal(Window modalWindow) {
         if (modalWindow == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, modalWindow);
         UICommonUtils.window_addToScreenAsModal(uiEngineState, modalWindow);
     }
 
     public void removeCurrentModalWindow() {
         if (uiEngineState.modalWindow == null) return;
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         UICommonUtils.window_removeFromScreen(uiEngineState, uiEngineState.modalWindow);
     }
 
     public boolean closeCurrentModalWindow() {
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         if (UICommonUtils.window_isModalOpen(uiEngineState)) closeWindow(uiEngineState.modalWindow);
         return false;
     }
@@ -253,6 +272,7 @@ public final class API {
 
     public void addScreenComponent(Component component) {
         if (component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         UICommonUtils.component_addToScreen(component, uiEngineState);
     }
 
@@ -263,6 +283,7 @@ public final class API {
 
     public void removeScreenComponent(Component component) {
         if (component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         UICommonUtils.component_removeFromScreen(component, uiEngineState);
     }
 
@@ -293,6 +314,7 @@ public final class API {
     /* #################### MouseTool #################### */
 
     public void setMouseTool(MouseTool mouseTool) {
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         uiEngineState.mouseTool = mouseTool;
     }
 
@@ -370,9 +392,13 @@ public final class API {
 
     /* #################### Misc #################### */
 
+    public void markUIDirty() {
+        UICommonUtils.ui_markAllDirty(uiEngineState);
+    }
+
     public void executeSingleUpdateAction(UpdateAction updateAction) {
         if (updateAction == null) return;
-        this.uiEngineState.singleUpdateActions.add(updateAction);
+        UICommonUtils.updateActionWheel_scheduleSingle(uiEngineState, updateAction);
     }
 
     public void overrideCursor(CMediaSprite overrideCursor) {
@@ -382,12 +408,14 @@ public final class API {
 
     public void overrideCursor(CMediaSprite temporaryCursor, int arrayIndex) {
         if (temporaryCursor == null) return;
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         uiEngineState.overrideCursor = temporaryCursor;
         uiEngineState.displayOverrideCursor = true;
         uiEngineState.overrideCursorArrayIndex = Math.max(0, arrayIndex);
     }
 
     public void setAppToolTip(Tooltip toolTip) {
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         uiEngineState.appToolTip = toolTip;
     }
 
@@ -409,6 +437,7 @@ public final class API {
 
     public void setViewportMode(VIEWPORT_MODE viewPortMode) {
         if (viewPortMode == null) return;
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         UICommonUtils.viewport_changeViewPortMode(uiEngineState, viewPortMode);
     }
 
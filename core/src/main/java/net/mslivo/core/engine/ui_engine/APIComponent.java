@@ -139,22 +139,26 @@ public final class APIComponent {
 
         public void setAppViewPortAction(AppViewport appViewPort, AppViewPortAction appViewPortAction) {
             if (appViewPort == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, appViewPort);
             appViewPort.appViewPortAction = appViewPortAction;
         }
 
         public void setUpdateTime(AppViewport appViewPort, int updateTime) {
             if (appViewPort == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, appViewPort);
             appViewPort.updateTime = Math.max(updateTime, 0);
         }
 
         public void setCamPosition(AppViewport appViewPort, float x, float y) {
             if (appViewPort == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, appViewPort);
             UICommonUtils.camera_setPosition(appViewPort.camera, x, y);
         }
 
 
         public void moveCam(AppViewport appViewPort, float x, float y) {
             if (appViewPort == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, appViewPort);
             UICommonUtils.camera_setPosition(appViewPort.camera,
                     (appViewPort.camera.position.x + x),
                     (appViewPort.camera.position.y + y)
@@ -163,6 +167,7 @@ public final class APIComponent {
 
         public void setCamX(AppViewport appViewPort, float x) {
             if (appViewPort == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, appViewPort);
             UICommonUtils.camera_setPosition(appViewPort.camera,
                     x,
                     appViewPort.camera.position.y
@@ -171,6 +176,7 @@ public final class APIComponent {
 
         public void moveCamX(AppViewport appViewPort, float x) {
             if (appViewPort == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, appViewPort);
             UICommonUtils.camera_setPosition(appViewPort.camera,
                     (appViewPort.camera.position.x + x),
                     appViewPort.camera.position.y
@@ -179,6 +185,7 @@ public final class APIComponent {
 
         public void setCamY(AppViewport appViewPort, float y) {
             if (appViewPort == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, appViewPort);
             UICommonUtils.camera_setPosition(appViewPort.camera,
                     appViewPort.camera.position.x,
                     y
@@ -187,6 +194,7 @@ public final class APIComponent {
 
         public void moveCamY(AppViewport appViewPort, float y) {
             if (appViewPort == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, appViewPort);
             UICommonUtils.camera_setPosition(appViewPort.camera,
                     appViewPort.camera.position.x,
                     (appViewPort.camera.position.y + y)
@@ -195,6 +203,7 @@ public final class APIComponent {
 
         public void setCamZoom(AppViewport appViewPort, float zoom) {
             if (appViewPort == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, appViewPort);
             UICommonUtils.camera_setZoom(appViewPort.camera, zoom);
         }
 
@@ -230,21 +239,25 @@ public final class APIComponent {
 
         public void setFontColor(Progressbar progressBar, Color color) {
             if (progressBar == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, progressBar);
             progressBar.fontColor.set(color);
         }
 
         public void setProgress(Progressbar progressBar, float progress) {
             if (progressBar == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, progressBar);
             UICommonUtils.progressbar_setProgress(progressBar, progress);
         }
 
         public void setProgressText(Progressbar progressBar, boolean progressText) {
             if (progressBar == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, progressBar);
             progressBar.progressText = progressText;
         }
 
         public void setProgressText2Decimal(Progressbar progressBar, boolean progressText2Decimal) {
             if (progressBar == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, progressBar);
             progressBar.progressText2Decimal = progressText2Decimal;
         }
 
@@ -269,6 +282,7 @@ public final class APIComponent {
 
         public void setShapeType(Shape shape, SHAPE_TYPE shapeType) {
             if (shape == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, shape);
             shape.shapeType = shapeType;
         }
 
@@ -316,11 +330,13 @@ public final class APIComponent {
 
             public void setText(TextButton textButton, String text) {
                 if (textButton == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, textButton);
                 textButton.text = Tools.Text.validString(text);
             }
 
             public void setFontColor(TextButton textButton, Color color) {
                 if (textButton == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, textButton);
                 textButton.fontColor.set(color);
             }
 
@@ -360,11 +376,13 @@ public final class APIComponent {
 
             public void setImage(ImageButton imageButton, CMediaSprite image) {
                 if (imageButton == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, imageButton);
                 imageButton.image = image;
             }
 
             public void setArrayIndex(ImageButton imageButton, int arrayIndex) {
                 if (imageButton == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, imageButton);
                 imageButton.arrayIndex = Math.max(arrayIndex, 0);
             }
 
@@ -372,11 +390,13 @@ public final class APIComponent {
 
         public void setButtonAction(Button button, ButtonAction buttonAction) {
             if (button == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, button);
             button.buttonAction = buttonAction;
         }
 
         public void press(Button button) {
             if (button == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, button);
             UICommonUtils.button_press(button);
         }
 
@@ -387,6 +407,7 @@ public final class APIComponent {
 
         public void release(Button button) {
             if (button == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, button);
             UICommonUtils.button_release(button);
         }
 
@@ -397,6 +418,7 @@ public final class APIComponent {
 
         public void toggle(Button button) {
             if (button == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, button);
             UICommonUtils.button_toggle(button);
         }
 
@@ -407,6 +429,7 @@ public final class APIComponent {
 
         public void toggle(Button button, boolean pressed) {
             if (button == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, button);
             UICommonUtils.button_toggle(button, pressed);
         }
 
@@ -417,11 +440,13 @@ public final class APIComponent {
 
         public void setButtonMode(Button button, BUTTON_MODE buttonMode) {
             if (button == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, button);
             button.mode = buttonMode;
         }
 
         public void setContentOffset(Button button, int x, int y) {
             if (button == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, button);
             button.contentOffset_x = x;
             button.contentOffset_y = y;
         }
@@ -432,10 +457,12 @@ public final class APIComponent {
         }
 
         public void setToggleDisabled(Button button, boolean disabled) {
+            UICommonUtils.ui_markDirty(uiEngineState, button);
             button.toggleDisabled = disabled;
         }
 
         public void centerContent(Button button) {
+            UICommonUtils.ui_markDirty(uiEngineState, button);
             UICommonUtils.button_centerContent(uiEngineState, mediaManager, button);
         }
 
@@ -488,26 +515,31 @@ public final class APIComponent {
 
         public void setText(Checkbox checkBox, String text) {
             if (checkBox == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, checkBox);
             checkBox.text = Tools.Text.validString(text);
         }
 
         public void setFontColor(Checkbox checkBox, Color color) {
             if (checkBox == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, checkBox);
             checkBox.fontColor.set(color);
         }
 
         public void check(Checkbox checkBox) {
             if (checkBox == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, checkBox);
             UICommonUtils.checkbox_check(checkBox);
         }
 
         public void unCheck(Checkbox checkBox) {
             if (checkBox == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, checkBox);
             UICommonUtils.checkbox_unCheck(checkBox);
         }
 
         public void setChecked(Checkbox checkBox, boolean checked) {
             if (checkBox == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, checkBox);
             if (checked) {
                 check(checkBox);
             } else {
@@ -517,11 +549,13 @@ public final class APIComponent {
 
         public void setCheckBoxStyle(Checkbox checkBox, CHECKBOX_STYLE checkBoxStyle) {
             if (checkBox == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, checkBox);
             checkBox.checkBoxStyle = checkBoxStyle;
         }
 
         public void setCheckBoxAction(Checkbox checkBox, CheckboxAction checkBoxAction) {
             if (checkBox == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, checkBox);
             checkBox.checkBoxAction = checkBoxAction;
         }
 
@@ -580,24 +614,29 @@ public final class APIComponent {
 
         public void setTabOffset(Tabbar tabBar, int tabOffset) {
             if (tabBar == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, tabBar);
             tabBar.tabOffset = Math.max(tabOffset, 0);
         }
 
         public void setBigIconMode(Tabbar tabBar, boolean bigIconMode) {
             if (tabBar == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, tabBar);
             tabBar.bigIconMode = bigIconMode;
         }
 
         public void setBorder(Tabbar tabBar, boolean border) {
+            UICommonUtils.ui_markDirty(uiEngineState, tabBar);
             tabBar.border = border;
         }
 
         public void setBorderHeight(Tabbar tabBar, int borderHeight) {
+            UICommonUtils.ui_markDirty(uiEngineState, tabBar);
             tabBar.borderHeight = Math.max(borderHeight, 0);
         }
 
         public void setTabBarAction(Tabbar tabBar, TabBarAction tabBarAction) {
             if (tabBar == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, tabBar);
             tabBar.tabBarAction = tabBarAction;
         }
 
@@ -622,21 +661,25 @@ public final class APIComponent {
 
         public void selectTab(Tabbar tabBar, int index) {
             if (tabBar == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, tabBar);
             UICommonUtils.tabBar_selectTab(tabBar, index);
         }
 
         public void selectTab(Tabbar tabBar, Tab tab) {
             if (tabBar == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, tabBar);
             UICommonUtils.tabBar_selectTab(tabBar, tab);
         }
 
         public void addTab(Tabbar tabBar, Tab tab) {
             if (tabBar == null || tab == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, tabBar);
             UICommonUtils.tabBar_addTab(tabBar, tab);
         }
 
         public void addTab(Tabbar tabBar, Tab tab, int index) {
             if (tabBar == null || tab == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, tabBar);
             UICommonUtils.tabBar_addTab(tabBar, tab, index);
         }
 
@@ -647,6 +690,7 @@ public final class APIComponent {
 
         public void removeTab(Tabbar tabBar, Tab tab) {
             if (tabBar == null || tab == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, tabBar);
             UICommonUtils.tabBar_removeTab(tabBar, tab);
         }
 
@@ -734,21 +778,25 @@ public final class APIComponent {
 
             public void setName(Tab tab, String name) {
                 if (tab == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tab);
                 tab.name = Tools.Text.validString(name);
             }
 
             public void setData(Tab tab, Object data) {
                 if (tab == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tab);
                 tab.data = data;
             }
 
             public void addTabComponent(Tab tab, Component component) {
                 if (tab == null || component == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tab);
                 UICommonUtils.tab_addComponent(tab, component);
             }
 
             public void setTabComponents(Tab tab, Component[] components) {
                 if (tab == null || components == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tab);
                 removeAllTabComponents(tab);
                 for (int i = 0; i < components.length; i++) addTabComponent(tab, components[i]);
             }
@@ -760,6 +808,7 @@ public final class APIComponent {
 
             public void removeTabComponent(Tab tab, Component component) {
                 if (tab == null || component == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tab);
                 UICommonUtils.tab_removeComponent(tab, component);
             }
 
@@ -775,21 +824,25 @@ public final class APIComponent {
 
             public void setTitle(Tab tab, String title) {
                 if (tab == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tab);
                 tab.title = Tools.Text.validString(title);
             }
 
             public void setFontColor(Tab tab, Color color) {
                 if (tab == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tab);
                 tab.fontColor.set(color);
             }
 
             public void setTabAction(Tab tab, TabAction tabAction) {
                 if (tab == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tab);
                 tab.tabAction = tabAction;
             }
 
             public void setWidth(Tab tab, int width) {
                 if (tab == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tab);
                 tab.width = Math.max(width, 1);
             }
 
@@ -849,8 +902,9 @@ public final class APIComponent {
         }
 
         public void setDoubleSized(Grid grid, boolean doubleSized) {
+            UICommonUtils.ui_markDirty(uiEngineState, grid);
             grid.bigMode = doubleSized;
-            UICommonUtils.grid_updateSize(grid);
+            UICommonUtils.grid_updateSize(uiEngineState, grid);
         }
 
         public boolean isPositionValid(Grid grid, int x, int y) {
@@ -860,36 +914,43 @@ public final class APIComponent {
 
         public void setDragInEnabled(Grid grid, boolean dragInEnabled) {
             if (grid == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, grid);
             grid.dragInEnabled = dragInEnabled;
         }
 
         public void setDragOutEnabled(Grid grid, boolean dragOutEnabled) {
             if (grid == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, grid);
             grid.dragOutEnabled = dragOutEnabled;
         }
 
         public void setDragEnabled(Grid grid, boolean dragEnabled) {
             if (grid == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, grid);
             grid.dragEnabled = dragEnabled;
         }
 
         public void setGridAction(Grid grid, GridAction gridAction) {
             if (grid == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, grid);
             grid.gridAction = gridAction;
         }
 
         public void setItems(Grid grid, Object[][] items) {
             if (grid == null || items == null) return;
-            UICommonUtils.grid_setItems(grid, items);
+            UICommonUtils.ui_markDirty(uiEngineState, grid);
+            UICommonUtils.grid_setItems(uiEngineState, grid, items);
         }
 
         public void setSelectedItem(Grid grid, Object selectedItem) {
             if (grid == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, grid);
             UICommonUtils.grid_setSelectedItem(grid, selectedItem);
         }
 
         public void setSelectedItems(Grid grid, Object[] selectedItems) {
             if (grid == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, grid);
             UICommonUtils.grid_setSelectedItems(grid, selectedItems);
         }
 
@@ -942,32 +1003,38 @@ public final class APIComponent {
 
         public void setMarkerPosition(Textfield textField, int position) {
             if (textField == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, textField);
             UICommonUtils.textField_setMarkerPosition(uiEngineState, mediaManager, textField, position);
         }
 
         public void setContent(Textfield textField, String content) {
             if (textField == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, textField);
             UICommonUtils.textField_setContent(textField, content);
         }
 
         public void setFontColor(Textfield textField, Color color) {
             if (textField == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, textField);
             textField.fontColor.set(color);
         }
 
         public void setTextFieldAction(Textfield textField, TextFieldAction textFieldAction) {
             if (textField == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, textField);
             textField.textFieldAction = textFieldAction;
             UICommonUtils.textField_setContent(textField, textField.content); // Trigger validation
         }
 
         public void setContentMaxLength(Textfield textField, int contentMaxLength) {
             if (textField == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, textField);
             textField.contentMaxLength = Math.max(contentMaxLength, 0);
         }
 
         public void setAllowedCharacters(Textfield textField, char[] allowedCharacters) {
             if (textField == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, textField);
             textField.allowedCharacters.clear();
             if (allowedCharacters != null) {
                 for (int i = 0; i < allowedCharacters.length; i++)
@@ -977,11 +1044,13 @@ public final class APIComponent {
 
         public void unFocus(Textfield textField) {
             if (textField == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, textField);
             UICommonUtils.textField_unFocus(uiEngineState, textField);
         }
 
         public void focus(Textfield textField) {
             if (textField == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, textField);
             UICommonUtils.textField_focus(uiEngineState, textField);
         }
 
@@ -1017,17 +1086,12 @@ public final class APIComponent {
         public Canvas create(int x, int y, int width, int height, CanvasAction canvasAction, CanvasImage[] canvasImages) {
             Canvas canvas = new Canvas();
             setComponentCommonInitValuesInternal(canvas, x, y, width, height, Color.GRAY, Color.GRAY);
-            canvas.colorMap = new ColorMap();
-            int widthPx = api.TS(width);
-            int heightPx = api.TS(height);
-            canvas.colorMap.width = widthPx;
-            canvas.colorMap.height = heightPx;
-            canvas.colorMap.r = new float[widthPx][heightPx];
-            canvas.colorMap.g = new float[widthPx][heightPx];
-            canvas.colorMap.b = new float[widthPx][heightPx];
-            canvas.colorMap.a = new float[widthPx][heightPx];
+            canvas.colorMap = UICommonUtils.colorMap_create(api.TS(width), api.TS(height));
             canvas.canvasAction = canvasAction != null ? canvasAction : DEFAULT_CANVAS_ACTION;
             canvas.canvasImages = new ArrayList<>();
+            canvas.textureMode = uiConfig.component_canvasDefaultTextureMode;
+            canvas.texture = null;
+            canvas.textureBuffer = null;
             if (canvasImages != null) {
                 for (int i = 0; i < canvasImages.length; i++) {
                     if (canvasImages[i].addedToCanvas == null) {
@@ -1042,9 +1106,21 @@ public final class APIComponent {
 
         public void setCanvasAction(Canvas canvas, CanvasAction canvasAction) {
             if (canvas == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, canvas);
             canvas.canvasAction = canvasAction;
         }
 
+        public void setTextureMode(Canvas canvas, boolean textureMode) {
+            if (canvas == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, canvas);
+            UICommonUtils.canvas_setTextureMode(canvas, textureMode);
+        }
+
+        public boolean isTextureMode(Canvas canvas) {
+            if (canvas == null) return false;
+            return canvas.textureMode;
+        }
+
         public boolean isPointInBounds(Canvas canvas, int x, int y) {
             if (canvas == null) return false;
             return UICommonUtils.colorMap_inBounds(canvas.colorMap, x, y);
@@ -1052,6 +1128,7 @@ public final class APIComponent {
 
         public void addCanvasImage(Canvas canvas, CanvasImage canvasImage) {
             if (canvas == null || canvasImage == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, canvas);
             UICommonUtils.canvas_addCanvasImage(canvas, canvasImage);
         }
 
@@ -1062,6 +1139,7 @@ public final class APIComponent {
 
         public void removeCanvasImage(Canvas canvas, CanvasImage canvasImage) {
             if (canvas == null || canvasImage == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, canvas);
             UICommonUtils.canvas_removeCanvasImage(canvas, canvasImage);
         }
 
@@ -1093,6 +1171,7 @@ public final class APIComponent {
 
         public void point(Canvas canvas, int x, int y, float r, float g, float b, float a) {
             if (canvas == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, canvas);
             UICommonUtils.colorMap_set(canvas.colorMap, x, y, r, g, b, a);
         }
 
@@ -1102,6 +1181,7 @@ public final class APIComponent {
 
         public void clear(Canvas canvas, float r, float g, float b, float a) {
             if (canvas == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, canvas);
             UICommonUtils.colorMap_clear(canvas.colorMap, r, g, b, a);
         }
 
@@ -1109,11 +1189,37 @@ public final class APIComponent {
             clear(canvas, color.r, color.g, color.b, color.a);
         }
 
-        public void copy(Canvas canvas, ColorMap colorMap) {
+        public void fill(Canvas canvas, int x, int y, int width, int height, float r, float g, float b, float a) {
             if (canvas == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, canvas);
+            UICommonUtils.colorMap_fill(canvas.colorMap, x, y, width, height, r, g, b, a);
+        }
+
+        public void fill(Canvas canvas, int x, int y, int width, int height, Color color) {
+            fill(canvas, x, y, width, height, color.r, color.g, color.b, color.a);
+        }
+
+        public void copy(Canvas canvas, ColorMap colorMap) {
+            if (canvas == null || colorMap == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, canvas);
             UICommonUtils.colorMap_copy(colorMap, canvas.colorMap);
         }
 
+        public void blit(Canvas canvas, ColorMap colorMap, int x, int y) {
+            if (colorMap == null) return;
+            blit(canvas, colorMap, 0, 0, x, y, colorMap.width, colorMap.height);
+        }
+
+        public void blit(Canvas canvas, ColorMap colorMap, int srcX, int srcY, int x, int y, int width, int height) {
+            if (canvas == null || colorMap == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, canvas);
+            UICommonUtils.colorMap_blit(colorMap, srcX, srcY, canvas.colorMap, x, y, width, height);
+        }
+
+        public ColorMap createColorMap(int width, int height) {
+            return UICommonUtils.colorMap_create(width, height);
+        }
+
         public Color getPoint(Canvas canvas, int x, int y) {
             if (canvas == null) return null;
             return UICommonUtils.colorMap_getPointAsColor(canvas.colorMap, x, y);
@@ -1178,16 +1284,19 @@ public final class APIComponent {
 
             public void setFadeOut(CanvasImage canvasImage, boolean fadeOut) {
                 if (canvasImage == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, canvasImage);
                 canvasImage.fadeOut = fadeOut;
             }
 
             public void setFadeOutTime(CanvasImage canvasImage, float fadeoutSpeed) {
                 if (canvasImage == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, canvasImage);
                 canvasImage.fadeOutSpeed = Math.max(fadeoutSpeed, 0);
             }
 
             public void setPosition(CanvasImage canvasImage, int x, int y) {
                 if (canvasImage == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, canvasImage);
                 canvasImage.x = x;
                 canvasImage.y = y;
             }
@@ -1199,26 +1308,31 @@ public final class APIComponent {
 
             public void setImage(CanvasImage canvasImage, CMediaSprite image) {
                 if (canvasImage == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, canvasImage);
                 canvasImage.image = image;
             }
 
             public void setColor(CanvasImage canvasImage, Color color) {
                 if (canvasImage == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, canvasImage);
                 canvasImage.color.set(color);
             }
 
             public void setArrayIndex(CanvasImage canvasImage, int arrayIndex) {
                 if (canvasImage == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, canvasImage);
                 canvasImage.arrayIndex = Math.max(arrayIndex, 0);
             }
 
             public void setName(CanvasImage canvasImage, String name) {
                 if (canvasImage == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, canvasImage);
                 canvasImage.name = Tools.Text.validString(name);
             }
 
             public void setData(CanvasImage canvasImage, Object data) {
                 if (canvasImage == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, canvasImage);
                 canvasImage.data = data;
             }
         }
@@ -1255,16 +1369,19 @@ public final class APIComponent {
 
         public void setTurned(Knob knob, float turned) {
             if (knob == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, knob);
             UICommonUtils.knob_turnKnob(knob, turned);
         }
 
         public void setKnobAction(Knob knob, KnobAction knobAction) {
             if (knob == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, knob);
             knob.knobAction = knobAction;
         }
 
         public void setEndless(Knob knob, boolean endless) {
             if (knob == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, knob);
             knob.endless = endless;
         }
 
@@ -1296,16 +1413,19 @@ public final class APIComponent {
 
         public void setTextAction(Text text, TextAction textAction) {
             if (text == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, text);
             text.textAction = textAction;
         }
 
         public void setText(Text textC, String text) {
             if (textC == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, textC);
             UICommonUtils.text_setText(uiEngineState, textC, text);
         }
 
         public void setFontColor(Text text, Color color) {
             if (text == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, text);
             text.fontColor.set(color);
         }
 
@@ -1347,21 +1467,25 @@ public final class APIComponent {
 
         public void setImageAction(Image image, ImageAction imageAction) {
             if (image == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, image);
             image.imageAction = imageAction;
         }
 
         public void setArrayIndex(Image image, int arrayIndex) {
             if (image == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, image);
             image.arrayIndex = Math.max(arrayIndex, 0);
         }
 
         public void setImage(Image image, CMediaSprite imageSprite) {
             if (image == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, image);
             UICommonUtils.image_setImage(uiEngineState, mediaManager, image, imageSprite);
         }
 
         public void setFlipXY(Image image, boolean flipX, boolean flipY) {
             if (image == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, image);
             image.flipX = flipX;
             image.flipY = flipY;
         }
@@ -1413,16 +1537,19 @@ public final class APIComponent {
 
         public void setComboBoxAction(Combobox comboBox, ComboBoxAction comboBoxAction) {
             if (comboBox == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, comboBox);
             comboBox.comboBoxAction = comboBoxAction;
         }
 
         public void setUseIcons(Combobox comboBox, boolean useIcons) {
             if (comboBox == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, comboBox);
             comboBox.useIcons = useIcons;
         }
 
         public void addComboBoxItem(Combobox comboBox, ComboboxItem comboBoxItem) {
             if (comboBox == null || comboBoxItem == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, comboBox);
             UICommonUtils.comboBox_addItem(comboBox, comboBoxItem);
         }
 
@@ -1433,6 +1560,7 @@ public final class APIComponent {
 
         public void removeComboBoxItem(Combobox comboBox, ComboboxItem comboBoxItem) {
             if (comboBox == null || comboBoxItem == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, comboBox);
             UICommonUtils.comboBox_removeItem(comboBox, comboBoxItem);
         }
 
@@ -1458,16 +1586,19 @@ public final class APIComponent {
 
         public void setSelectedItem(ComboboxItem selectItem) {
             if (selectItem == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, selectItem);
             UICommonUtils.comboBox_selectItem(uiEngineState, selectItem);
         }
 
         public void open(Combobox comboBox) {
             if (comboBox == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, comboBox);
             UICommonUtils.comboBox_open(uiEngineState, comboBox);
         }
 
         public void close(Combobox comboBox) {
             if (comboBox == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, comboBox);
             UICommonUtils.comboBox_close(uiEngineState, comboBox);
         }
 
@@ -1477,6 +1608,7 @@ public final class APIComponent {
 
         public void setSelectedItemByText(Combobox comboBox, String text) {
             if (comboBox == null || text == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, comboBox);
             for (int i = 0; i < comboBox.items.size(); i++) {
                 if (comboBox.items.get(i).text.equals(text)) {
                     UICommonUtils.comboBox_selectItem(uiEngineState, comboBox.items.get(i));
@@ -1513,26 +1645,31 @@ public final class APIComponent {
 
             public void setName(ComboboxItem comboBoxItem, String name) {
                 if (comboBoxItem == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, comboBoxItem);
                 comboBoxItem.name = Tools.Text.validString(name);
             }
 
             public void setData(ComboboxItem comboBoxItem, Object data) {
                 if (comboBoxItem == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, comboBoxItem);
                 comboBoxItem.data = data;
             }
 
             public void setFontColor(ComboboxItem comboBoxItem, Color color) {
                 if (comboBoxItem == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, comboBoxItem);
                 comboBoxItem.fontColor.set(color);
             }
 
             public void setComboBoxItemAction(ComboboxItem comboBoxItem, ComboBoxItemAction comboBoxItemAction) {
                 if (comboBoxItem == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, comboBoxItem);
                 comboBoxItem.comboBoxItemAction = comboBoxItemAction;
             }
 
             public void setText(ComboboxItem comboBoxItem, String text) {
                 if (comboBoxItem == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, comboBoxItem);
                 comboBoxItem.text = Tools.Text.validString(text);
             }
 
@@ -1605,11 +1742,13 @@ public final class APIComponent {
 
         public void setScrolled(net.mslivo.core.engine.ui_engine.ui.components.scrollbar.Scrollbar scrollBar, float scrolled) {
             if (scrollBar == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, scrollBar);
             UICommonUtils.scrollBar_scroll(scrollBar, scrolled);
         }
 
         public void setScrollBarAction(net.mslivo.core.engine.ui_engine.ui.components.scrollbar.Scrollbar scrollBar, ScrollBarAction scrollBarAction) {
             if (scrollBar == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, scrollBar);
             scrollBar.scrollBarAction = scrollBarAction;
         }
 
@@ -1665,46 +1804,55 @@ public final class APIComponent {
 
         public void setDragInEnabled(List list, boolean dragInEnabled) {
             if (list == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, list);
             list.dragInEnabled = dragInEnabled;
         }
 
         public void setDragOutEnabled(List list, boolean dragOutEnabled) {
             if (list == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, list);
             list.dragOutEnabled = dragOutEnabled;
         }
 
         public void setDragEnabled(List list, boolean dragEnabled) {
             if (list == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, list);
             list.dragEnabled = dragEnabled;
         }
 
         public void setItems(List list, ArrayList items) {
             if (list == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, list);
             list.items = items;
         }
 
         public void setScrolled(List list, float scrolled) {
             if (list == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, list);
             UICommonUtils.list_scroll(list, scrolled);
         }
 
         public void setListAction(List list, ListAction listAction) {
             if (list == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, list);
             list.listAction = listAction;
         }
 
         public void setFontColor(List list, Color color) {
             if (list == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, list);
             list.fontColor.set(color);
         }
 
         public void setMultiSelect(List list, boolean multiSelect) {
             if (list == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, list);
             UICommonUtils.list_setMultiSelect(list, multiSelect);
         }
 
         public void setSelectedItemByText(List list, String text) {
             if (list == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, list);
             for (int i = 0; i < list.items.size(); i++) {
                 if (list.listAction.text(list.items.get(i)).equals(text)) {
                     UICommonUtils.list_setSelectedItem(list, list.items.get(i));
@@ -1715,11 +1863,13 @@ public final class APIComponent {
 
         public void setSelectedItem(List list, Object selectedItem) {
             if (list == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, list);
             UICommonUtils.list_setSelectedItem(list, selectedItem);
         }
 
         public void setSelectedItems(List list, Object[] selectedItems) {
             if (list == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, list);
             UICommonUtils.list_setSelectedItems(list, selectedItems);
         }
 
@@ -1727,13 +1877,16 @@ public final class APIComponent {
 
     public void setToolTip(Component component, Tooltip tooltip) {
         if (component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         component.toolTip = tooltip;
     }
 
     public void setPosition(Component component, int x, int y) {
         if (component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         component.x = x;
         component.y = y;
+        UICommonUtils.componentIndex_invalidate(uiEngineState, component);
     }
 
     public void setPositionGrid(Component component, int x, int y) {
@@ -1773,6 +1926,7 @@ public final class APIComponent {
 
     public void setDisabled(Component component, boolean disabled) {
         if (component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         UICommonUtils.component_setDisabled(uiEngineState, component, disabled);
     }
 
@@ -1783,7 +1937,12 @@ public final class APIComponent {
 
     public void addUpdateAction(Component component, UpdateAction updateAction) {
         if (component == null || updateAction == null) return;
+        if (updateAction.addedTo != null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
+        updateAction.addedTo = component;
         component.updateActions.add(updateAction);
+        if (UICommonUtils.component_isOnScreen(component))
+            UICommonUtils.updateActionWheel_schedule(uiEngineState, updateAction);
     }
 
     public void addUpdateActions(Component component, UpdateAction[] updateActions) {
@@ -1793,7 +1952,11 @@ public final class APIComponent {
 
     public void removeUpdateAction(Component component, UpdateAction updateAction) {
         if (component == null || updateAction == null) return;
-        component.updateActions.remove(updateAction);
+        UICommonUtils.ui_markDirty(uiEngineState, component);
+        if (component.updateActions.remove(updateAction)) {
+            updateAction.addedTo = null;
+            UICommonUtils.updateActionWheel_unschedule(uiEngineState, updateAction);
+        }
     }
 
     public void removeUpdateActions(Component component, UpdateAction[] updateActions) {
@@ -1808,21 +1971,25 @@ public final class APIComponent {
 
     public void setName(Component component, String name) {
         if (component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         component.name = Tools.Text.validString(name);
     }
 
     public void setCustomData(Component component, Object customData) {
         if (component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         component.data = customData;
     }
 
     public void setSize(Component component, int width, int height) {
         if (component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         UICommonUtils.component_setSize(uiEngineState, component, width, height);
     }
 
     public void setDimensionsGrid(Component component, int x, int y, int width, int height) {
         if (component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         setPositionGrid(component, x, y);
         setSize(component, width, height);
     }
@@ -1834,6 +2001,7 @@ public final class APIComponent {
 
     public void setColor(Component component, Color color) {
         if (component == null || color == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         component.color.set(color);
     }
 
@@ -1844,11 +2012,13 @@ public final class APIComponent {
 
     public void setColor2(Component component, Color color) {
         if (component == null || color == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         component.color2.set(color);
     }
 
     public void setColor1And2(Component component, Color color1, Color color2) {
         if (component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         setColor(component, color1);
         setColor2(component, color2);
     }
@@ -1863,6 +2033,7 @@ public final class APIComponent {
 
     public void setAlpha(Component component, float alpha) {
         if (component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         component.color.set(component.color.r, component.color.g, component.color.b, alpha);
     }
 
@@ -1873,6 +2044,7 @@ public final class APIComponent {
 
     public void setVisible(Component component, boolean visible) {
         if (component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         component.visible = visible;
     }
 
@@ -1913,6 +2085,7 @@ public final class APIComponent {
 
     public void forceToolTipUpdate(Component component) {
         if (component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, component);
         component.updateToolTip = true;
     }
 
@@ -28,6 +28,7 @@ import net.mslivo.core.engine.ui_engine.ui.components.checkbox.Checkbox;
 import net.mslivo.core.engine.ui_engine.ui.components.grid.Grid;
 import net.mslivo.core.engine.ui_engine.ui.components.image.Image;
 import net.mslivo.core.engine.ui_engine.ui.components.list.List;
+import net.mslivo.core.engine.ui_engine.ui.components.list.ListSearchIndex;
 import net.mslivo.core.engine.ui_engine.ui.components.scrollbar.ScrollbarVertical;
 import net.mslivo.core.engine.ui_engine.ui.components.tabbar.Tab;
 import net.mslivo.core.engine.ui_engine.ui.components.tabbar.Tabbar;
@@ -36,13 +37,14 @@ import net.mslivo.core.engine.ui_engine.ui.components.textfield.Textfield;
 import net.mslivo.core.engine.ui_engine.ui.contextmenu.Contextmenu;
 import net.mslivo.core.engine.ui_engine.ui.contextmenu.ContextMenuItem;
 import net.mslivo.core.engine.ui_engine.ui.tooltip.Tooltip;
-import net.mslivo.core.engine.ui_engine.ui.tooltip.TooltipTextSegment;
 
 import java.awt.*;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.DoubleConsumer;
@@ -333,9 +335,16 @@ public final class APIComposites {
         }
 
         public Textfield createSearchBar(List list, ScrollbarVertical scrollBarVertical, boolean searchTooltips, boolean searchArrayLists) {
+            return createSearchBar(list, scrollBarVertical, searchTooltips, searchArrayLists, false);
+        }
+
+        /**
+         * Items are searched through a ListSearchIndex which is rebuilt when items of the original list (or nested lists) are added, removed or replaced, see invalidateSearchBar.
+         * searchAsync runs searches on the common ForkJoinPool, results are applied on the next update.
+         */
+        public Textfield createSearchBar(List list, ScrollbarVertical scrollBarVertical, boolean searchTooltips, boolean searchArrayLists, boolean searchAsync) {
             if (list == null) return null;
             ArrayList originalList = list.items;
-            ArrayList itemsSearched = new ArrayList(list.items);
             api.component.setSize(list, list.width, list.height - 1);
             api.component.setPosition(list, list.x, list.y + 1);
             if (scrollBarVertical != null) {
@@ -343,27 +352,81 @@ public final class APIComposites {
                 api.component.setPosition(scrollBarVertical, scrollBarVertical.x, scrollBarVertical.y + 1);
             }
             Textfield textField = api.component.textfield.create(list.x, list.y - 1, list.width + 1, "");
-            api.component.textfield.setTextFieldAction(textField, new TextFieldAction() {
+            SearchBarAction searchBarAction = new SearchBarAction(list, originalList, new ListSearchIndex(list, originalList, searchTooltips, searchArrayLists), searchAsync);
+            api.component.textfield.setTextFieldAction(textField, searchBarAction);
+            if (searchAsync) {
+                api.component.addUpdateAction(textField, new UpdateAction() {
+                    @Override
+                    public void onUpdate() {
+                        searchBarAction.applyAsyncResult();
+                    }
+                });
+            }
+
+            return textField;
+        }
 
+        /**
+         * Rebuilds the index of a search bar after the texts of items in the original list changed while the items stayed the same, and searches again.
+         */
+        public void invalidateSearchBar(Textfield searchBar) {
+            if (searchBar == null || !(searchBar.textFieldAction instanceof SearchBarAction searchBarAction)) return;
+            searchBarAction.searchIndex.invalidate();
+            searchBarAction.onContentChange(searchBar.content, searchBar.contentValid);
+        }
 
-                @Override
-                public void onContentChange(String searchText, boolean valid) {
-                    if (valid) {
+        private record SearchBarResult(int generation, ArrayList items) {
+        }
 
-                        if (searchText.trim().isEmpty()) {
-                            api.component.list.setItems(list, originalList);
-                        } else {
-                            itemsSearched.clear();
-                            searchBarSearchItemsInternal(list, originalList, itemsSearched, searchText, searchTooltips, searchArrayLists);
-                            api.component.list.setItems(list, itemsSearched);
-                        }
+        private final class SearchBarAction implements TextFieldAction {
+            private final List list;
+            private final ArrayList originalList;
+            private final ListSearchIndex searchIndex;
+            private final boolean searchAsync;
+            private final ArrayList itemsSearched;
+            private final AtomicInteger generation;
+            private final AtomicReference<SearchBarResult> asyncResult;
+
+            private SearchBarAction(List list, ArrayList originalList, ListSearchIndex searchIndex, boolean searchAsync) {
+                this.list = list;
+                this.originalList = originalList;
+                this.searchIndex = searchIndex;
+                this.searchAsync = searchAsync;
+                this.itemsSearched = new ArrayList(originalList);
+                this.generation = new AtomicInteger(0);
+                this.asyncResult = new AtomicReference<>(null);
+            }
 
+            @Override
+            public void onContentChange(String searchText, boolean valid) {
+                if (!valid) return;
+                final int searchGeneration = generation.incrementAndGet();
 
-                    }
+                if (searchText.trim().isEmpty()) {
+                    api.component.list.setItems(list, originalList);
+                    return;
                 }
-            });
 
-            return textField;
+                // Item texts are only read on the UI thread
+                searchIndex.update();
+                if (searchAsync) {
+                    ForkJoinPool.commonPool().execute(() -> {
+                        if (generation.get() != searchGeneration) return;
+                        ArrayList result = new ArrayList();
+                        searchIndex.search(searchText, result);
+                        asyncResult.set(new SearchBarResult(searchGeneration, result));
+                    });
+                } else {
+                    searchIndex.search(searchText, itemsSearched);
+                    api.component.list.setItems(list, itemsSearched);
+                }
+            }
+
+            private void applyAsyncResult() {
+                SearchBarResult result = asyncResult.getAndSet(null);
+                if (result == null || result.generation() != generation.get()) return;
+                api.component.list.setItems(list, result.items());
+            }
         }
 
         public ScrollbarVertical createScrollBar(List list) {
@@ -385,39 +448,15 @@ public final class APIComposites {
                         scrolledLast = list.scrolled;
                     }
                     // disable scrollbar
-                    if (list.items != null && list.items.size() <= list.height) {
-                        api.component.setDisabled(scrollBarVertical, true);
-                        api.component.scrollbar.setScrolled(scrollBarVertical, 1f);
-                    } else {
-                        api.component.setDisabled(scrollBarVertical, false);
+                    boolean disabled = list.items != null && list.items.size() <= list.height;
+                    if (disabled != scrollBarVertical.disabled) {
+                        api.component.setDisabled(scrollBarVertical, disabled);
+                        if (disabled) api.component.scrollbar.setScrolled(scrollBarVertical, 1f);
                     }
                 }
             });
             return scrollBarVertical;
         }
-
-
-        private void searchBarSearchItemsInternal(List list, ArrayList searchList, ArrayList resultList, String searchText, boolean searchTooltips, boolean searchArrayLists) {
-            for (int i = 0; i < searchList.size(); i++) {
-                Object item = searchList.get(i);
-                if (searchArrayLists && item instanceof ArrayList itemList) {
-                    searchBarSearchItemsInternal(list, itemList, resultList, searchText, searchTooltips, searchArrayLists);
-                } else if (list.listAction.text(item).trim().toLowerCase().contains(searchText.trim().toLowerCase())) {
-                    resultList.add(item);
-                } else if (searchTooltips) {
-                    Tooltip tooltip = list.listAction.toolTip(item);
-                    if (tooltip != null) {
-                        linesLoop:
-                        for (int i2 = 0; i2 < tooltip.segments.size(); i2++) {
-                            if (tooltip.segments.get(i2) instanceof TooltipTextSegment textSegment && textSegment.text.trim().toLowerCase().contains(searchText.trim().toLowerCase())) {
-                                resultList.add(item);
-                                break linesLoop;
-                            }
-                        }
-                    }
-                }
-            }
-        }
     }
 
     public final class APICompositeImage {
@@ -607,16 +646,21 @@ public final class APIComposites {
                 }
             });
             api.component.addUpdateAction(hlText, new UpdateAction(0) {
+                Boolean hoverLast = null;
+
                 @Override
                 public void onUpdate() {
-                    if (Tools.Calc.pointRectsCollide(
+                    boolean hover = Tools.Calc.pointRectsCollide(
                             api.input.mouse.state.xUI(),
                             api.input.mouse.state.yUI(),
                             api.component.absoluteX(hlText),
                             api.component.absoluteY(hlText),
                             hlText.width * api.TS(),
                             hlText.height * api.TS()
-                    )) {
+                    );
+                    if (hoverLast != null && hoverLast == hover) return;
+                    hoverLast = hover;
+                    if (hover) {
                         api.component.text.setFontColor(hlText, fontColorHover);
                         api.component.text.setText(hlText, textHover);
                     } else {
@@ -46,6 +46,7 @@ public final class APIConfig {
         }
 
         public void setCursor(CMediaSprite ui_cursor) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.ui_cursor = ui_cursor;
         }
 
@@ -54,6 +55,7 @@ public final class APIConfig {
         }
 
         public void setKeyInteractionsDisabled(boolean ui_keyInteractionsDisabled) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.ui_keyInteractionsDisabled = ui_keyInteractionsDisabled;
         }
 
@@ -62,6 +64,7 @@ public final class APIConfig {
         }
 
         public void setMouseInteractionsDisabled(boolean ui_mouseInteractionsDisabled) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.ui_mouseInteractionsDisabled = ui_mouseInteractionsDisabled;
         }
 
@@ -70,18 +73,30 @@ public final class APIConfig {
         }
 
         public void setFoldWindowsOnDoubleClick(boolean ui_foldWindowsOnDoubleClick) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.ui_foldWindowsOnDoubleClick = ui_foldWindowsOnDoubleClick;
         }
 
+        public boolean isLayerCaching() {
+            return uiConfig.ui_layerCaching;
+        }
+
+        public void setLayerCaching(boolean ui_layerCaching) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
+            uiConfig.ui_layerCaching = ui_layerCaching;
+        }
+
         public UIConfig.AnimationTimerFunction getAnimationTimerFunction() {
             return uiConfig.ui_animationTimerFunction;
         }
 
         public void setAnimationTimerFunction(UIConfig.AnimationTimerFunction ui_animationTimerFunction) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.ui_animationTimerFunction = ui_animationTimerFunction;
         }
 
         public void setFont(CMediaFont cMediaFont){
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.ui_font = cMediaFont;
         }
 
@@ -90,6 +105,7 @@ public final class APIConfig {
         }
 
         public void setFontDefaultColor(Color color){
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.ui_font_defaultColor.set(color);
         }
 
@@ -108,6 +124,7 @@ public final class APIConfig {
         }
 
         public void setEmulatedMouseCursorSpeed(float input_emulatedMouseCursorSpeed) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_emulatedMouseCursorSpeed = input_emulatedMouseCursorSpeed;
         }
 
@@ -116,6 +133,7 @@ public final class APIConfig {
         }
 
         public void setHardwareMouseEnabled(boolean input_hardwareMouseEnabled) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_hardwareMouseEnabled = input_hardwareMouseEnabled;
         }
 
@@ -124,6 +142,7 @@ public final class APIConfig {
         }
 
         public void setKeyboardMouseEnabled(boolean input_keyboardMouseEnabled) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_keyboardMouseEnabled = input_keyboardMouseEnabled;
         }
 
@@ -132,6 +151,7 @@ public final class APIConfig {
         }
 
         public void setKeyboardMouseButtonsUp(int[] input_keyboardMouseButtonsUp) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_keyboardMouseButtonsUp = input_keyboardMouseButtonsUp;
         }
 
@@ -140,6 +160,7 @@ public final class APIConfig {
         }
 
         public void setKeyboardMouseButtonsDown(int[] input_keyboardMouseButtonsDown) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_keyboardMouseButtonsDown = input_keyboardMouseButtonsDown;
         }
 
@@ -148,6 +169,7 @@ public final class APIConfig {
         }
 
         public void setKeyboardMouseButtonsLeft(int[] input_keyboardMouseButtonsLeft) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_keyboardMouseButtonsLeft = input_keyboardMouseButtonsLeft;
         }
 
@@ -156,6 +178,7 @@ public final class APIConfig {
         }
 
         public void setKeyboardMouseButtonsRight(int[] input_keyboardMouseButtonsRight) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_keyboardMouseButtonsRight = input_keyboardMouseButtonsRight;
         }
 
@@ -164,6 +187,7 @@ public final class APIConfig {
         }
 
         public void setKeyboardMouseButtonsMouse1(int[] input_keyboardMouseButtonsMouse1) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_keyboardMouseButtonsMouse1 = input_keyboardMouseButtonsMouse1;
         }
 
@@ -172,6 +196,7 @@ public final class APIConfig {
         }
 
         public void setKeyboardMouseButtonsMouse2(int[] input_keyboardMouseButtonsMouse2) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_keyboardMouseButtonsMouse2 = input_keyboardMouseButtonsMouse2;
         }
 
@@ -180,6 +205,7 @@ public final class APIConfig {
         }
 
         public void setKeyboardMouseButtonsMouse3(int[] input_keyboardMouseButtonsMouse3) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_keyboardMouseButtonsMouse3 = input_keyboardMouseButtonsMouse3;
         }
 
@@ -188,6 +214,7 @@ public final class APIConfig {
         }
 
         public void setKeyboardMouseButtonsMouse4(int[] input_keyboardMouseButtonsMouse4) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_keyboardMouseButtonsMouse4 = input_keyboardMouseButtonsMouse4;
         }
 
@@ -196,6 +223,7 @@ public final class APIConfig {
         }
 
         public void setKeyboardMouseButtonsMouse5(int[] input_keyboardMouseButtonsMouse5) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_keyboardMouseButtonsMouse5 = input_keyboardMouseButtonsMouse5;
         }
 
@@ -204,6 +232,7 @@ public final class APIConfig {
         }
 
         public void setKeyboardMouseButtonsScrollUp(int[] input_keyboardMouseButtonsScrollUp) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_keyboardMouseButtonsScrollUp = input_keyboardMouseButtonsScrollUp;
         }
 
@@ -212,6 +241,7 @@ public final class APIConfig {
         }
 
         public void setKeyboardMouseButtonsScrollDown(int[] input_keyboardMouseButtonsScrollDown) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_keyboardMouseButtonsScrollDown = input_keyboardMouseButtonsScrollDown;
         }
 
@@ -220,6 +250,7 @@ public final class APIConfig {
         }
 
         public void setGamePadMouseEnabled(boolean input_gamePadMouseEnabled) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_gamePadMouseEnabled = input_gamePadMouseEnabled;
         }
 
@@ -228,6 +259,7 @@ public final class APIConfig {
         }
 
         public void setGamePadMouseJoystickDeadZone(float input_gamePadMouseJoystickDeadZone) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_gamePadMouseJoystickDeadZone = input_gamePadMouseJoystickDeadZone;
         }
 
@@ -236,6 +268,7 @@ public final class APIConfig {
         }
 
         public void setGamePadMouseStickLeftEnabled(boolean input_gamePadMouseStickLeftEnabled) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_gamePadMouseStickLeftEnabled = input_gamePadMouseStickLeftEnabled;
         }
 
@@ -244,6 +277,7 @@ public final class APIConfig {
         }
 
         public void setGamePadMouseStickRightEnabled(boolean input_gamePadMouseStickRightEnabled) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_gamePadMouseStickRightEnabled = input_gamePadMouseStickRightEnabled;
         }
 
@@ -252,6 +286,7 @@ public final class APIConfig {
         }
 
         public void setGamePadMouseButtonsMouse1(int[] input_gamePadMouseButtonsMouse1) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_gamePadMouseButtonsMouse1 = input_gamePadMouseButtonsMouse1;
         }
 
@@ -260,6 +295,7 @@ public final class APIConfig {
         }
 
         public void setGamePadMouseButtonsMouse2(int[] input_gamePadMouseButtonsMouse2) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_gamePadMouseButtonsMouse2 = input_gamePadMouseButtonsMouse2;
         }
 
@@ -268,6 +304,7 @@ public final class APIConfig {
         }
 
         public void setGamePadMouseButtonsMouse3(int[] input_gamePadMouseButtonsMouse3) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_gamePadMouseButtonsMouse3 = input_gamePadMouseButtonsMouse3;
         }
 
@@ -276,6 +313,7 @@ public final class APIConfig {
         }
 
         public void setGamePadMouseButtonsMouse4(int[] input_gamePadMouseButtonsMouse4) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_gamePadMouseButtonsMouse4 = input_gamePadMouseButtonsMouse4;
         }
 
@@ -284,6 +322,7 @@ public final class APIConfig {
         }
 
         public void setGamePadMouseButtonsMouse5(int[] input_gamePadMouseButtonsMouse5) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_gamePadMouseButtonsMouse5 = input_gamePadMouseButtonsMouse5;
         }
 
@@ -292,6 +331,7 @@ public final class APIConfig {
         }
 
         public void setGamePadMouseButtonsScrollUp(int[] input_gamePadMouseButtonsScrollUp) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_gamePadMouseButtonsScrollUp = input_gamePadMouseButtonsScrollUp;
         }
 
@@ -300,6 +340,7 @@ public final class APIConfig {
         }
 
         public void setGamePadMouseButtonsScrollDown(int[] input_gamePadMouseButtonsScrollDown) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.input_gamePadMouseButtonsScrollDown = input_gamePadMouseButtonsScrollDown;
         }
     }
@@ -313,14 +354,24 @@ public final class APIConfig {
         }
 
         public void setDefaultEnforceScreenBounds(boolean windows_defaultEnforceScreenBounds) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.window_defaultEnforceScreenBounds = windows_defaultEnforceScreenBounds;
         }
 
+        public boolean isDefaultCached() {
+            return uiConfig.window_defaultCached;
+        }
+
+        public void setDefaultCached(boolean window_defaultCached) {
+            uiConfig.window_defaultCached = window_defaultCached;
+        }
+
         public Color getDefaultColor() {
             return uiConfig.window_defaultColor;
         }
 
         public void setDefaultColor(Color windows_defaultColor) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.window_defaultColor = windows_defaultColor;
         }
 
@@ -334,6 +385,7 @@ public final class APIConfig {
         }
 
         public void setDefaultColor(Color components_defaultColor) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.component_defaultColor = components_defaultColor.cpy();
         }
 
@@ -342,6 +394,7 @@ public final class APIConfig {
         }
 
         public void setAppViewportDefaultUpdateTime(int appViewport_defaultUpdateTime) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.component_appViewportDefaultUpdateTime = appViewport_defaultUpdateTime;
         }
 
@@ -350,6 +403,7 @@ public final class APIConfig {
         }
 
         public void setListDragAlpha(float list_dragAlpha) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.component_listDragAlpha = list_dragAlpha;
         }
 
@@ -358,6 +412,7 @@ public final class APIConfig {
         }
 
         public void setGridDragAlpha(float grid_dragAlpha) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.component_gridDragAlpha = grid_dragAlpha;
         }
 
@@ -366,6 +421,7 @@ public final class APIConfig {
         }
 
         public void setKnobSensitivity(float knob_sensitivity) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.component_knobSensitivity = knob_sensitivity;
         }
 
@@ -374,6 +430,7 @@ public final class APIConfig {
         }
 
         public void setScrollbarSensitivity(float scrollbar_sensitivity) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.component_scrollbarSensitivity = scrollbar_sensitivity;
         }
 
@@ -382,14 +439,25 @@ public final class APIConfig {
         }
 
         public void setMapOverlayDefaultFadeoutSpeed(float mapOverlayDefaultFadeoutSpeed) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.component_mapOverlayDefaultFadeoutSpeed = mapOverlayDefaultFadeoutSpeed;
         }
 
+        public boolean isCanvasDefaultTextureMode() {
+            return uiConfig.component_canvasDefaultTextureMode;
+        }
+
+        public void setCanvasDefaultTextureMode(boolean canvasDefaultTextureMode) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
+            uiConfig.component_canvasDefaultTextureMode = canvasDefaultTextureMode;
+        }
+
         public char[] getTextfieldDefaultAllowedCharacters() {
             return uiConfig.component_textFieldDefaultAllowedCharacters;
         }
 
         public void setTextfieldDefaultAllowedCharacters(char[] textField_defaultAllowedCharacters) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.component_textFieldDefaultAllowedCharacters = textField_defaultAllowedCharacters;
         }
 
@@ -404,6 +472,7 @@ public final class APIConfig {
         }
 
         public void setMax(int notifications_max) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.notification_max = notifications_max;
         }
 
@@ -412,6 +481,7 @@ public final class APIConfig {
         }
 
         public void setDefaultDisplayTime(int notifications_defaultDisplayTime) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.notification_defaultDisplayTime = notifications_defaultDisplayTime;
         }
 
@@ -420,6 +490,7 @@ public final class APIConfig {
         }
 
         public void setDefaultColor(Color notifications_defaultColor) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.notification_defaultColor = notifications_defaultColor.cpy();
         }
 
@@ -428,6 +499,7 @@ public final class APIConfig {
         }
 
         public void setFadeoutTime(int notifications_fadeoutTime) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.notification_fadeoutTime = Math.max(notifications_fadeoutTime,0);
         }
 
@@ -436,6 +508,7 @@ public final class APIConfig {
         }
 
         public void setScrollSpeed(float notifications_scrollSpeed) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.notification_scrollSpeed = notifications_scrollSpeed;
         }
     }
@@ -450,6 +523,7 @@ public final class APIConfig {
         }
 
         public void setDefaultCellColor(Color tooltip_defaultColor) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.tooltip_defaultCellColor = tooltip_defaultColor.cpy();
         }
 
@@ -458,6 +532,7 @@ public final class APIConfig {
         }
 
         public void setFadeInSpeed(float fadeInSpeed) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.tooltip_FadeInSpeed = fadeInSpeed;
         }
 
@@ -466,6 +541,7 @@ public final class APIConfig {
         }
 
         public void setFadeInDelay(int fadeInDelay) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.tooltip_FadeInDelay = fadeInDelay;
         }
 
@@ -474,6 +550,7 @@ public final class APIConfig {
         }
 
         public void setFadeOutSpeed(float fadeOutSpeed) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.tooltip_FadeOutSpeed = fadeOutSpeed;
         }
     }
@@ -488,6 +565,7 @@ public final class APIConfig {
         }
 
         public void setDefaultColor(Color tooltip_defaultColor) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.contextMenu_defaultColor = tooltip_defaultColor.cpy();
         }
 
@@ -504,6 +582,7 @@ public final class APIConfig {
         }
 
         public void setDefaultLowerCaseCharacters(char[] mouseTextInput_defaultLowerCaseCharacters) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.mouseTextInput_defaultLowerCaseCharacters = mouseTextInput_defaultLowerCaseCharacters;
         }
 
@@ -512,6 +591,7 @@ public final class APIConfig {
         }
 
         public void setDefaultUpperCaseCharacters(char[] mouseTextInput_defaultUpperCaseCharacters) {
+            UICommonUtils.ui_markAllDirty(uiEngineState);
             uiConfig.mouseTextInput_defaultUpperCaseCharacters = mouseTextInput_defaultUpperCaseCharacters;
         }
     }
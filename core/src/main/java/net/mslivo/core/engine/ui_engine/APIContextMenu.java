@@ -51,16 +51,19 @@ public final class APIContextMenu {
 
     public void setContextMenuAction(Contextmenu contextMenu, ContextMenuAction contextMenuAction) {
         if (contextMenu == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, contextMenu);
         contextMenu.contextMenuAction = contextMenuAction;
     }
 
     public void setColor(Contextmenu contextMenu, Color color) {
         if (contextMenu == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, contextMenu);
         contextMenu.color.set(color);
     }
 
     public void addContextMenuItem(Contextmenu contextMenu, ContextMenuItem contextMenuItem) {
         if (contextMenu == null || contextMenuItem == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, contextMenu);
         UICommonUtils.contextMenu_addItem(contextMenu, contextMenuItem);
     }
 
@@ -71,11 +74,13 @@ public final class APIContextMenu {
 
     public void removeContextMenuItem(Contextmenu contextMenu, ContextMenuItem contextMenuItem) {
         if (contextMenu == null || contextMenuItem == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, contextMenu);
         UICommonUtils.contextMenu_removeItem(contextMenu, contextMenuItem);
     }
 
     public void removeContextMenuItems(Contextmenu contextMenu, ContextMenuItem[] contextMenuItems) {
         if (contextMenu == null || contextMenuItems == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, contextMenu);
         for (int i = 0; i < contextMenuItems.length; i++)
             removeContextMenuItem(contextMenu, contextMenuItems[i]);
     }
@@ -124,33 +129,39 @@ public final class APIContextMenu {
 
         public void setName(ContextMenuItem contextMenuItem, String name) {
             if (contextMenuItem == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, contextMenuItem);
             contextMenuItem.name = Tools.Text.validString(name);
 
         }
 
         public void setData(ContextMenuItem contextMenuItem, Object data) {
             if (contextMenuItem == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, contextMenuItem);
             contextMenuItem.data = data;
         }
 
 
         public void setFontColor(ContextMenuItem contextMenuItem, Color color) {
             if (contextMenuItem == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, contextMenuItem);
             contextMenuItem.fontColor.set(color);
         }
 
         public void setContextMenuItemAction(ContextMenuItem contextMenuItem, ContextMenuItemAction contextMenuItemAction) {
             if (contextMenuItem == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, contextMenuItem);
             contextMenuItem.contextMenuItemAction = contextMenuItemAction;
         }
 
         public void setText(ContextMenuItem contextMenuItem, String text) {
             if (contextMenuItem == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, contextMenuItem);
             contextMenuItem.text = Tools.Text.validString(text);
         }
 
         public void selectItem(ContextMenuItem contextMenuItem) {
             if (contextMenuItem == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, contextMenuItem);
             UICommonUtils.contextMenu_selectItem(uiEngineState, contextMenuItem);
         }
 
@@ -0,0 +1,84 @@
+package net.mslivo.core.engine.ui_engine;
+
+import net.mslivo.core.engine.media_manager.MediaManager;
+import net.mslivo.core.engine.ui_engine.constants.FRAME_PHASE;
+import net.mslivo.core.engine.ui_engine.profiler.FrameProfiler;
+import net.mslivo.core.engine.ui_engine.state.UIEngineState;
+import net.mslivo.core.engine.ui_engine.state.config.UIConfig;
+
+/**
+ * Phase timings of UIEngine.update/render in nanoseconds, disabled by default.
+ */
+public final class APIFrameProfiler {
+    private final API api;
+    private final UIEngineState uiEngineState;
+    private final UIConfig uiConfig;
+    private final MediaManager mediaManager;
+    private final FrameProfiler frameProfiler;
+
+    APIFrameProfiler(API api, UIEngineState uiEngineState, MediaManager mediaManager) {
+        this.api = api;
+        this.uiEngineState = uiEngineState;
+        this.uiConfig = uiEngineState.config;
+        this.mediaManager = mediaManager;
+        this.frameProfiler = uiEngineState.frameProfiler;
+    }
+
+    public boolean isEnabled() {
+        return frameProfiler.isEnabled();
+    }
+
+    public void setEnabled(boolean enabled) {
+        frameProfiler.setEnabled(enabled);
+    }
+
+    public boolean isJfrEvents() {
+        return frameProfiler.isJfrEvents();
+    }
+
+    /**
+     * Commits every phase as "net.mslivo.FramePhase" JFR event while a recording has the event enabled.
+     */
+    public void setJfrEvents(boolean jfrEvents) {
+        frameProfiler.setJfrEvents(jfrEvents);
+    }
+
+    public long last(FRAME_PHASE phase) {
+        if (phase == null) return 0;
+        return frameProfiler.last(phase);
+    }
+
+    public long avg(FRAME_PHASE phase) {
+        if (phase == null) return 0;
+        return frameProfiler.avg(phase);
+    }
+
+    public long max(FRAME_PHASE phase) {
+        if (phase == null) return 0;
+        return frameProfiler.max(phase);
+    }
+
+    public long percentile(FRAME_PHASE phase, float percentile) {
+        if (phase == null) return 0;
+        return frameProfiler.percentile(phase, percentile);
+    }
+
+    public long histogramPercentile(FRAME_PHASE phase, float percentile) {
+        if (phase == null) return 0;
+        return frameProfiler.histogramPercentile(phase, percentile);
+    }
+
+    public long[] histogram(FRAME_PHASE phase) {
+        if (phase == null) return new long[FrameProfiler.HISTOGRAM_BUCKETS];
+        return frameProfiler.histogram(phase, null);
+    }
+
+    public int window() {
+        return frameProfiler.getWindow();
+    }
+
+    public void reset() {
+        frameProfiler.reset();
+    }
+
+}
@@ -88,6 +88,7 @@ public final class APIMouseTextInput {
 
     public void enterChangeCase(MouseTextInput mouseTextInput, boolean upperCase) {
         if (mouseTextInput == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTextInput);
         if (mouseTextInput.upperCase != upperCase) {
             enterCharacter(mouseTextInput,'\t');
         }
@@ -105,27 +106,32 @@ public final class APIMouseTextInput {
 
     public void enterCharacters(MouseTextInput mouseTextInput, String text) {
         if (mouseTextInput == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTextInput);
         char[] characters = text.toCharArray();
         for (int i = 0; i < characters.length; i++) enterCharacter(mouseTextInput, characters[i]);
     }
 
     public void enterCharacter(MouseTextInput mouseTextInput, char character) {
         if (mouseTextInput == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTextInput);
         mouseTextInput.enterCharacterQueue.add(character);
     }
 
     public void selectCharacter(MouseTextInput mouseTextInput, char character) {
         if (mouseTextInput == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTextInput);
         UICommonUtils.mouseTextInput_selectCharacter(mouseTextInput, character);
     }
 
     public void selectIndex(MouseTextInput mouseTextInput, int index) {
         if (mouseTextInput == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTextInput);
         UICommonUtils.mouseTextInput_selectIndex(mouseTextInput, index);
     }
 
     public void setCharacters(MouseTextInput mouseTextInput, char[] charactersLC, char[] charactersUC) {
         if (mouseTextInput == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTextInput);
         charactersLC = charactersLC != null ? charactersLC : new char[]{};
         charactersUC = charactersUC != null ? charactersUC : new char[]{};
         UICommonUtils.mouseTextInput_setCharacters(mouseTextInput, charactersLC, charactersUC);
@@ -133,33 +139,39 @@ public final class APIMouseTextInput {
 
     public void setAlpha(MouseTextInput mouseTextInput, float alpha) {
         if (mouseTextInput == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTextInput);
         Color color = mouseTextInput.color;
         mouseTextInput.color.set(color.r, color.g, color.b, alpha);
     }
 
     public void setColor(MouseTextInput mouseTextInput, Color color) {
         if (mouseTextInput == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTextInput);
         mouseTextInput.color.set(color);
     }
 
     public void setColor2(MouseTextInput mouseTextInput, Color color2) {
         if (mouseTextInput == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTextInput);
         mouseTextInput.color2.set(color2);
     }
 
     public void setPosition(MouseTextInput mouseTextInput, int x, int y) {
         if (mouseTextInput == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTextInput);
         mouseTextInput.x = x - 6;
         mouseTextInput.y = y - 12;
     }
 
     public void setMouseTextInputAction(MouseTextInput mouseTextInput, MouseTextInputAction mouseTextInputAction) {
         if (mouseTextInput == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTextInput);
         mouseTextInput.mouseTextInputAction = mouseTextInputAction;
     }
 
     public void setFontColor(MouseTextInput mouseTextInput, Color color) {
         if (mouseTextInput == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTextInput);
         mouseTextInput.fontColor.set(color);
     }
 
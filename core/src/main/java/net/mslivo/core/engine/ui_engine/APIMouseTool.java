@@ -36,26 +36,31 @@ public final class APIMouseTool {
 
     public void setName(MouseTool mouseTool, String name) {
         if (mouseTool == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTool);
         mouseTool.name = Tools.Text.validString(name);
     }
 
     public void setData(MouseTool mouseTool, Object data) {
         if (mouseTool == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTool);
         mouseTool.data = data;
     }
 
     public void setCursor(MouseTool mouseTool, CMediaSprite cursor) {
         if (mouseTool == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTool);
         mouseTool.cursor = cursor;
     }
 
     public void setCursorDown(MouseTool mouseTool, CMediaSprite cursorDown) {
         if (mouseTool == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTool);
         mouseTool.cursorDown = cursorDown;
     }
 
     public void setCursorArrayIndex(MouseTool mouseTool, int cursorArrayIndex) {
         if (mouseTool == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, mouseTool);
         mouseTool.cursorArrayIndex = Math.max(0, cursorArrayIndex);
     }
 
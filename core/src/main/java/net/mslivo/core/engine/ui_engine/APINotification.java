@@ -61,36 +61,43 @@ public final class APINotification {
 
     public void setName(Notification notification, String name) {
         if (notification == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, notification);
         notification.name = Tools.Text.validString(name);
     }
 
     public void setData(Notification notification, Object data) {
         if (notification == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, notification);
         notification.data = data;
     }
 
     public void setNotificationAction(Notification notification, NotificationAction notificationAction) {
         if (notification == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, notification);
         notification.notificationAction = notificationAction;
     }
 
     public void setDisplayTime(Notification notification, int displayTime) {
         if (notification == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, notification);
         notification.displayTime = Math.max(displayTime, 0);
     }
 
     public void setColor(Notification notification, Color color) {
         if (notification == null || color == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, notification);
         notification.color.set(color);
     }
 
     public void setFontColor(Notification notification, Color color) {
         if (notification == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, notification);
         notification.fontColor.set(color);
     }
 
     public void setText(Notification notification, String text) {
         if (notification == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, notification);
         notification.text = Tools.Text.validString(text);
     }
 
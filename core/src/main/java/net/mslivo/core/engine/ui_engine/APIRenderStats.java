@@ -0,0 +1,123 @@
+package net.mslivo.core.engine.ui_engine;
+
+import net.mslivo.core.engine.media_manager.MediaManager;
+import net.mslivo.core.engine.ui_engine.constants.RENDER_STAT;
+import net.mslivo.core.engine.ui_engine.rendering.PrimitiveRenderer;
+import net.mslivo.core.engine.ui_engine.rendering.RenderStats;
+import net.mslivo.core.engine.ui_engine.rendering.SpriteRenderer;
+import net.mslivo.core.engine.ui_engine.state.UIEngineState;
+import net.mslivo.core.engine.ui_engine.state.config.UIConfig;
+
+import java.util.ArrayList;
+
+/**
+ * Per-frame render statistics of the UI renderers, all NestedFrameBuffers and any added app renderers.
+ * A frame ends with UIEngine.render(). Renderers are added under a source label, the last frame is also available per source.
+ */
+public final class APIRenderStats {
+    private final API api;
+    private final UIEngineState uiEngineState;
+    private final UIConfig uiConfig;
+    private final MediaManager mediaManager;
+    private final RenderStats renderStats;
+
+    APIRenderStats(API api, UIEngineState uiEngineState, MediaManager mediaManager) {
+        this.api = api;
+        this.uiEngineState = uiEngineState;
+        this.uiConfig = uiEngineState.config;
+        this.mediaManager = mediaManager;
+        this.renderStats = uiEngineState.renderStats;
+    }
+
+    public void addSpriteRenderer(SpriteRenderer spriteRenderer) {
+        renderStats.addSpriteRenderer(spriteRenderer);
+    }
+
+    public void addSpriteRenderer(String source, SpriteRenderer spriteRenderer) {
+        renderStats.addSpriteRenderer(source, spriteRenderer);
+    }
+
+    public void addSpriteRenderers(SpriteRenderer[] spriteRenderers) {
+        if (spriteRenderers == null) return;
+        for (int i = 0; i < spriteRenderers.length; i++) addSpriteRenderer(spriteRenderers[i]);
+    }
+
+    public void removeSpriteRenderer(SpriteRenderer spriteRenderer) {
+        renderStats.removeSpriteRenderer(spriteRenderer);
+    }
+
+    public void removeSpriteRenderers(SpriteRenderer[] spriteRenderers) {
+        if (spriteRenderers == null) return;
+        for (int i = 0; i < spriteRenderers.length; i++) removeSpriteRenderer(spriteRenderers[i]);
+    }
+
+    public void addPrimitiveRenderer(PrimitiveRenderer primitiveRenderer) {
+        renderStats.addPrimitiveRenderer(primitiveRenderer);
+    }
+
+    public void addPrimitiveRenderer(String source, PrimitiveRenderer primitiveRenderer) {
+        renderStats.addPrimitiveRenderer(source, primitiveRenderer);
+    }
+
+    public void addPrimitiveRenderers(PrimitiveRenderer[] primitiveRenderers) {
+        if (primitiveRenderers == null) return;
+        for (int i = 0; i < primitiveRenderers.length; i++) addPrimitiveRenderer(primitiveRenderers[i]);
+    }
+
+    public void removePrimitiveRenderer(PrimitiveRenderer primitiveRenderer) {
+        renderStats.removePrimitiveRenderer(primitiveRenderer);
+    }
+
+    public void removePrimitiveRenderers(PrimitiveRenderer[] primitiveRenderers) {
+        if (primitiveRenderers == null) return;
+        for (int i = 0; i < primitiveRenderers.length; i++) removePrimitiveRenderer(primitiveRenderers[i]);
+    }
+
+    public long last(RENDER_STAT stat) {
+        if (stat == null) return 0;
+        return renderStats.last(stat);
+    }
+
+    public long last(String source, RENDER_STAT stat) {
+        if (source == null || stat == null) return 0;
+        return renderStats.last(source, stat);
+    }
+
+    public ArrayList<String> sources() {
+        ArrayList<String> result = new ArrayList<>();
+        renderStats.sources(result);
+        return result;
+    }
+
+    public long min(RENDER_STAT stat) {
+        if (stat == null) return 0;
+        return renderStats.min(stat);
+    }
+
+    public float avg(RENDER_STAT stat) {
+        if (stat == null) return 0f;
+        return renderStats.avg(stat);
+    }
+
+    public long max(RENDER_STAT stat) {
+        if (stat == null) return 0;
+        return renderStats.max(stat);
+    }
+
+    public long frames() {
+        return renderStats.frames();
+    }
+
+    public int window() {
+        return renderStats.window();
+    }
+
+    public void setWindow(int frames) {
+        renderStats.setWindow(frames);
+    }
+
+    public void reset() {
+        renderStats.reset();
+    }
+
+}
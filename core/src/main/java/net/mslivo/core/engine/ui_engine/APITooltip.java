@@ -89,15 +89,18 @@ public final class APITooltip {
 
     public void setName(Tooltip tooltip, String name) {
         if (tooltip == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, tooltip);
         tooltip.name = Tools.Text.validString(name);
     }
 
     public void setCustomData(Tooltip tooltip, Object customData) {
         if (tooltip == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, tooltip);
         tooltip.data = customData;
     }
 
     public void addUpdateAction(Tooltip tooltip, UpdateAction updateAction) {
+        UICommonUtils.ui_markDirty(uiEngineState, tooltip);
         if (tooltip == null || updateAction == null)
             return;
         tooltip.updateActions.add(updateAction);
@@ -105,26 +108,31 @@ public final class APITooltip {
 
     public void addTooltipSegment(Tooltip toolTip, TooltipSegment segment) {
         if (toolTip == null || segment == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, toolTip);
         UICommonUtils.tooltip_addTooltipSegment(toolTip, segment);
     }
 
     public void removeTooltipSegment(Tooltip toolTip, TooltipSegment segment) {
         if (toolTip == null || segment == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, toolTip);
         UICommonUtils.tooltip_removeTooltipSegment(toolTip, segment);
     }
 
     public void removeAllTooltipSegment(Tooltip toolTip, TooltipSegment segment) {
         if (toolTip == null || segment == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, toolTip);
         for (int i = 0; i < toolTip.segments.size(); i++)
             UICommonUtils.tooltip_removeTooltipSegment(toolTip, toolTip.segments.get(i));
     }
 
     public void setToolTipAction(Tooltip toolTip, ToolTipAction toolTipAction) {
         if (toolTip == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, toolTip);
         toolTip.toolTipAction = toolTipAction;
     }
 
     public void setMinWidth(Tooltip tooltip, int minWidth) {
+        UICommonUtils.ui_markDirty(uiEngineState, tooltip);
         tooltip.minWidth = Math.max(minWidth, 0);
     }
 
@@ -141,21 +149,25 @@ public final class APITooltip {
 
         public void setColor(TooltipSegment tooltipSegment, Color color) {
             if (tooltipSegment == null || color == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, tooltipSegment);
             tooltipSegment.cellColor.set(color);
         }
 
         public void setAlignment(TooltipSegment tooltipSegment, SEGMENT_ALIGNMENT alignment) {
             if (tooltipSegment == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, tooltipSegment);
             tooltipSegment.alignment = alignment;
         }
 
         public void setBorder(TooltipSegment tooltipSegment, boolean border) {
             if (tooltipSegment == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, tooltipSegment);
             tooltipSegment.border = border;
         }
 
         public void resize(TooltipSegment tooltipSegment, int width, int height) {
             if (tooltipSegment == null) return;
+            UICommonUtils.ui_markDirty(uiEngineState, tooltipSegment);
             UICommonUtils.tooltip_resizeSegment(uiEngineState, tooltipSegment, width, height);
         }
 
@@ -224,16 +236,19 @@ public final class APITooltip {
 
             public void setImage(TooltipImageSegment tooltipImageSegment, CMediaSprite image) {
                 if (tooltipImageSegment == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tooltipImageSegment);
                 UICommonUtils.tooltip_setImageSegmentImage(uiEngineState, mediaManager, tooltipImageSegment, image);
             }
 
             public void setArrayIndex(TooltipImageSegment tooltipImageSegment, int arrayIndex) {
                 if (tooltipImageSegment == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tooltipImageSegment);
                 tooltipImageSegment.arrayIndex = Math.max(arrayIndex, 0);
             }
 
             public void setFlipXY(TooltipImageSegment tooltipImageSegment, boolean flipX, boolean flipY) {
                 if (tooltipImageSegment == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tooltipImageSegment);
                 tooltipImageSegment.flipX = flipX;
                 tooltipImageSegment.flipY = flipY;
             }
@@ -276,6 +291,7 @@ public final class APITooltip {
 
             public void setText(TooltipTextSegment tooltipTextSegment, String text) {
                 if (tooltipTextSegment == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tooltipTextSegment);
                 UICommonUtils.tooltip_setTextSegmentText(uiEngineState, mediaManager, tooltipTextSegment, text);
             }
 
@@ -316,15 +332,7 @@ public final class APITooltip {
             public TooltipCanvasSegment create(Color cellColor, Color contentColor, SEGMENT_ALIGNMENT alignment, int width, int height, boolean merge, boolean border, boolean clear) {
                 TooltipCanvasSegment tooltipCanvasSegment = new TooltipCanvasSegment();
                 setSegmentValues(tooltipCanvasSegment, cellColor, contentColor, alignment, width, height, merge, border, clear);
-                tooltipCanvasSegment.colorMap = new ColorMap();
-                int widthPx = api.TS(width);
-                int heightPx = api.TS(height);
-                tooltipCanvasSegment.colorMap.width = widthPx;
-                tooltipCanvasSegment.colorMap.height = heightPx;
-                tooltipCanvasSegment.colorMap.r = new float[widthPx][heightPx];
-                tooltipCanvasSegment.colorMap.g = new float[widthPx][heightPx];
-                tooltipCanvasSegment.colorMap.b = new float[widthPx][heightPx];
-                tooltipCanvasSegment.colorMap.a = new float[widthPx][heightPx];
+                tooltipCanvasSegment.colorMap = UICommonUtils.colorMap_create(api.TS(width), api.TS(height));
                 return tooltipCanvasSegment;
             }
 
@@ -332,6 +340,7 @@ public final class APITooltip {
 
             public void point(TooltipCanvasSegment tooltipCanvasSegment, int x, int y, float r, float g, float b, float a) {
                 if (tooltipCanvasSegment == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tooltipCanvasSegment);
                 UICommonUtils.colorMap_set(tooltipCanvasSegment.colorMap, x, y, r, g, b, a);
             }
 
@@ -341,6 +350,7 @@ public final class APITooltip {
 
             public void clear(TooltipCanvasSegment tooltipCanvasSegment, float r, float g, float b, float a) {
                 if (tooltipCanvasSegment == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tooltipCanvasSegment);
                 UICommonUtils.colorMap_clear(tooltipCanvasSegment.colorMap, r, g, b, a);
             }
 
@@ -348,11 +358,33 @@ public final class APITooltip {
                 clear(tooltipCanvasSegment, color.r, color.g, color.b, color.a);
             }
 
-            public void copy(TooltipCanvasSegment tooltipCanvasSegment, ColorMap colorMap) {
+            public void fill(TooltipCanvasSegment tooltipCanvasSegment, int x, int y, int width, int height, float r, float g, float b, float a) {
                 if (tooltipCanvasSegment == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tooltipCanvasSegment);
+                UICommonUtils.colorMap_fill(tooltipCanvasSegment.colorMap, x, y, width, height, r, g, b, a);
+            }
+
+            public void fill(TooltipCanvasSegment tooltipCanvasSegment, int x, int y, int width, int height, Color color) {
+                fill(tooltipCanvasSegment, x, y, width, height, color.r, color.g, color.b, color.a);
+            }
+
+            public void copy(TooltipCanvasSegment tooltipCanvasSegment, ColorMap colorMap) {
+                if (tooltipCanvasSegment == null || colorMap == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tooltipCanvasSegment);
                 UICommonUtils.colorMap_copy(colorMap, tooltipCanvasSegment.colorMap);
             }
 
+            public void blit(TooltipCanvasSegment tooltipCanvasSegment, ColorMap colorMap, int x, int y) {
+                if (colorMap == null) return;
+                blit(tooltipCanvasSegment, colorMap, 0, 0, x, y, colorMap.width, colorMap.height);
+            }
+
+            public void blit(TooltipCanvasSegment tooltipCanvasSegment, ColorMap colorMap, int srcX, int srcY, int x, int y, int width, int height) {
+                if (tooltipCanvasSegment == null || colorMap == null) return;
+                UICommonUtils.ui_markDirty(uiEngineState, tooltipCanvasSegment);
+                UICommonUtils.colorMap_blit(colorMap, srcX, srcY, tooltipCanvasSegment.colorMap, x, y, width, height);
+            }
+
             public Color getColor(TooltipCanvasSegment tooltipCanvasSegment, int x, int y) {
                 if (tooltipCanvasSegment == null) return null;
                 return UICommonUtils.colorMap_getPointAsColor(tooltipCanvasSegment.colorMap, x, y);
@@ -361,10 +393,7 @@ public final class APITooltip {
             public boolean isColor(TooltipCanvasSegment tooltipCanvasSegment, int x, int y, float r, float g, float b, float a) {
                 if (tooltipCanvasSegment == null)
                     return false;
-                return UICommonUtils.colorMap_r(tooltipCanvasSegment.colorMap, x, y) == r &&
-                        UICommonUtils.colorMap_g(tooltipCanvasSegment.colorMap, x, y) == g &&
-                        UICommonUtils.colorMap_b(tooltipCanvasSegment.colorMap, x, y) == b &&
-                        UICommonUtils.colorMap_a(tooltipCanvasSegment.colorMap, x, y) == a;
+                return UICommonUtils.colorMap_getRGBA8888(tooltipCanvasSegment.colorMap, x, y) == UICommonUtils.colorMap_toRGBA8888(r, g, b, a);
             }
 
             public boolean isColor(TooltipCanvasSegment tooltipCanvasSegment, int x, int y, Color color) {
@@ -9,6 +9,7 @@ import net.mslivo.core.engine.ui_engine.ui.Window;
 import net.mslivo.core.engine.ui_engine.ui.actions.UpdateAction;
 import net.mslivo.core.engine.ui_engine.ui.actions.WindowAction;
 import net.mslivo.core.engine.ui_engine.ui.components.Component;
+import net.mslivo.core.engine.ui_engine.ui.components.ComponentIndex;
 import net.mslivo.core.engine.ui_engine.ui.generator.*;
 
 import java.util.ArrayList;
@@ -74,26 +75,45 @@ public final class APIWindow {
         window.updateActions = new ArrayList<>();
         window.addedToScreen = false;
         window.components = new ArrayList<>();
+        window.componentIndex = new ComponentIndex();
+        window.cached = uiConfig.window_defaultCached;
+        window.frameBuffer = null;
+        window.frameBufferDirty = true;
         return window;
     }
 
     public void setEnforceScreenBounds(Window window, boolean enforceScreenBounds) {
         if (window == null) return;
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         window.enforceScreenBounds = enforceScreenBounds;
     }
 
+    public void setCached(Window window, boolean cached) {
+        if (window == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
+        UICommonUtils.window_setCached(window, cached);
+    }
+
+    public boolean isCached(Window window) {
+        if (window == null) return false;
+        return window.cached;
+    }
+
     public void setVisible(Window window, boolean visible) {
         if (window == null) return;
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         window.visible = visible;
     }
 
     public void setHasTitleBar(Window window, boolean hasTitleBar) {
         if (window == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         window.hasTitleBar = hasTitleBar;
     }
 
     public void setWindowAction(Window window, WindowAction windowAction) {
         if (window == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         window.windowAction = windowAction;
     }
 
@@ -103,32 +123,38 @@ public final class APIWindow {
     }
 
     public void setColorEverything(Window window, Color color) {
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         setColorInternal(window, color, 2, null,
                 true, true, true, true);
     }
 
     public void setColorEverything(Window window, Color color, boolean windowColor, boolean componentColor1, boolean componentColor2, boolean comboBoxItems) {
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         setColorInternal(window, color, 2, null,
                 windowColor, componentColor1, componentColor2, comboBoxItems);
     }
 
     public void setColorEverythingExcept(Window window, Color color, Class[] exceptions) {
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         setColorInternal(window, color, 2, exceptions,
                 true, true, true, true);
     }
 
     public void setColorEverythingExcept(Window window, Color color, Class[] exceptions, boolean windowColor, boolean componentColor1, boolean componentColor2, boolean comboBoxItems) {
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         setColorInternal(window, color, 2, exceptions,
                 windowColor, componentColor1, componentColor2, comboBoxItems);
     }
 
 
     public void setColorEverythingInclude(Window window, Color color, Class[] inclusions) {
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         setColorInternal(window, color, 1, inclusions,
                 true, true, true, true);
     }
 
     public void setColorEverythingInclude(Window window, Color color, Class[] inclusions, boolean windowColor, boolean componentColor1, boolean componentColor2, boolean comboBoxItems) {
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         setColorInternal(window, color, 1, inclusions,
                 windowColor, componentColor1, componentColor2, comboBoxItems);
     }
@@ -143,6 +169,7 @@ public final class APIWindow {
 
     public void setColorEverythingInclude(Window window, Color color, Class[] inclusions, boolean setColor1, boolean setColor2, boolean includeWindow) {
         if (window == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         if (inclusions != null) {
             for (int i = 0; i < window.components.size(); i++) {
                 Component component = window.components.get(i);
@@ -187,6 +214,7 @@ public final class APIWindow {
 
     public void addComponent(Window window, Component component) {
         if (window == null || component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         UICommonUtils.component_addToWindow(component, uiEngineState, window);
     }
 
@@ -197,6 +225,7 @@ public final class APIWindow {
 
     public void removeComponent(Window window, Component component) {
         if (window == null || component == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         UICommonUtils.component_removeFromWindow(component, window, uiEngineState);
     }
 
@@ -226,22 +255,29 @@ public final class APIWindow {
 
     public void bringToFront(Window window) {
         if (window == null) return;
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         UICommonUtils.window_bringToFront(uiEngineState, window);
     }
 
     public void center(Window window) {
         if (window == null) return;
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         UICommonUtils.window_center(uiEngineState, window);
     }
 
     public void setFontColor(Window window, Color color) {
         if (window == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         window.fontColor.set(color);
     }
 
     public void addUpdateAction(Window window, UpdateAction updateAction) {
         if (window == null || updateAction == null) return;
+        if (updateAction.addedTo != null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
+        updateAction.addedTo = window;
         window.updateActions.add(updateAction);
+        if (window.addedToScreen) UICommonUtils.updateActionWheel_schedule(uiEngineState, updateAction);
     }
 
     public void addUpdateActions(Window window, UpdateAction[] updateActions) {
@@ -251,7 +287,11 @@ public final class APIWindow {
 
     public void removeUpdateAction(Window window, UpdateAction updateAction) {
         if (window == null || updateAction == null) return;
-        window.updateActions.remove(updateAction);
+        UICommonUtils.ui_markDirty(uiEngineState, window);
+        if (window.updateActions.remove(updateAction)) {
+            updateAction.addedTo = null;
+            UICommonUtils.updateActionWheel_unschedule(uiEngineState, updateAction);
+        }
     }
 
     public void removeUpdateActions(Window window, UpdateAction[] updateActions) {
@@ -266,41 +306,49 @@ public final class APIWindow {
 
     public void setName(Window window, String name) {
         if (window == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         window.name = Tools.Text.validString(name);
     }
 
     public void setData(Window window, Object data) {
         if (window == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         window.data = data;
     }
 
     public void setColor(Window window, Color color) {
         if (window == null || color == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         window.color.set(color);
     }
 
     public void setAlpha(Window window, float alpha) {
         if (window == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         window.color.set(window.color.r, window.color.g, window.color.b, alpha);
     }
 
     public void setAlwaysOnTop(Window window, boolean alwaysOnTop) {
         if (window == null) return;
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         window.alwaysOnTop = alwaysOnTop;
     }
 
     public void setFolded(Window window, boolean folded) {
         if (window == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         window.folded = folded;
     }
 
     public void setMoveAble(Window window, boolean moveAble) {
         if (window == null) return;
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         window.moveAble = moveAble;
     }
 
     public void setPosition(Window window, int x, int y) {
         if (window == null) return;
+        UICommonUtils.ui_markLayersDirty(uiEngineState);
         UICommonUtils.window_setPosition(uiEngineState, window, x, y);
     }
 
@@ -326,12 +374,14 @@ public final class APIWindow {
 
     public void setSize(Window window, int width, int height) {
         if (window == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         window.width = Math.max(width, 2);
         window.height = Math.max(height, 2);
     }
 
     public void setTitle(Window window, String title) {
         if (window == null) return;
+        UICommonUtils.ui_markDirty(uiEngineState, window);
         window.title = Tools.Text.validString(title);
     }
 
@@ -3,11 +3,13 @@ package net.mslivo.core.engine.ui_engine;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL32;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.BufferUtils;
 import com.badlogic.gdx.utils.IntSet;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.StretchViewport;
@@ -23,7 +25,10 @@ import net.mslivo.core.engine.ui_engine.rendering.NestedFrameBuffer;
 import net.mslivo.core.engine.ui_engine.rendering.PixelPerfectViewport;
 import net.mslivo.core.engine.ui_engine.state.UIEngineState;
 import net.mslivo.core.engine.ui_engine.ui.Window;
+import net.mslivo.core.engine.ui_engine.ui.actions.UpdateAction;
+import net.mslivo.core.engine.ui_engine.ui.actions.UpdateActionWheel;
 import net.mslivo.core.engine.ui_engine.ui.components.Component;
+import net.mslivo.core.engine.ui_engine.ui.components.ComponentIndex;
 import net.mslivo.core.engine.ui_engine.ui.components.button.Button;
 import net.mslivo.core.engine.ui_engine.ui.components.button.ImageButton;
 import net.mslivo.core.engine.ui_engine.ui.components.button.TextButton;
@@ -52,11 +57,15 @@ import net.mslivo.core.engine.ui_engine.ui.mousetextinput.MouseTextInput;
 import net.mslivo.core.engine.ui_engine.ui.notification.Notification;
 import net.mslivo.core.engine.ui_engine.ui.tooltip.*;
 
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 
 final class UICommonUtils {
     public static final String WND_CLOSE_BUTTON = "wnd_close_btn";
+    private static final int COMPONENT_INDEX_MAX_CELLS = 65536;
     private static IntSet textFieldControlKeys = new IntSet();
     private static IntSet textFieldRepeatedControlKeys = new IntSet();
     private static ArrayList<Component> windowComponentsVisibleOrder = new ArrayList<>();
@@ -191,6 +200,18 @@ final class UICommonUtils {
     }
 
 
+    static void window_setCached(Window window, boolean cached) {
+        if (window.cached == cached) return;
+        window.cached = cached;
+        if (!cached) window_disposeFrameBuffer(window);
+    }
+
+    static void window_disposeFrameBuffer(Window window) {
+        if (window.frameBuffer != null) window.frameBuffer.dispose();
+        window.frameBuffer = null;
+        window.frameBufferDirty = true;
+    }
+
     static void window_setPosition(UIEngineState uiEngineState, Window window, int x, int y) {
         window.x = x;
         window.y = y;
@@ -236,6 +257,7 @@ final class UICommonUtils {
         if (window.addedToScreen) return;
         window.addedToScreen = true;
         uiEngineState.windows.add(window);
+        updateActionWheel_scheduleWindow(uiEngineState, window);
         window.windowAction.onAdd();
         window_enforceScreenBounds(uiEngineState, window);
     }
@@ -258,14 +280,21 @@ final class UICommonUtils {
         if (uiEngineState.lastUIMouseHover == window) uiEngineState.lastUIMouseHover = null;
         if (UICommonUtils.window_isModalOpen(uiEngineState) && uiEngineState.modalWindow == window)
             uiEngineState.modalWindow = null;
-        for (int i = 0; i < window.components.size(); i++)
-            if (window.components.get(i) instanceof AppViewport appViewPort)
-                uiEngineState.appViewPorts.remove(appViewPort);
+        for (int i = 0; i < window.components.size(); i++) {
+            switch (window.components.get(i)) {
+                case AppViewport appViewPort -> uiEngineState.appViewPorts.remove(appViewPort);
+                case Canvas canvas -> canvas_disposeTexture(canvas);
+                default -> {
+                }
+            }
+        }
         window_resetReferences(uiEngineState, window);
 
         // Remove
+        updateActionWheel_unscheduleWindow(uiEngineState, window);
         window.addedToScreen = false;
         uiEngineState.windows.remove(window);
+        window_disposeFrameBuffer(window);
         window.windowAction.onRemove();
 
         // Add Next Modal from Queue queue
@@ -276,6 +305,7 @@ final class UICommonUtils {
     static void component_setSize(UIEngineState uiEngineState, Component component, int width, int height) {
         component.width = Math.max(width, 1);
         component.height = Math.max(height, 1);
+        componentIndex_invalidate(uiEngineState, component);
 
         if (component instanceof AppViewport appViewPort) {
             appViewPort_resizeCameraTextureAndFrameBuffer(uiEngineState, appViewPort);
@@ -350,20 +380,113 @@ final class UICommonUtils {
 
             boolean collidesWithWindow = Tools.Calc.pointRectsCollide(x, y, wndX, wndY, wndWidth, wndHeight);
             if (collidesWithWindow) {
-                for (int ic = window.components.size() - 1; ic >= 0; ic--) {
-                    Component component = window.components.get(ic);
-                    if (component_isComponentAtPosition(uiEngineState, x, y, component)) {
-                        return component;
+                Component component = componentIndex_getComponentAtPosition(uiEngineState, window.componentIndex, window.components, x, y, window.x, window.y);
+                return component != null ? component : window;
+            }
+        }
+
+        // Screen component collision
+        return componentIndex_getComponentAtPosition(uiEngineState, uiEngineState.screenComponentIndex, uiEngineState.screenComponents, x, y, 0, 0);
+    }
+
+    static void componentIndex_invalidate(UIEngineState uiEngineState, Component component) {
+        if (component.addedToWindow != null) {
+            component.addedToWindow.componentIndex.valid = false;
+        } else if (component.addedToScreen) {
+            uiEngineState.screenComponentIndex.valid = false;
+        }
+    }
+
+    static void componentIndex_rebuild(UIEngineState uiEngineState, ComponentIndex componentIndex, ArrayList<Component> components) {
+        componentIndex.valid = true;
+        componentIndex.linear = false;
+
+        // Bounds
+        int x1 = Integer.MAX_VALUE, y1 = Integer.MAX_VALUE, x2 = Integer.MIN_VALUE, y2 = Integer.MIN_VALUE;
+        for (int i = 0; i < components.size(); i++) {
+            Component component = components.get(i);
+            if (component.width <= 0 || component.height <= 0) continue;
+            x1 = Math.min(x1, Math.floorDiv(component.x, uiEngineState.tileSize.TS));
+            y1 = Math.min(y1, Math.floorDiv(component.y, uiEngineState.tileSize.TS));
+            x2 = Math.max(x2, Math.floorDiv(component.x + uiEngineState.tileSize.TL(component.width) - 1, uiEngineState.tileSize.TS));
+            y2 = Math.max(y2, Math.floorDiv(component.y + uiEngineState.tileSize.TL(component.height) - 1, uiEngineState.tileSize.TS));
+        }
+        if (x1 > x2 || y1 > y2) {
+            componentIndex.cellsWidth = 0;
+            componentIndex.cellsHeight = 0;
+            componentIndex.cells = null;
+            componentIndex.cellSizes = null;
+            return;
+        }
+        long cellCount = (long) (x2 - x1 + 1) * (y2 - y1 + 1);
+        if (cellCount > COMPONENT_INDEX_MAX_CELLS) {
+            componentIndex.linear = true;
+            componentIndex.cells = null;
+            componentIndex.cellSizes = null;
+            return;
+        }
+        componentIndex.cellX = x1;
+        componentIndex.cellY = y1;
+        componentIndex.cellsWidth = (x2 - x1 + 1);
+        componentIndex.cellsHeight = (y2 - y1 + 1);
+        if (componentIndex.cellSizes == null || componentIndex.cellSizes.length != cellCount) {
+            componentIndex.cellSizes = new int[(int) cellCount];
+            componentIndex.cells = new Component[(int) cellCount][];
+        } else {
+            Arrays.fill(componentIndex.cellSizes, 0);
+        }
+
+        // Count, then fill in list order so cells keep the draw order
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < components.size(); i++) {
+                Component component = components.get(i);
+                if (component.width <= 0 || component.height <= 0) continue;
+                int cx1 = Math.floorDiv(component.x, uiEngineState.tileSize.TS) - componentIndex.cellX;
+                int cy1 = Math.floorDiv(component.y, uiEngineState.tileSize.TS) - componentIndex.cellY;
+                int cx2 = Math.floorDiv(component.x + uiEngineState.tileSize.TL(component.width) - 1, uiEngineState.tileSize.TS) - componentIndex.cellX;
+                int cy2 = Math.floorDiv(component.y + uiEngineState.tileSize.TL(component.height) - 1, uiEngineState.tileSize.TS) - componentIndex.cellY;
+                for (int icy = cy1; icy <= cy2; icy++) {
+                    for (int icx = cx1; icx <= cx2; icx++) {
+                        int cell = (icy * componentIndex.cellsWidth) + icx;
+                        if (pass == 0) {
+                            componentIndex.cellSizes[cell]++;
+                        } else {
+                            componentIndex.cells[cell][componentIndex.cellSizes[cell]++] = component;
+                        }
                     }
                 }
-                return window;
+            }
+            if (pass == 0) {
+                for (int i = 0; i < cellCount; i++) {
+                    int size = componentIndex.cellSizes[i];
+                    if (componentIndex.cells[i] == null || componentIndex.cells[i].length < size)
+                        componentIndex.cells[i] = new Component[size];
+                    componentIndex.cellSizes[i] = 0;
+                }
             }
         }
+    }
 
-        // Screen component collision
-        for (int isc = uiEngineState.screenComponents.size()-1; isc>= 0; isc--) {
-            Component screenComponent = uiEngineState.screenComponents.get(isc);
-            if (component_isComponentAtPosition(uiEngineState, x, y, screenComponent)) return screenComponent;
+    static Component componentIndex_getComponentAtPosition(UIEngineState uiEngineState, ComponentIndex componentIndex, ArrayList<Component> components, int x, int y, int offsetX, int offsetY) {
+        if (!componentIndex.valid) componentIndex_rebuild(uiEngineState, componentIndex, components);
+
+        if (componentIndex.linear) {
+            for (int i = components.size() - 1; i >= 0; i--) {
+                Component component = components.get(i);
+                if (component_isComponentAtPosition(uiEngineState, x, y, component)) return component;
+            }
+            return null;
+        }
+
+        int cx = Math.floorDiv(x - offsetX, uiEngineState.tileSize.TS) - componentIndex.cellX;
+        int cy = Math.floorDiv(y - offsetY, uiEngineState.tileSize.TS) - componentIndex.cellY;
+        if (cx < 0 || cy < 0 || cx >= componentIndex.cellsWidth || cy >= componentIndex.cellsHeight) return null;
+
+        int cell = (cy * componentIndex.cellsWidth) + cx;
+        Component[] candidates = componentIndex.cells[cell];
+        for (int i = componentIndex.cellSizes[cell] - 1; i >= 0; i--) {
+            Component component = candidates[i];
+            if (component_isComponentAtPosition(uiEngineState, x, y, component)) return component;
         }
         return null;
     }
@@ -560,12 +683,12 @@ final class UICommonUtils {
         return false;
     }
 
-    static void grid_setItems(Grid grid, Object[][] items) {
+    static void grid_setItems(UIEngineState uiEngineState, Grid grid, Object[][] items) {
         grid.items = items;
-        grid_updateSize(grid);
+        grid_updateSize(uiEngineState, grid);
     }
 
-    static void grid_updateSize(Grid grid) {
+    static void grid_updateSize(UIEngineState uiEngineState, Grid grid) {
         int factor = grid.bigMode ? 2 : 1;
         if (grid.items != null) {
             grid.width = grid.items.length * factor;
@@ -574,6 +697,7 @@ final class UICommonUtils {
             grid.width = 1;
             grid.height = 1;
         }
+        componentIndex_invalidate(uiEngineState, grid);
     }
 
     static void textField_setMarkerPosition(UIEngineState uiEngineState, MediaManager mediaManager, Textfield textField, int position) {
@@ -664,6 +788,8 @@ final class UICommonUtils {
         if (component instanceof AppViewport appViewPort) uiEngineState.appViewPorts.add(appViewPort);
         component.addedToWindow = window;
         window.components.add(component);
+        window.componentIndex.valid = false;
+        if (window.addedToScreen) updateActionWheel_scheduleAll(uiEngineState, component.updateActions);
     }
 
     static void component_addToScreen(Component component, UIEngineState uiEngineState) {
@@ -672,6 +798,8 @@ final class UICommonUtils {
         if (component instanceof AppViewport appViewPort) uiEngineState.appViewPorts.add(appViewPort);
         component.addedToScreen = true;
         uiEngineState.screenComponents.add(component);
+        uiEngineState.screenComponentIndex.valid = false;
+        updateActionWheel_scheduleAll(uiEngineState, component.updateActions);
     }
 
     static void component_removeFromScreen(Component component, UIEngineState uiEngineState) {
@@ -682,11 +810,14 @@ final class UICommonUtils {
         if (uiEngineState.lastUIMouseHover == component) uiEngineState.lastUIMouseHover = null;
         if (component.addedToTab != null) tab_removeComponent(component.addedToTab, component);
         if (component instanceof AppViewport appViewPort) uiEngineState.appViewPorts.remove(appViewPort);
+        if (component instanceof Canvas canvas) canvas_disposeTexture(canvas);
         component_resetReferences(uiEngineState, component);
 
         // Remove
-        component.addedToScreen = true;
+        updateActionWheel_unscheduleAll(uiEngineState, component.updateActions);
+        component.addedToScreen = false;
         uiEngineState.screenComponents.remove(component);
+        uiEngineState.screenComponentIndex.valid = false;
     }
 
     static void component_removeFromWindow(Component component, Window window, UIEngineState uiEngineState) {
@@ -697,13 +828,142 @@ final class UICommonUtils {
         if (uiEngineState.lastUIMouseHover == component) uiEngineState.lastUIMouseHover = null;
         if (component.addedToTab != null) tab_removeComponent(component.addedToTab, component);
         if (component instanceof AppViewport appViewPort) uiEngineState.appViewPorts.remove(appViewPort);
+        if (component instanceof Canvas canvas) canvas_disposeTexture(canvas);
         component_resetReferences(uiEngineState, component);
 
         // Remove
+        updateActionWheel_unscheduleAll(uiEngineState, component.updateActions);
         component.addedToWindow.components.remove(component);
+        component.addedToWindow.componentIndex.valid = false;
         component.addedToWindow = null;
     }
 
+    static boolean component_isOnScreen(Component component) {
+        return component.addedToScreen || (component.addedToWindow != null && component.addedToWindow.addedToScreen);
+    }
+
+    static void updateActionWheel_schedule(UIEngineState uiEngineState, UpdateAction updateAction) {
+        final UpdateActionWheel wheel = uiEngineState.updateActionWheel;
+        if (updateAction.wheelSlot >= 0) return;
+        int slot;
+        if (updateAction.interval <= 0) {
+            slot = UpdateActionWheel.SLOT_EVERY_FRAME;
+        } else {
+            // First millisecond with (time - lastUpdate) > interval, overdue actions are due on the next update
+            long due = Math.max(updateAction.lastUpdate + updateAction.interval + 1, wheel.currentTime + 1);
+            slot = (int) (due & UpdateActionWheel.SLOT_MASK);
+        }
+        UpdateAction head = wheel.slots[slot];
+        updateAction.wheelPrev = null;
+        updateAction.wheelNext = head;
+        if (head != null) head.wheelPrev = updateAction;
+        wheel.slots[slot] = updateAction;
+        updateAction.wheelSlot = slot;
+    }
+
+    static void updateActionWheel_scheduleSingle(UIEngineState uiEngineState, UpdateAction updateAction) {
+        if (updateAction.wheelSlot != UpdateActionWheel.SLOT_NONE) return;
+        updateAction.singleUpdate = true;
+        updateActionWheel_schedule(uiEngineState, updateAction);
+    }
+
+    static void updateActionWheel_unschedule(UIEngineState uiEngineState, UpdateAction updateAction) {
+        if (updateAction.wheelSlot >= 0) updateActionWheel_unlink(uiEngineState.updateActionWheel, updateAction);
+        updateAction.wheelSlot = UpdateActionWheel.SLOT_NONE;
+        updateAction.singleUpdate = false;
+    }
+
+    static void updateActionWheel_scheduleAll(UIEngineState uiEngineState, ArrayList<UpdateAction> updateActions) {
+        for (int i = 0; i < updateActions.size(); i++) updateActionWheel_schedule(uiEngineState, updateActions.get(i));
+    }
+
+    static void updateActionWheel_unscheduleAll(UIEngineState uiEngineState, ArrayList<UpdateAction> updateActions) {
+        for (int i = 0; i < updateActions.size(); i++) updateActionWheel_unschedule(uiEngineState, updateActions.get(i));
+    }
+
+    static void updateActionWheel_scheduleWindow(UIEngineState uiEngineState, Window window) {
+        updateActionWheel_scheduleAll(uiEngineState, window.updateActions);
+        for (int i = 0; i < window.components.size(); i++)
+            updateActionWheel_scheduleAll(uiEngineState, window.components.get(i).updateActions);
+    }
+
+    static void updateActionWheel_unscheduleWindow(UIEngineState uiEngineState, Window window) {
+        updateActionWheel_unscheduleAll(uiEngineState, window.updateActions);
+        for (int i = 0; i < window.components.size(); i++)
+            updateActionWheel_unscheduleAll(uiEngineState, window.components.get(i).updateActions);
+    }
+
+    /*
+     * Moves all due actions into wheel.due, only slots of the milliseconds passed since the last call are visited
+     */
+    static int updateActionWheel_collectDue(UIEngineState uiEngineState, long currentTimeMillis) {
+        final UpdateActionWheel wheel = uiEngineState.updateActionWheel;
+        wheel.dueSize = 0;
+        updateActionWheel_collectSlot(wheel, UpdateActionWheel.SLOT_EVERY_FRAME, currentTimeMillis);
+        long from = Math.max(wheel.currentTime + 1, currentTimeMillis - UpdateActionWheel.SLOT_MASK);
+        for (long time = from; time <= currentTimeMillis; time++) {
+            updateActionWheel_collectSlot(wheel, (int) (time & UpdateActionWheel.SLOT_MASK), currentTimeMillis);
+        }
+        wheel.currentTime = Math.max(wheel.currentTime, currentTimeMillis);
+        return wheel.dueSize;
+    }
+
+    private static void updateActionWheel_collectSlot(UpdateActionWheel wheel, int slot, long currentTimeMillis) {
+        UpdateAction updateAction = wheel.slots[slot];
+        while (updateAction != null) {
+            UpdateAction next = updateAction.wheelNext;
+            if ((currentTimeMillis - updateAction.lastUpdate) > updateAction.interval) {
+                updateActionWheel_unlink(wheel, updateAction);
+                updateAction.wheelSlot = UpdateActionWheel.SLOT_PENDING;
+                if (wheel.dueSize == wheel.due.length) wheel.due = Arrays.copyOf(wheel.due, wheel.due.length * 2);
+                wheel.due[wheel.dueSize++] = updateAction;
+            }
+            updateAction = next;
+        }
+    }
+
+    /*
+     * Puts an executed action back into the wheel, unless it was removed or is a single update
+     */
+    static void updateActionWheel_reschedule(UIEngineState uiEngineState, UpdateAction updateAction) {
+        if (updateAction.wheelSlot == UpdateActionWheel.SLOT_NONE) return;
+        if (updateAction.singleUpdate) {
+            updateActionWheel_unschedule(uiEngineState, updateAction);
+            return;
+        }
+        if (updateAction.wheelSlot >= 0) updateActionWheel_unlink(uiEngineState.updateActionWheel, updateAction);
+        updateAction.wheelSlot = UpdateActionWheel.SLOT_NONE;
+        updateActionWheel_schedule(uiEngineState, updateAction);
+    }
+
+    static void updateActionWheel_clear(UIEngineState uiEngineState) {
+        final UpdateActionWheel wheel = uiEngineState.updateActionWheel;
+        for (int i = 0; i < wheel.slots.length; i++) {
+            UpdateAction updateAction = wheel.slots[i];
+            while (updateAction != null) {
+                UpdateAction next = updateAction.wheelNext;
+                updateAction.wheelPrev = updateAction.wheelNext = null;
+                updateAction.wheelSlot = UpdateActionWheel.SLOT_NONE;
+                updateAction.singleUpdate = false;
+                updateAction = next;
+            }
+            wheel.slots[i] = null;
+        }
+        Arrays.fill(wheel.due, 0, wheel.dueSize, null);
+        wheel.dueSize = 0;
+    }
+
+    private static void updateActionWheel_unlink(UpdateActionWheel wheel, UpdateAction updateAction) {
+        if (updateAction.wheelPrev != null) {
+            updateAction.wheelPrev.wheelNext = updateAction.wheelNext;
+        } else {
+            wheel.slots[updateAction.wheelSlot] = updateAction.wheelNext;
+        }
+        if (updateAction.wheelNext != null) updateAction.wheelNext.wheelPrev = updateAction.wheelPrev;
+        updateAction.wheelPrev = updateAction.wheelNext = null;
+        updateAction.wheelSlot = UpdateActionWheel.SLOT_NONE;
+    }
+
     static void tab_removeComponent(Tab tab, Component component) {
         if (component.addedToTab != tab) return;
         component.addedToTab.components.remove(component);
@@ -788,99 +1048,220 @@ final class UICommonUtils {
     }
 
 
+    static ColorMap colorMap_create(int width, int height) {
+        ColorMap colorMap = new ColorMap();
+        colorMap.width = Math.max(width, 0);
+        colorMap.height = Math.max(height, 0);
+        colorMap.data = new int[colorMap.width * colorMap.height];
+        colorMap_markDirty(colorMap, 0, 0, colorMap.width, colorMap.height);
+        return colorMap;
+    }
+
+    static int colorMap_toRGBA8888(float r, float g, float b, float a) {
+        return Color.rgba8888(Math.clamp(r, 0f, 1f), Math.clamp(g, 0f, 1f), Math.clamp(b, 0f, 1f), Math.clamp(a, 0f, 1f));
+    }
+
     static void colorMap_clear(ColorMap colorMap, float r, float g, float b, float a) {
-        for (int ix = 0; ix < colorMap.width; ix++) {
-            for (int iy = 0; iy < colorMap.height; iy++) {
-                colorMap.r[ix][iy] = r;
-                colorMap.g[ix][iy] = g;
-                colorMap.b[ix][iy] = b;
-                colorMap.a[ix][iy] = a;
-            }
-        }
+        Arrays.fill(colorMap.data, colorMap_toRGBA8888(r, g, b, a));
+        colorMap_markDirty(colorMap, 0, 0, colorMap.width, colorMap.height);
     }
 
     static void colorMap_resize(ColorMap colorMap, int width, int height) {
-        int copyWidth = Math.max(width, colorMap.width);
-        int copyHeight = Math.max(height, colorMap.height);
-        float[][] r = new float[width][height];
-        float[][] g = new float[width][height];
-        float[][] b = new float[width][height];
-        float[][] a = new float[width][height];
-
-        for (int ix = 0; ix < copyWidth; ix++) {
-            for (int iy = 0; iy < copyHeight; iy++) {
-                r[ix][iy] = colorMap.r[ix][iy];
-                g[ix][iy] = colorMap.g[ix][iy];
-                b[ix][iy] = colorMap.b[ix][iy];
-                a[ix][iy] = colorMap.a[ix][iy];
-            }
+        width = Math.max(width, 0);
+        height = Math.max(height, 0);
+        int copyWidth = Math.min(width, colorMap.width);
+        int copyHeight = Math.min(height, colorMap.height);
+        int[] data = new int[width * height];
+        for (int iy = 0; iy < copyHeight; iy++) {
+            System.arraycopy(colorMap.data, iy * colorMap.width, data, iy * width, copyWidth);
         }
 
         colorMap.width = width;
         colorMap.height = height;
-        colorMap.r = r;
-        colorMap.g = g;
-        colorMap.b = b;
-        colorMap.a = a;
-
+        colorMap.data = data;
+        colorMap.dirty = false;
+        colorMap_markDirty(colorMap, 0, 0, width, height);
         return;
     }
 
     static void colorMap_set(ColorMap colorMap, int x, int y, float r, float g, float b, float a) {
+        colorMap_setRGBA8888(colorMap, x, y, colorMap_toRGBA8888(r, g, b, a));
+    }
+
+    static void colorMap_setRGBA8888(ColorMap colorMap, int x, int y, int rgba8888) {
         if (!colorMap_inBounds(colorMap, x, y)) return;
-        colorMap.r[x][y] = r;
-        colorMap.g[x][y] = g;
-        colorMap.b[x][y] = b;
-        colorMap.a[x][y] = a;
+        colorMap.data[(y * colorMap.width) + x] = rgba8888;
+        colorMap_markDirty(colorMap, x, y, x + 1, y + 1);
+    }
+
+    static int colorMap_getRGBA8888(ColorMap colorMap, int x, int y) {
+        if (!colorMap_inBounds(colorMap, x, y)) return 0;
+        return colorMap.data[(y * colorMap.width) + x];
     }
 
     static float colorMap_r(ColorMap colorMap, int x, int y) {
-        if (!colorMap_inBounds(colorMap, x, y)) return 0f;
-        return colorMap.r[x][y];
+        return ((colorMap_getRGBA8888(colorMap, x, y) >>> 24) & 0xFF) / 255f;
     }
 
     static float colorMap_g(ColorMap colorMap, int x, int y) {
-        if (!colorMap_inBounds(colorMap, x, y)) return 0f;
-        return colorMap.g[x][y];
+        return ((colorMap_getRGBA8888(colorMap, x, y) >>> 16) & 0xFF) / 255f;
     }
 
     static float colorMap_b(ColorMap colorMap, int x, int y) {
-        if (!colorMap_inBounds(colorMap, x, y)) return 0f;
-        return colorMap.b[x][y];
+        return ((colorMap_getRGBA8888(colorMap, x, y) >>> 8) & 0xFF) / 255f;
     }
 
     static float colorMap_a(ColorMap colorMap, int x, int y) {
-        if (!colorMap_inBounds(colorMap, x, y)) return 0f;
-        return colorMap.a[x][y];
+        return (colorMap_getRGBA8888(colorMap, x, y) & 0xFF) / 255f;
     }
 
     static Color colorMap_getPointAsColor(ColorMap colorMap, int x, int y) {
         if (!colorMap_inBounds(colorMap, x, y)) return null;
-        return new Color(
-                colorMap.r[x][y],
-                colorMap.g[x][y],
-                colorMap.b[x][y],
-                colorMap.a[x][y]
-        );
+        return new Color(colorMap.data[(y * colorMap.width) + x]);
     }
 
     static void colorMap_copy(ColorMap colorMapFrom, ColorMap colorMapTo) {
         int width = Math.min(colorMapFrom.width, colorMapTo.width);
         int height = Math.min(colorMapFrom.height, colorMapTo.height);
-        for (int ix = 0; ix < width; ix++) {
+        if (colorMapFrom.width == colorMapTo.width) {
+            System.arraycopy(colorMapFrom.data, 0, colorMapTo.data, 0, width * height);
+        } else {
+            for (int iy = 0; iy < height; iy++) {
+                System.arraycopy(colorMapFrom.data, iy * colorMapFrom.width, colorMapTo.data, iy * colorMapTo.width, width);
+            }
+        }
+        colorMap_markDirty(colorMapTo, 0, 0, width, height);
+    }
+
+    static void colorMap_fill(ColorMap colorMap, int x, int y, int width, int height, float r, float g, float b, float a) {
+        int x1 = Math.max(x, 0);
+        int y1 = Math.max(y, 0);
+        int x2 = Math.min(x + width, colorMap.width);
+        int y2 = Math.min(y + height, colorMap.height);
+        if (x2 <= x1 || y2 <= y1) return;
+        int rgba8888 = colorMap_toRGBA8888(r, g, b, a);
+        for (int iy = y1; iy < y2; iy++) {
+            int offset = iy * colorMap.width;
+            Arrays.fill(colorMap.data, offset + x1, offset + x2, rgba8888);
+        }
+        colorMap_markDirty(colorMap, x1, y1, x2, y2);
+    }
+
+    static void colorMap_blit(ColorMap colorMapFrom, int srcX, int srcY, ColorMap colorMapTo, int dstX, int dstY, int width, int height) {
+        // Clip against source and destination
+        if (srcX < 0) {
+            dstX -= srcX;
+            width += srcX;
+            srcX = 0;
+        }
+        if (srcY < 0) {
+            dstY -= srcY;
+            height += srcY;
+            srcY = 0;
+        }
+        if (dstX < 0) {
+            srcX -= dstX;
+            width += dstX;
+            dstX = 0;
+        }
+        if (dstY < 0) {
+            srcY -= dstY;
+            height += dstY;
+            dstY = 0;
+        }
+        width = Math.min(width, Math.min(colorMapFrom.width - srcX, colorMapTo.width - dstX));
+        height = Math.min(height, Math.min(colorMapFrom.height - srcY, colorMapTo.height - dstY));
+        if (width <= 0 || height <= 0) return;
+
+        if (colorMapFrom == colorMapTo && srcY < dstY) {
+            // Overlapping rows, copy bottom-up
+            for (int iy = height - 1; iy >= 0; iy--) {
+                System.arraycopy(colorMapFrom.data, ((srcY + iy) * colorMapFrom.width) + srcX, colorMapTo.data, ((dstY + iy) * colorMapTo.width) + dstX, width);
+            }
+        } else {
             for (int iy = 0; iy < height; iy++) {
-                colorMapTo.r[ix][iy] = colorMapFrom.r[ix][iy];
-                colorMapTo.g[ix][iy] = colorMapFrom.g[ix][iy];
-                colorMapTo.b[ix][iy] = colorMapFrom.b[ix][iy];
-                colorMapTo.a[ix][iy] = colorMapFrom.a[ix][iy];
+                System.arraycopy(colorMapFrom.data, ((srcY + iy) * colorMapFrom.width) + srcX, colorMapTo.data, ((dstY + iy) * colorMapTo.width) + dstX, width);
             }
         }
+        colorMap_markDirty(colorMapTo, dstX, dstY, dstX + width, dstY + height);
     }
 
     static boolean colorMap_inBounds(ColorMap colorMap, int x, int y) {
         return x >= 0 && x < colorMap.width && y >= 0 && y < colorMap.height;
     }
 
+    static void colorMap_markDirty(ColorMap colorMap, int x1, int y1, int x2, int y2) {
+        if (colorMap.dirty) {
+            colorMap.dirtyX1 = Math.min(colorMap.dirtyX1, x1);
+            colorMap.dirtyY1 = Math.min(colorMap.dirtyY1, y1);
+            colorMap.dirtyX2 = Math.max(colorMap.dirtyX2, x2);
+            colorMap.dirtyY2 = Math.max(colorMap.dirtyY2, y2);
+        } else {
+            colorMap.dirtyX1 = x1;
+            colorMap.dirtyY1 = y1;
+            colorMap.dirtyX2 = x2;
+            colorMap.dirtyY2 = y2;
+            colorMap.dirty = true;
+        }
+    }
+
+    static void colorMap_clearDirty(ColorMap colorMap) {
+        colorMap.dirty = false;
+        colorMap.dirtyX1 = colorMap.dirtyY1 = colorMap.dirtyX2 = colorMap.dirtyY2 = 0;
+    }
+
+
+
+    static void canvas_setTextureMode(Canvas canvas, boolean textureMode) {
+        if (canvas.textureMode == textureMode) return;
+        canvas.textureMode = textureMode;
+        if (!textureMode) canvas_disposeTexture(canvas);
+    }
+
+    static void canvas_updateTexture(Canvas canvas) {
+        ColorMap colorMap = canvas.colorMap;
+        if (canvas.texture == null || canvas.texture.getWidth() != colorMap.width || canvas.texture.getHeight() != colorMap.height) {
+            canvas_disposeTexture(canvas);
+            canvas.texture = new Texture(colorMap.width, colorMap.height, Pixmap.Format.RGBA8888);
+            canvas.texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+            canvas.textureBuffer = BufferUtils.newByteBuffer(colorMap.width * colorMap.height * 4).order(ByteOrder.BIG_ENDIAN).asIntBuffer();
+            colorMap_markDirty(colorMap, 0, 0, colorMap.width, colorMap.height);
+        }
+        if (!colorMap.dirty) return;
+
+        int x1 = Math.max(colorMap.dirtyX1, 0);
+        int y1 = Math.max(colorMap.dirtyY1, 0);
+        int x2 = Math.min(colorMap.dirtyX2, colorMap.width);
+        int y2 = Math.min(colorMap.dirtyY2, colorMap.height);
+        colorMap_clearDirty(colorMap);
+        if (x2 <= x1 || y2 <= y1) return;
+
+        IntBuffer textureBuffer = canvas.textureBuffer;
+        for (int iy = y1; iy < y2; iy++) {
+            int offset = (iy * colorMap.width) + x1;
+            textureBuffer.put(offset, colorMap.data, offset, x2 - x1);
+        }
+
+        // Upload only the dirty rectangle
+        canvas.texture.bind();
+        Gdx.gl.glPixelStorei(GL32.GL_UNPACK_ALIGNMENT, 1);
+        Gdx.gl.glPixelStorei(GL32.GL_UNPACK_ROW_LENGTH, colorMap.width);
+        Gdx.gl.glPixelStorei(GL32.GL_UNPACK_SKIP_PIXELS, x1);
+        Gdx.gl.glPixelStorei(GL32.GL_UNPACK_SKIP_ROWS, y1);
+        textureBuffer.position(0);
+        Gdx.gl.glTexSubImage2D(GL32.GL_TEXTURE_2D, 0, x1, y1, x2 - x1, y2 - y1, GL32.GL_RGBA, GL32.GL_UNSIGNED_BYTE, textureBuffer);
+        Gdx.gl.glPixelStorei(GL32.GL_UNPACK_ROW_LENGTH, 0);
+        Gdx.gl.glPixelStorei(GL32.GL_UNPACK_SKIP_PIXELS, 0);
+        Gdx.gl.glPixelStorei(GL32.GL_UNPACK_SKIP_ROWS, 0);
+        Gdx.gl.glPixelStorei(GL32.GL_UNPACK_ALIGNMENT, 4);
+    }
+
+    static void canvas_disposeTexture(Canvas canvas) {
+        if (canvas.texture != null) canvas.texture.dispose();
+        canvas.texture = null;
+        canvas.textureBuffer = null;
+        colorMap_markDirty(canvas.colorMap, 0, 0, canvas.colorMap.width, canvas.colorMap.height);
+    }
 
     static void canvas_removeCanvasImage(Canvas canvas, CanvasImage canvasImage) {
         if (canvasImage.addedToCanvas != canvas) return;
@@ -1258,6 +1639,7 @@ final class UICommonUtils {
     static void image_updateSize(UIEngineState uiEngineState, MediaManager mediaManager, Image imageC) {
         imageC.width = imageC.image != null ? mediaManager.spriteWidth(imageC.image) / uiEngineState.tileSize.TS : 0;
         imageC.height = imageC.image != null ? mediaManager.spriteHeight(imageC.image) / uiEngineState.tileSize.TS : 0;
+        componentIndex_invalidate(uiEngineState, imageC);
     }
 
     static void mouseTextInput_selectIndex(MouseTextInput mouseTextInput, int index) {
@@ -1402,6 +1784,34 @@ final class UICommonUtils {
         return state.config.ui_animationTimerFunction.getAnimationTimer();
     }
 
+    static void ui_markAllDirty(UIEngineState uiEngineState) {
+        ui_markLayersDirty(uiEngineState);
+        for (int i = 0; i < uiEngineState.windows.size(); i++)
+            uiEngineState.windows.get(i).frameBufferDirty = true;
+    }
+
+    /**
+     * Marks the layers and only the window uiObject is drawn in, objects outside of windows only mark the layers.
+     */
+    static void ui_markDirty(UIEngineState uiEngineState, Object uiObject) {
+        if (uiObject == null) return;
+        ui_markLayersDirty(uiEngineState);
+        Window window = switch (uiObject) {
+            case Window uiWindow -> uiWindow;
+            case Component component -> component.addedToWindow;
+            case Tab tab -> tab.addedToTabBar != null ? tab.addedToTabBar.addedToWindow : null;
+            case ComboboxItem comboboxItem -> comboboxItem.addedToComboBox != null ? comboboxItem.addedToComboBox.addedToWindow : null;
+            case CanvasImage canvasImage -> canvasImage.addedToCanvas != null ? canvasImage.addedToCanvas.addedToWindow : null;
+            default -> null;
+        };
+        if (window != null) window.frameBufferDirty = true;
+    }
+
+    static void ui_markLayersDirty(UIEngineState uiEngineState) {
+        uiEngineState.uiComponentLayerDirty = true;
+        uiEngineState.uiModalLayerDirty = true;
+    }
+
     static void window_resetReferences(UIEngineState uiEngineState, Window window) {
         if (uiEngineState.draggedWindow == window) {
             uiEngineState.draggedWindow = null;
@@ -6,9 +6,11 @@ import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.math.GridPoint2;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.IntArray;
+import net.mslivo.core.engine.media_manager.CMediaAnimation;
 import net.mslivo.core.engine.media_manager.CMediaArray;
 import net.mslivo.core.engine.media_manager.CMediaImage;
 import net.mslivo.core.engine.media_manager.CMediaSprite;
@@ -17,7 +19,9 @@ import net.mslivo.core.engine.tools.Tools;
 import net.mslivo.core.engine.ui_engine.constants.*;
 import net.mslivo.core.engine.ui_engine.media.UIEngineBaseMedia_8x8;
 import net.mslivo.core.engine.ui_engine.rendering.NestedFrameBuffer;
+import net.mslivo.core.engine.ui_engine.profiler.FrameProfiler;
 import net.mslivo.core.engine.ui_engine.rendering.PrimitiveRenderer;
+import net.mslivo.core.engine.ui_engine.rendering.RenderStats;
 import net.mslivo.core.engine.ui_engine.rendering.SpriteRenderer;
 import net.mslivo.core.engine.ui_engine.state.UIEngineState;
 import net.mslivo.core.engine.ui_engine.state.config.UIConfig;
@@ -26,7 +30,9 @@ import net.mslivo.core.engine.ui_engine.state.input.UIInputProcessor;
 import net.mslivo.core.engine.ui_engine.ui.Window;
 import net.mslivo.core.engine.ui_engine.ui.actions.CommonActions;
 import net.mslivo.core.engine.ui_engine.ui.actions.UpdateAction;
+import net.mslivo.core.engine.ui_engine.ui.actions.UpdateActionWheel;
 import net.mslivo.core.engine.ui_engine.ui.components.Component;
+import net.mslivo.core.engine.ui_engine.ui.components.ComponentIndex;
 import net.mslivo.core.engine.ui_engine.ui.components.button.Button;
 import net.mslivo.core.engine.ui_engine.ui.components.button.ImageButton;
 import net.mslivo.core.engine.ui_engine.ui.components.button.TextButton;
@@ -88,13 +94,20 @@ public final class UIEngine<T extends UIEngineAdapter> {
     }
 
     public UIEngine(T uiAdapter, MediaManager mediaManager, int resolutionWidth, int resolutionHeight, VIEWPORT_MODE viewportMode, boolean gamePadSupport) {
+        this(uiAdapter, mediaManager, resolutionWidth, resolutionHeight, viewportMode, gamePadSupport, 1);
+    }
+
+    /**
+     * uiTextureUnits > 1 lets the UI SpriteRenderer batch sprites of several textures per draw call, see {@link SpriteRenderer}.
+     */
+    public UIEngine(T uiAdapter, MediaManager mediaManager, int resolutionWidth, int resolutionHeight, VIEWPORT_MODE viewportMode, boolean gamePadSupport, int uiTextureUnits) {
         if (uiAdapter == null || mediaManager == null) {
             throw new RuntimeException("Cannot initialize UIEngine: missing parameters");
         }
         this.uiAdapter = uiAdapter;
         this.mediaManager = mediaManager;
         /* Setup */
-        this.uiEngineState = initializeInputState(resolutionWidth, resolutionHeight, viewportMode, gamePadSupport, TILE_SIZE.MODE_8x8);
+        this.uiEngineState = initializeInputState(resolutionWidth, resolutionHeight, viewportMode, gamePadSupport, TILE_SIZE.MODE_8x8, uiTextureUnits);
         this.api = new API(this.uiEngineState, mediaManager);
 
         Gdx.graphics.setSystemCursor(Cursor.SystemCursor.None);
@@ -105,7 +118,7 @@ public final class UIEngine<T extends UIEngineAdapter> {
     }
 
 
-    private UIEngineState initializeInputState(int resolutionWidth, int resolutionHeight, VIEWPORT_MODE viewportMode, boolean gamePadSupport, TILE_SIZE tileSize) {
+    private UIEngineState initializeInputState(int resolutionWidth, int resolutionHeight, VIEWPORT_MODE viewportMode, boolean gamePadSupport, TILE_SIZE tileSize, int uiTextureUnits) {
         UIEngineState newUIEngineState = new UIEngineState();
 
         //  ----- Paramters
@@ -130,12 +143,17 @@ public final class UIEngine<T extends UIEngineAdapter> {
         newUIEngineState.frameBuffer_app.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
 
         // -----  GUI
-        newUIEngineState.spriteRenderer_ui = new SpriteRenderer(this.mediaManager);
+        newUIEngineState.spriteRenderer_ui = new SpriteRenderer(this.mediaManager, null, SpriteRenderer.SIZE_MAX, false, uiTextureUnits);
         newUIEngineState.spriteRenderer_ui.setBlendFunctionSeparateResetValues(GL32.GL_SRC_ALPHA, GL32.GL_ONE_MINUS_SRC_ALPHA, GL32.GL_ONE, GL32.GL_ONE_MINUS_SRC_ALPHA);
 
         newUIEngineState.primitiveRenderer_ui = new PrimitiveRenderer();
         newUIEngineState.primitiveRenderer_ui.setBlendFunctionSeparateResetValues(GL32.GL_SRC_ALPHA, GL32.GL_ONE_MINUS_SRC_ALPHA, GL32.GL_ONE, GL32.GL_ONE_MINUS_SRC_ALPHA);
 
+        newUIEngineState.renderStats = new RenderStats();
+        newUIEngineState.frameProfiler = new FrameProfiler();
+        newUIEngineState.renderStats.addSpriteRenderer(RenderStats.SOURCE_UI_SPRITE_RENDERER, newUIEngineState.spriteRenderer_ui);
+        newUIEngineState.renderStats.addPrimitiveRenderer(RenderStats.SOURCE_UI_PRIMITIVE_RENDERER, newUIEngineState.primitiveRenderer_ui);
+
         newUIEngineState.camera_ui = new OrthographicCamera(newUIEngineState.resolutionWidth, newUIEngineState.resolutionHeight);
         newUIEngineState.camera_ui.setToOrtho(false, newUIEngineState.resolutionWidth, newUIEngineState.resolutionHeight);
         newUIEngineState.camera_ui.update();
@@ -143,6 +161,10 @@ public final class UIEngine<T extends UIEngineAdapter> {
         newUIEngineState.frameBuffer_uiComponent.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
         newUIEngineState.frameBuffer_uiModal = new NestedFrameBuffer(Pixmap.Format.RGBA8888, newUIEngineState.resolutionWidth, newUIEngineState.resolutionHeight, false);
         newUIEngineState.frameBuffer_uiModal.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        newUIEngineState.uiComponentLayerDirty = true;
+        newUIEngineState.uiModalLayerDirty = true;
+        newUIEngineState.render_layerAnimated = false;
+        newUIEngineState.matrix4_windowFrameBuffer = new Matrix4();
         // ----- UpScaler
         newUIEngineState.upscaleFactor_screen = UICommonUtils.viewport_determineUpscaleFactor(newUIEngineState.viewportMode, newUIEngineState.resolutionWidth, newUIEngineState.resolutionHeight);
         newUIEngineState.textureFilter_screen = UICommonUtils.viewport_determineUpscaleTextureFilter(newUIEngineState.viewportMode);
@@ -155,6 +177,7 @@ public final class UIEngine<T extends UIEngineAdapter> {
         // -----  GUI
         newUIEngineState.windows = new ArrayList<>();
         newUIEngineState.screenComponents = new ArrayList<>();
+        newUIEngineState.screenComponentIndex = new ComponentIndex();
         newUIEngineState.openContextMenu = null;
         newUIEngineState.pressedContextMenuItem = null;
         newUIEngineState.displayedContextMenuWidth = 0;
@@ -180,8 +203,11 @@ public final class UIEngine<T extends UIEngineAdapter> {
         newUIEngineState.notifications = new ArrayList<>();
         newUIEngineState.hotKeys = new ArrayList<>();
         newUIEngineState.appViewPorts = new ArrayList<>();
-        newUIEngineState.singleUpdateActions = new ArrayList<>();
-        newUIEngineState.singleUpdateActionsRemoveQueue = new ArrayDeque<>();
+        newUIEngineState.updateActionWheel = new UpdateActionWheel();
+        newUIEngineState.updateActionWheel.slots = new UpdateAction[UpdateActionWheel.SLOTS + 1];
+        newUIEngineState.updateActionWheel.currentTime = 0;
+        newUIEngineState.updateActionWheel.due = new UpdateAction[64];
+        newUIEngineState.updateActionWheel.dueSize = 0;
         // ----- Temp GUI Variables
         newUIEngineState.draggedWindow = null;
         newUIEngineState.draggedWindow_offset = new GridPoint2();
@@ -219,6 +245,11 @@ public final class UIEngine<T extends UIEngineAdapter> {
         newUIEngineState.lastUIMouseHover = null;
         newUIEngineState.cursor = null;
         newUIEngineState.cursorArrayIndex = 0;
+        newUIEngineState.layerCaching_lastUIMouseHover = null;
+        newUIEngineState.layerCaching_lastMouseX = 0;
+        newUIEngineState.layerCaching_lastMouseY = 0;
+        newUIEngineState.layerCaching_lastCursor = null;
+        newUIEngineState.layerCaching_lastCursorArrayIndex = 0;
         newUIEngineState.mouseTool = null;
         newUIEngineState.overrideCursor = null;
         newUIEngineState.overrideCursorArrayIndex = 0;
@@ -252,16 +283,84 @@ public final class UIEngine<T extends UIEngineAdapter> {
     }
 
     public void update() {
+        final FrameProfiler profiler = uiEngineState.frameProfiler;
+        final long updateStart = profiler.start(FRAME_PHASE.UPDATE);
+
         // UI
+        long phaseStart = profiler.start(FRAME_PHASE.UPDATE_MOUSE_CONTROL);
         this.updateMouseControl();
-        this.updateUI(); // Main UI Updates happen here
+        profiler.end(FRAME_PHASE.UPDATE_MOUSE_CONTROL, phaseStart);
+        this.updateUI(profiler); // Main UI Updates happen here
+        phaseStart = profiler.start(FRAME_PHASE.UPDATE_CURSOR);
         this.updateMouseCursor();
+        this.updateLayerCaching();
+        profiler.end(FRAME_PHASE.UPDATE_CURSOR, phaseStart);
 
         // Update Game
+        phaseStart = profiler.start(FRAME_PHASE.UPDATE_APP);
         this.uiAdapter.update();
+        profiler.end(FRAME_PHASE.UPDATE_APP, phaseStart);
 
         // Reset Input Events
         this.uiEngineState.inputEvents.reset();
+        profiler.end(FRAME_PHASE.UPDATE, updateStart);
+    }
+
+    private void updateLayerCaching() {
+        final UIInputEvents inputEvents = uiEngineState.inputEvents;
+
+        // Input
+        if (inputEvents.mouseDown || inputEvents.mouseUp || inputEvents.mouseDoubleClick || inputEvents.mouseDragged || inputEvents.mouseScrolled ||
+                inputEvents.keyDown || inputEvents.keyUp || inputEvents.keyTyped ||
+                inputEvents.gamePadButtonDown || inputEvents.gamePadButtonUp) {
+            UICommonUtils.ui_markLayersDirty(uiEngineState);
+            UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.lastUIMouseHover);
+            UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.focusedTextField);
+        }
+
+        // Hover
+        if (uiEngineState.lastUIMouseHover != uiEngineState.layerCaching_lastUIMouseHover) {
+            UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.layerCaching_lastUIMouseHover);
+            UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.lastUIMouseHover);
+            uiEngineState.layerCaching_lastUIMouseHover = uiEngineState.lastUIMouseHover;
+        }
+
+        // Ongoing Interactions, a dragged window only needs to be composited again
+        if (uiEngineState.draggedWindow != null) UICommonUtils.ui_markLayersDirty(uiEngineState);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.pressedButton);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.pressedScrollBarVertical);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.pressedScrollBarHorizontal);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.pressedKnob);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.pressedCanvas);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.pressedAppViewPort);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.pressedTextField);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.focusedTextField);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.draggedGrid);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.pressedGrid);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.pressedCheckBox);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.draggedList);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.pressedList);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.openComboBox);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.pressedComboBoxItem);
+        UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.pressedContextMenuItem);
+        if (uiEngineState.draggedList != null || uiEngineState.draggedGrid != null)
+            UICommonUtils.ui_markDirty(uiEngineState, uiEngineState.lastUIMouseHover);
+
+        // Cursor
+        if (uiEngineState.mouse_ui.x != uiEngineState.layerCaching_lastMouseX || uiEngineState.mouse_ui.y != uiEngineState.layerCaching_lastMouseY ||
+                uiEngineState.cursor != uiEngineState.layerCaching_lastCursor || uiEngineState.cursorArrayIndex != uiEngineState.layerCaching_lastCursorArrayIndex) {
+            uiEngineState.layerCaching_lastMouseX = uiEngineState.mouse_ui.x;
+            uiEngineState.layerCaching_lastMouseY = uiEngineState.mouse_ui.y;
+            uiEngineState.layerCaching_lastCursor = uiEngineState.cursor;
+            uiEngineState.layerCaching_lastCursorArrayIndex = uiEngineState.cursorArrayIndex;
+            uiEngineState.uiModalLayerDirty = true;
+        }
+
+        // Modal Layer Elements
+        if (uiEngineState.tooltip != null || uiEngineState.fadeOutTooltip != null || !uiEngineState.notifications.isEmpty() ||
+                uiEngineState.openContextMenu != null || uiEngineState.openMouseTextInput != null) {
+            uiEngineState.uiModalLayerDirty = true;
+        }
     }
 
     private void updateMouseControl() {
@@ -1586,22 +1685,33 @@ public final class UIEngine<T extends UIEngineAdapter> {
         }
     }
 
-    private void updateUI() {
+    private void updateUI(FrameProfiler profiler) {
 
+        long phaseStart = profiler.start(FRAME_PHASE.UPDATE_MOUSE_INTERACTIONS);
         updateUI_animationTimer();
 
         updateUI_mouseInteractions();
+        profiler.end(FRAME_PHASE.UPDATE_MOUSE_INTERACTIONS, phaseStart);
 
+        phaseStart = profiler.start(FRAME_PHASE.UPDATE_KEY_INTERACTIONS);
         updateUI_keyInteractions();
+        profiler.end(FRAME_PHASE.UPDATE_KEY_INTERACTIONS, phaseStart);
 
+        phaseStart = profiler.start(FRAME_PHASE.UPDATE_COMPONENTS);
         updateUI_continuousComponentActivities();
+        profiler.end(FRAME_PHASE.UPDATE_COMPONENTS, phaseStart);
 
+        phaseStart = profiler.start(FRAME_PHASE.UPDATE_ACTIONS);
         updateUI_executeUpdateActions();
+        profiler.end(FRAME_PHASE.UPDATE_ACTIONS, phaseStart);
 
+        phaseStart = profiler.start(FRAME_PHASE.UPDATE_NOTIFICATIONS);
         updateUI_notifications();
+        profiler.end(FRAME_PHASE.UPDATE_NOTIFICATIONS, phaseStart);
 
+        phaseStart = profiler.start(FRAME_PHASE.UPDATE_TOOLTIPS);
         updateUI_toolTip();
-
+        profiler.end(FRAME_PHASE.UPDATE_TOOLTIPS, phaseStart);
     }
 
     private void updateUI_animationTimer() {
@@ -1611,30 +1721,17 @@ public final class UIEngine<T extends UIEngineAdapter> {
     }
 
     private void updateUI_executeUpdateActions() {
-        // for(int i) is used to avoid iterator creation and avoid concurrentModification
-        // If UpdateActions are removing/adding other update actions they are caught on the next update/frame
-
-        // ScreenComponent UpdateActions
+        // Only due actions are touched: screen component, window, window component and single UpdateActions are scheduled in the UpdateActionWheel
+        // Actions are collected first, if UpdateActions are adding other update actions they are caught on the next update/frame
         long currentTimeMillis = System.currentTimeMillis();
-        for (int i = 0; i < uiEngineState.screenComponents.size(); i++) {
-            Component component = uiEngineState.screenComponents.get(i);
-            for (int i2 = 0; i2 < component.updateActions.size(); i2++) {
-                actions_executeUpdateAction(component.updateActions.get(i2), currentTimeMillis);
-            }
-        }
-        for (int i = 0; i < uiEngineState.windows.size(); i++) {
-            // Window UpdateActions
-            Window window = uiEngineState.windows.get(i);
-            for (int i2 = 0; i2 < window.updateActions.size(); i2++) {
-                actions_executeUpdateAction(window.updateActions.get(i2), currentTimeMillis);
-            }
-            // Window Component UpdateActions
-            for (int i2 = 0; i2 < window.components.size(); i2++) {
-                Component component = window.components.get(i2);
-                for (int i3 = 0; i3 < component.updateActions.size(); i3++) {
-                    actions_executeUpdateAction(component.updateActions.get(i3), currentTimeMillis);
-                }
-            }
+        final UpdateActionWheel wheel = uiEngineState.updateActionWheel;
+        final int dueSize = UICommonUtils.updateActionWheel_collectDue(uiEngineState, currentTimeMillis);
+        for (int i = 0; i < dueSize; i++) {
+            UpdateAction updateAction = wheel.due[i];
+            wheel.due[i] = null;
+            if (updateAction.wheelSlot != UpdateActionWheel.SLOT_PENDING) continue; // removed by a previous action
+            actions_executeUpdateAction(updateAction, currentTimeMillis);
+            UICommonUtils.updateActionWheel_reschedule(uiEngineState, updateAction);
         }
 
         // Tooltip
@@ -1643,18 +1740,6 @@ public final class UIEngine<T extends UIEngineAdapter> {
                 actions_executeUpdateAction(uiEngineState.tooltip.updateActions.get(i), currentTimeMillis);
             }
         }
-
-        // Engine SingleUpdateActions
-        for (int i = 0; i < uiEngineState.singleUpdateActions.size(); i++) {
-            UpdateAction updateAction = uiEngineState.singleUpdateActions.get(i);
-            if (this.actions_executeUpdateAction(updateAction, currentTimeMillis)) {
-                uiEngineState.singleUpdateActionsRemoveQueue.push(updateAction);
-            }
-        }
-        UpdateAction removeUpdateAction;
-        while ((removeUpdateAction = uiEngineState.singleUpdateActionsRemoveQueue.pollFirst()) != null) {
-            uiEngineState.singleUpdateActions.remove(removeUpdateAction);
-        }
     }
 
     private void updateUI_toolTip() {
@@ -1873,33 +1958,57 @@ public final class UIEngine<T extends UIEngineAdapter> {
 
     public void render(boolean drawToScreen) {
         final SpriteRenderer spriteRenderer = uiEngineState.spriteRenderer_ui;
+        final FrameProfiler profiler = uiEngineState.frameProfiler;
+        final long renderStart = profiler.start(FRAME_PHASE.RENDER);
+        long phaseStart;
 
         // Draw App
         {
             // Draw Main FrameBuffer
+            phaseStart = profiler.start(FRAME_PHASE.RENDER_APP);
             uiEngineState.frameBuffer_app.begin();
             this.uiAdapter.render(uiEngineState.camera_app, null);
             uiEngineState.frameBuffer_app.end();
+            profiler.end(FRAME_PHASE.RENDER_APP, phaseStart);
             // Draw UI AppViewport FrameBuffers
+            phaseStart = profiler.start(FRAME_PHASE.RENDER_APP_VIEWPORTS);
             for (int i = 0; i < this.uiEngineState.appViewPorts.size(); i++) {
                 renderGameViewPortFrameBuffer(uiEngineState.appViewPorts.get(i));
             }
+            profiler.end(FRAME_PHASE.RENDER_APP_VIEWPORTS, phaseStart);
         }
 
 
-        { // Draw GUI
-            uiEngineState.frameBuffer_uiComponent.begin();
-            render_glClear();
-            this.renderUIComponentLayer();
-            uiEngineState.frameBuffer_uiComponent.end();
+        { // Draw GUI, unchanged layers are reused if layer caching is enabled
+            final boolean layerCaching = uiEngineState.config.ui_layerCaching;
 
-            uiEngineState.frameBuffer_uiModal.begin();
-            render_glClear();
-            this.renderUIModalLayer();
-            uiEngineState.frameBuffer_uiModal.end();
+            phaseStart = profiler.start(FRAME_PHASE.RENDER_UI_COMPONENT_LAYER);
+            if (!layerCaching || uiEngineState.uiComponentLayerDirty) {
+                uiEngineState.uiComponentLayerDirty = false;
+                uiEngineState.render_layerAnimated = false;
+                uiEngineState.frameBuffer_uiComponent.begin();
+                render_glClear();
+                this.renderUIComponentLayer();
+                uiEngineState.frameBuffer_uiComponent.end();
+                if (uiEngineState.render_layerAnimated) uiEngineState.uiComponentLayerDirty = true;
+            }
+            profiler.end(FRAME_PHASE.RENDER_UI_COMPONENT_LAYER, phaseStart);
+
+            phaseStart = profiler.start(FRAME_PHASE.RENDER_UI_MODAL_LAYER);
+            if (!layerCaching || uiEngineState.uiModalLayerDirty) {
+                uiEngineState.uiModalLayerDirty = false;
+                uiEngineState.render_layerAnimated = false;
+                uiEngineState.frameBuffer_uiModal.begin();
+                render_glClear();
+                this.renderUIModalLayer();
+                uiEngineState.frameBuffer_uiModal.end();
+                if (uiEngineState.render_layerAnimated) uiEngineState.uiModalLayerDirty = true;
+            }
+            profiler.end(FRAME_PHASE.RENDER_UI_MODAL_LAYER, phaseStart);
         }
 
         { // Draw to Screen Buffer, Combine GUI+App Buffer and Upscale
+            phaseStart = profiler.start(FRAME_PHASE.RENDER_COMPOSITE);
             uiEngineState.frameBuffer_screen.begin();
             render_glClear();
             this.uiAdapter.renderComposite(uiEngineState.camera_ui,
@@ -1910,10 +2019,12 @@ public final class UIEngine<T extends UIEngineAdapter> {
                     UICommonUtils.window_isModalOpen(uiEngineState)
             );
             uiEngineState.frameBuffer_screen.end();
+            profiler.end(FRAME_PHASE.RENDER_COMPOSITE, phaseStart);
         }
 
         {
             // Draw to Screen
+            phaseStart = profiler.start(FRAME_PHASE.RENDER_SCREEN);
             if (drawToScreen) {
                 uiEngineState.viewport_screen.apply();
                 spriteRenderer.begin();
@@ -1922,9 +2033,15 @@ public final class UIEngine<T extends UIEngineAdapter> {
                 spriteRenderer.end();
                 spriteRenderer.setTweakReset();
             }
+            profiler.end(FRAME_PHASE.RENDER_SCREEN, phaseStart);
         }
 
+        uiEngineState.renderStats.sample();
+        profiler.end(FRAME_PHASE.RENDER, renderStart);
+    }
 
+    private void render_checkAnimated(CMediaSprite cMediaSprite) {
+        if (cMediaSprite instanceof CMediaAnimation) uiEngineState.render_layerAnimated = true;
     }
 
     private void render_glClear() {
@@ -1940,6 +2057,7 @@ public final class UIEngine<T extends UIEngineAdapter> {
             this.uiAdapter.render(appViewPort.camera, appViewPort);
             appViewPort.frameBuffer.end();
             appViewPort.updateTimer = System.currentTimeMillis();
+            UICommonUtils.ui_markDirty(uiEngineState, appViewPort);
         }
     }
 
@@ -2080,6 +2198,7 @@ public final class UIEngine<T extends UIEngineAdapter> {
         if (uiEngineState.cursor != null) {
             int center_x = mediaManager.spriteWidth(uiEngineState.cursor) / 2;
             int center_y = mediaManager.spriteHeight(uiEngineState.cursor) / 2;
+            render_checkAnimated(uiEngineState.cursor);
             spriteRenderer.drawCMediaSprite(uiEngineState.cursor, uiEngineState.cursorArrayIndex, UICommonUtils.ui_getAnimationTimer(uiEngineState),
                     (uiEngineState.mouse_ui.x - center_x), (uiEngineState.mouse_ui.y - center_y));
         }
@@ -2418,6 +2537,7 @@ public final class UIEngine<T extends UIEngineAdapter> {
                     render_setColor(spriteRenderer, imageSegment.contentColor, contentAlpha, false);
                     int width = mediaManager.spriteWidth(imageSegment.image);
                     int height = mediaManager.spriteHeight(imageSegment.image);
+                    render_checkAnimated(imageSegment.image);
                     spriteRenderer.drawCMediaSprite(imageSegment.image, imageSegment.arrayIndex, UICommonUtils.ui_getAnimationTimer(uiEngineState), image_x, image_y,
                             width, height, 0, 0, width, height, imageSegment.flipX, imageSegment.flipY
                     );
@@ -2435,16 +2555,13 @@ public final class UIEngine<T extends UIEngineAdapter> {
                         case RIGHT -> TS(tooltip_width) - TS(canvasSegment.width);
                     };
 
-                    for (int icx = 0; icx < width; icx++) {
-                        for (int icy = 0; icy < height; icy++) {
-                            float a = canvasSegment.colorMap.a[icx][icy];
-                            if (a == 0) continue;
-                            float r = canvasSegment.colorMap.r[icx][icy];
-                            float g = canvasSegment.colorMap.g[icx][icy];
-                            float b = canvasSegment.colorMap.b[icx][icy];
+                    for (int icy = 0; icy < height; icy++) {
+                        for (int icx = 0; icx < width; icx++) {
+                            int rgba8888 = canvasSegment.colorMap.data[(icy * canvasSegment.colorMap.width) + icx];
+                            if ((rgba8888 & 0xFF) == 0) continue;
                             int vx = canvas_x + icx;
                             int vy = tooltip_y + TS(iy) + icy;
-                            primitiveRenderer.setVertexColor(r, g, b, a);
+                            primitiveRenderer.setVertexColor(rgba8888);
                             primitiveRenderer.vertex(vx, vy);
                         }
                     }
@@ -2530,6 +2647,57 @@ public final class UIEngine<T extends UIEngineAdapter> {
                 return;
         }
 
+        if (window.cached && !(uiEngineState.openComboBox != null && uiEngineState.openComboBox.addedToWindow == window)) {
+            // Combobox menus can extend beyond the window bounds and are never cached
+            render_drawWindowCached(window);
+        } else {
+            render_drawWindowContent(window);
+        }
+    }
+
+    private void render_drawWindowCached(Window window) {
+        final SpriteRenderer spriteRenderer = uiEngineState.spriteRenderer_ui;
+        final PrimitiveRenderer primitiveRenderer = uiEngineState.primitiveRenderer_ui;
+        final int width = TS(window.width);
+        final int height = TS(window.height);
+
+        if (window.frameBuffer == null || window.frameBuffer.getWidth() != width || window.frameBuffer.getHeight() != height) {
+            UICommonUtils.window_disposeFrameBuffer(window);
+            window.frameBuffer = new NestedFrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+            window.frameBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        }
+
+        if (window.frameBufferDirty) {
+            final boolean layerAnimated = uiEngineState.render_layerAnimated;
+            window.frameBufferDirty = false;
+            uiEngineState.render_layerAnimated = false;
+            spriteRenderer.end();
+
+            uiEngineState.matrix4_windowFrameBuffer.setToOrtho2D(window.x, window.y, width, height);
+            spriteRenderer.setProjectionMatrix(uiEngineState.matrix4_windowFrameBuffer);
+            primitiveRenderer.setProjectionMatrix(uiEngineState.matrix4_windowFrameBuffer);
+            window.frameBuffer.begin();
+            render_glClear();
+            spriteRenderer.begin();
+            render_drawWindowContent(window);
+            spriteRenderer.end();
+            window.frameBuffer.end();
+            spriteRenderer.setProjectionMatrix(uiEngineState.camera_ui.combined);
+            primitiveRenderer.setProjectionMatrix(uiEngineState.camera_ui.combined);
+
+            if (uiEngineState.render_layerAnimated) window.frameBufferDirty = true;
+            uiEngineState.render_layerAnimated = layerAnimated || uiEngineState.render_layerAnimated;
+            spriteRenderer.begin();
+        }
+
+        // Buffer content is premultiplied
+        spriteRenderer.setTweakAndColorReset();
+        spriteRenderer.setBlendFunctionSeparate(GL32.GL_ONE, GL32.GL_ONE_MINUS_SRC_ALPHA, GL32.GL_ONE, GL32.GL_ONE_MINUS_SRC_ALPHA);
+        spriteRenderer.draw(window.frameBuffer.getFlippedTextureRegion(), window.x, window.y, width, height);
+        spriteRenderer.setBlendFunctionReset();
+    }
+
+    private void render_drawWindowContent(Window window) {
         final SpriteRenderer spriteRenderer = uiEngineState.spriteRenderer_ui;
         final float windowAlpha = window.color.a;
 
@@ -2626,8 +2794,10 @@ public final class UIEngine<T extends UIEngineAdapter> {
                 } else if (button instanceof ImageButton imageButton) {
                     spriteRenderer.saveState();
                     render_setColor(spriteRenderer, imageButton.color2, componentAlpha, componentGrayScale);
-                    if (imageButton.image != null)
+                    if (imageButton.image != null) {
+                        render_checkAnimated(imageButton.image);
                         spriteRenderer.drawCMediaSprite(imageButton.image, imageButton.arrayIndex, UICommonUtils.ui_getAnimationTimer(uiEngineState), UICommonUtils.component_getAbsoluteX(imageButton) + imageButton.contentOffset_x + pressed_offset, UICommonUtils.component_getAbsoluteY(imageButton) + imageButton.contentOffset_y - pressed_offset);
+                    }
                     spriteRenderer.loadState();
                 }
 
@@ -2637,6 +2807,7 @@ public final class UIEngine<T extends UIEngineAdapter> {
                 if (image.image != null) {
                     int width = mediaManager.spriteWidth(image.image);
                     int height = mediaManager.spriteHeight(image.image);
+                    render_checkAnimated(image.image);
                     spriteRenderer.drawCMediaSprite(image.image, image.arrayIndex, UICommonUtils.ui_getAnimationTimer(uiEngineState),
                             UICommonUtils.component_getAbsoluteX(image), UICommonUtils.component_getAbsoluteY(image),
                             width, height, 0, 0, width, height, image.flipX, image.flipY
@@ -2783,28 +2954,34 @@ public final class UIEngine<T extends UIEngineAdapter> {
             case Canvas canvas -> {
                 int width = TS(canvas.width);
                 int height = TS(canvas.height);
-                spriteRenderer.end();
-                primitiveRenderer.begin(GL32.GL_POINTS);
-                render_setColor(primitiveRenderer, Color.GRAY, componentAlpha, componentGrayScale);
-                for (int icx = 0; icx < width; icx++) {
+                if (canvas.textureMode) {
+                    UICommonUtils.canvas_updateTexture(canvas);
+                    spriteRenderer.saveState();
+                    render_setColor(spriteRenderer, Color.GRAY, componentAlpha, componentGrayScale);
+                    spriteRenderer.draw(canvas.texture, UICommonUtils.component_getAbsoluteX(canvas), UICommonUtils.component_getAbsoluteY(canvas), width, height, 0f, 0f, 1f, 1f);
+                    spriteRenderer.loadState();
+                } else {
+                    spriteRenderer.end();
+                    primitiveRenderer.begin(GL32.GL_POINTS);
+                    render_setColor(primitiveRenderer, Color.GRAY, componentAlpha, componentGrayScale);
                     for (int icy = 0; icy < height; icy++) {
-                        float a = canvas.colorMap.a[icx][icy];
-                        if (a == 0f) continue;
-                        float r = canvas.colorMap.r[icx][icy];
-                        float g = canvas.colorMap.g[icx][icy];
-                        float b = canvas.colorMap.b[icx][icy];
+                        for (int icx = 0; icx < width; icx++) {
+                            int rgba8888 = canvas.colorMap.data[(icy * canvas.colorMap.width) + icx];
+                            if ((rgba8888 & 0xFF) == 0) continue;
 
-                        primitiveRenderer.setVertexColor(r, g, b, a);
-                        primitiveRenderer.vertex(UICommonUtils.component_getAbsoluteX(canvas) + icx, UICommonUtils.component_getAbsoluteY(canvas) + icy);
+                            primitiveRenderer.setVertexColor(rgba8888);
+                            primitiveRenderer.vertex(UICommonUtils.component_getAbsoluteX(canvas) + icx, UICommonUtils.component_getAbsoluteY(canvas) + icy);
+                        }
                     }
+                    primitiveRenderer.setTweakAndColorReset();
+                    primitiveRenderer.end();
+                    spriteRenderer.begin();
                 }
-                primitiveRenderer.setTweakAndColorReset();
-                primitiveRenderer.end();
-                spriteRenderer.begin();
 
                 for (int i = (canvas.canvasImages.size() - 1); i >= 0; i--) {
                     CanvasImage canvasImage = canvas.canvasImages.get(i);
                     if (canvasImage.fadeOut) {
+                        uiEngineState.render_layerAnimated = true;
                         canvasImage.color.a = Math.clamp(canvasImage.color.a - canvasImage.fadeOutSpeed, 0f, 1f);
                         if (canvasImage.color.a <= 0) {
                             canvas.canvasImages.remove(i);
@@ -2816,6 +2993,7 @@ public final class UIEngine<T extends UIEngineAdapter> {
                         render_setColor(spriteRenderer, canvasImage.color, componentAlpha, componentGrayScale);
                         int imageWidthOffset = mediaManager.spriteWidth(canvasImage.image) / 2;
                         int imageHeightOffset = mediaManager.spriteHeight(canvasImage.image) / 2;
+                        render_checkAnimated(canvasImage.image);
                         spriteRenderer.drawCMediaSprite(canvasImage.image,
                                 canvasImage.arrayIndex, UICommonUtils.ui_getAnimationTimer(uiEngineState),
                                 UICommonUtils.component_getAbsoluteX(canvas) + canvasImage.x - imageWidthOffset,
@@ -2854,6 +3032,7 @@ public final class UIEngine<T extends UIEngineAdapter> {
                     if (UICommonUtils.textField_isFocused(uiEngineState, textField)) {
                         int xOffset = render_textWidth(textField.content.substring(textField.offset, textField.markerPosition)) + 2;
                         if (xOffset < TS(textField.width)) {
+                            uiEngineState.render_layerAnimated = true;
                             spriteRenderer.drawCMediaAnimation(UIEngineBaseMedia_8x8.UI_TEXTFIELD_CARET, UICommonUtils.ui_getAnimationTimer(uiEngineState), UICommonUtils.component_getAbsoluteX(textField) + xOffset, UICommonUtils.component_getAbsoluteY(textField));
                         }
                     }
@@ -3218,6 +3397,7 @@ public final class UIEngine<T extends UIEngineAdapter> {
         int xOffset = (scale - renderWidth) / 2;
         int yOffset = (scale - renderHeight) / 2;
 
+        render_checkAnimated(icon);
         spriteRenderer.drawCMediaSprite(icon, arrayIndex, UICommonUtils.ui_getAnimationTimer(uiEngineState),
                 x + xOffset, y + yOffset, renderWidth, renderHeight, 0, 0, width, height, flipX, flipY);
         spriteRenderer.loadState();
@@ -3226,13 +3406,28 @@ public final class UIEngine<T extends UIEngineAdapter> {
     public void shutdown() {
         this.uiAdapter.shutdown();
 
+        // Canvas Textures & Window FrameBuffers
+        for (int i = 0; i < uiEngineState.screenComponents.size(); i++) {
+            if (uiEngineState.screenComponents.get(i) instanceof Canvas canvas)
+                UICommonUtils.canvas_disposeTexture(canvas);
+        }
+        for (int i = 0; i < uiEngineState.windows.size(); i++) {
+            Window window = uiEngineState.windows.get(i);
+            UICommonUtils.window_disposeFrameBuffer(window);
+            for (int i2 = 0; i2 < window.components.size(); i2++) {
+                if (window.components.get(i2) instanceof Canvas canvas)
+                    UICommonUtils.canvas_disposeTexture(canvas);
+            }
+        }
+
         // Lists
         uiEngineState.windows.clear();
 
         uiEngineState.modalWindowQueue.clear();
         uiEngineState.hotKeys.clear();
-        uiEngineState.singleUpdateActions.clear();
+        UICommonUtils.updateActionWheel_clear(uiEngineState);
         uiEngineState.screenComponents.clear();
+        uiEngineState.screenComponentIndex.valid = false;
         uiEngineState.notifications.clear();
         uiEngineState.appViewPorts.clear();
         uiEngineState.spriteRenderer_ui.dispose();
@@ -0,0 +1,27 @@
+package net.mslivo.core.engine.ui_engine.constants;
+
+public enum FRAME_PHASE {
+    UPDATE("Update"),
+    UPDATE_MOUSE_CONTROL("Update: Mouse Control"),
+    UPDATE_MOUSE_INTERACTIONS("Update: Mouse Interactions"),
+    UPDATE_KEY_INTERACTIONS("Update: Key Interactions"),
+    UPDATE_COMPONENTS("Update: Components"),
+    UPDATE_ACTIONS("Update: Update Actions"),
+    UPDATE_NOTIFICATIONS("Update: Notifications"),
+    UPDATE_TOOLTIPS("Update: Tooltips"),
+    UPDATE_CURSOR("Update: Cursor & Layer Caching"),
+    UPDATE_APP("Update: App"),
+    RENDER("Render"),
+    RENDER_APP("Render: App"),
+    RENDER_APP_VIEWPORTS("Render: App Viewports"),
+    RENDER_UI_COMPONENT_LAYER("Render: Component Layer"),
+    RENDER_UI_MODAL_LAYER("Render: Modal Layer"),
+    RENDER_COMPOSITE("Render: Composite"),
+    RENDER_SCREEN("Render: Screen");
+
+    public final String text;
+
+    FRAME_PHASE(String text) {
+        this.text = text;
+    }
+}
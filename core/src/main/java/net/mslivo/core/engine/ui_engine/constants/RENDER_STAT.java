@@ -0,0 +1,16 @@
+package net.mslivo.core.engine.ui_engine.constants;
+
+public enum RENDER_STAT {
+    RENDER_CALLS("Render Calls"),
+    INTERMEDIATE_FLUSHES("Intermediate Flushes"),
+    SPRITES("Sprites"),
+    VERTICES("Vertices"),
+    TEXTURE_BINDS("Texture Binds"),
+    FRAMEBUFFER_SWITCHES("Framebuffer Switches");
+
+    public final String text;
+
+    RENDER_STAT(String text) {
+        this.text = text;
+    }
+}
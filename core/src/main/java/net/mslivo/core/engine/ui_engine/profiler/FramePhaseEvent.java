@@ -0,0 +1,23 @@
+package net.mslivo.core.engine.ui_engine.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event committed by FrameProfiler for every timed phase while recording is enabled.
+ * Begins and ends with the phase, the duration is JFR's own.
+ */
+@Name("net.mslivo.FramePhase")
+@Label("Frame Phase")
+@Category({"PixelUIEngine", "Frame"})
+@Description("CPU time of one UIEngine update/render phase")
+@StackTrace(false)
+final class FramePhaseEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    String phase;
+
+}
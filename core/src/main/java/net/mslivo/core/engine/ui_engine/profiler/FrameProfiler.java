@@ -0,0 +1,196 @@
+package net.mslivo.core.engine.ui_engine.profiler;
+
+import net.mslivo.core.engine.ui_engine.constants.FRAME_PHASE;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * nanoTime instrumentation of UIEngine.update/render phases.
+ * The engine thread is the only writer: every phase keeps its last samples in a ring buffer whose write counter is
+ * published with lazySet, telemetry threads read without ever blocking the frame. In addition every phase has a
+ * log2 histogram since the last reset for percentiles over long runs, and phases can be committed as JFR events
+ * which begin with the phase, so JFR sees their real start and duration.
+ * Timings are CPU side only, GPU work is asynchronous. Disabled profiling costs one branch per phase.
+ */
+public final class FrameProfiler {
+
+    public static final int WINDOW_DEFAULT = 256;
+    public static final int HISTOGRAM_BUCKETS = 64;
+    private static final FRAME_PHASE[] PHASES = FRAME_PHASE.values();
+
+    private final int window;
+    private final int windowMask;
+    private final long[][] samples;
+    private final AtomicLongArray sampleCounts;
+    private final long[][] histograms;
+    private final long[] scratch;
+    private final FramePhaseEvent[] events;
+    private boolean enabled;
+    private boolean jfrEvents;
+
+    public FrameProfiler() {
+        this(WINDOW_DEFAULT);
+    }
+
+    /**
+     * window is rounded up to the next power of two.
+     */
+    public FrameProfiler(int window) {
+        this.window = Integer.highestOneBit(Math.max(window, 2) - 1) << 1;
+        this.windowMask = this.window - 1;
+        this.samples = new long[PHASES.length][this.window];
+        this.sampleCounts = new AtomicLongArray(PHASES.length);
+        this.histograms = new long[PHASES.length][HISTOGRAM_BUCKETS];
+        this.scratch = new long[this.window];
+        this.events = new FramePhaseEvent[PHASES.length];
+        this.enabled = false;
+        this.jfrEvents = false;
+    }
+
+    /**
+     * Starts timing phase and returns the start time to pass to end(), 0 if profiling is disabled.
+     */
+    public long start(FRAME_PHASE phase) {
+        if (!enabled) return 0L;
+        if (jfrEvents) {
+            FramePhaseEvent event = new FramePhaseEvent();
+            if (event.isEnabled()) {
+                event.phase = phase.text;
+                event.begin();
+                events[phase.ordinal()] = event;
+            }
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time since start for phase and commits its JFR event.
+     */
+    public void end(FRAME_PHASE phase, long start) {
+        if (start == 0L) return;
+        final long now = System.nanoTime();
+        record(phase, now - start);
+
+        final FramePhaseEvent event = events[phase.ordinal()];
+        if (event != null) {
+            events[phase.ordinal()] = null;
+            event.end();
+            if (event.shouldCommit()) event.commit();
+        }
+    }
+
+    public void record(FRAME_PHASE phase, long nanos) {
+        final int p = phase.ordinal();
+        final long count = sampleCounts.get(p);
+        samples[p][(int) (count & windowMask)] = nanos;
+        sampleCounts.lazySet(p, count + 1);
+        histograms[p][bucket(nanos)]++;
+    }
+
+    private static int bucket(long nanos) {
+        return 63 - Long.numberOfLeadingZeros(nanos | 1L);
+    }
+
+    public long last(FRAME_PHASE phase) {
+        final int p = phase.ordinal();
+        final long count = sampleCounts.get(p);
+        return count > 0 ? samples[p][(int) ((count - 1) & windowMask)] : 0L;
+    }
+
+    public synchronized long max(FRAME_PHASE phase) {
+        final int size = copySamples(phase, scratch);
+        long max = 0L;
+        for (int i = 0; i < size; i++) max = Math.max(max, scratch[i]);
+        return max;
+    }
+
+    public synchronized long avg(FRAME_PHASE phase) {
+        final int size = copySamples(phase, scratch);
+        if (size == 0) return 0L;
+        long sum = 0L;
+        for (int i = 0; i < size; i++) sum += scratch[i];
+        return sum / size;
+    }
+
+    /**
+     * Exact percentile (0-100) over the sample window.
+     */
+    public synchronized long percentile(FRAME_PHASE phase, float percentile) {
+        final int size = copySamples(phase, scratch);
+        if (size == 0) return 0L;
+        Arrays.sort(scratch, 0, size);
+        int index = (int) Math.ceil((Math.clamp(percentile, 0f, 100f) / 100f) * size) - 1;
+        return scratch[Math.clamp(index, 0, size - 1)];
+    }
+
+    /**
+     * Percentile (0-100) since the last reset from the log2 histogram, returns the upper bound of the matching bucket.
+     */
+    public long histogramPercentile(FRAME_PHASE phase, float percentile) {
+        final long[] histogram = histograms[phase.ordinal()];
+        long total = 0L;
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) total += histogram[i];
+        if (total == 0L) return 0L;
+        final long target = (long) Math.ceil((Math.clamp(percentile, 0f, 100f) / 100f) * total);
+        long cumulative = 0L;
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            cumulative += histogram[i];
+            if (cumulative >= target) return i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Copies the sample counts of phase into result, bucket i holds durations in [2^i, 2^(i+1)) nanoseconds.
+     */
+    public long[] histogram(FRAME_PHASE phase, long[] result) {
+        if (result == null || result.length < HISTOGRAM_BUCKETS) result = new long[HISTOGRAM_BUCKETS];
+        System.arraycopy(histograms[phase.ordinal()], 0, result, 0, HISTOGRAM_BUCKETS);
+        return result;
+    }
+
+    /**
+     * Copies the window samples of phase (oldest first) into result and returns their number.
+     */
+    public int copySamples(FRAME_PHASE phase, long[] result) {
+        final int p = phase.ordinal();
+        final long count = sampleCounts.get(p);
+        final int size = (int) Math.min(Math.min(count, window), result.length);
+        final long first = count - size;
+        for (int i = 0; i < size; i++) result[i] = samples[p][(int) ((first + i) & windowMask)];
+        return size;
+    }
+
+    public long sampleCount(FRAME_PHASE phase) {
+        return sampleCounts.get(phase.ordinal());
+    }
+
+    public void reset() {
+        for (int i = 0; i < PHASES.length; i++) {
+            sampleCounts.set(i, 0L);
+            Arrays.fill(histograms[i], 0L);
+        }
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isJfrEvents() {
+        return jfrEvents;
+    }
+
+    public void setJfrEvents(boolean jfrEvents) {
+        this.jfrEvents = jfrEvents;
+    }
+
+}
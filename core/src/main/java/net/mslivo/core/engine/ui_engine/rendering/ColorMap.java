@@ -4,8 +4,12 @@ public class ColorMap {
 
     public int width;
     public int height;
-    public float r[][];
-    public float g[][];
-    public float b[][];
-    public float a[][];
+    /* RGBA8888, row-major: data[(y * width) + x] */
+    public int[] data;
+    /* Dirty Region, x2/y2 exclusive */
+    public boolean dirty;
+    public int dirtyX1;
+    public int dirtyY1;
+    public int dirtyX2;
+    public int dirtyY2;
 }
@@ -0,0 +1,386 @@
+package net.mslivo.core.engine.ui_engine.rendering;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.*;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.NumberUtils;
+
+import java.util.Arrays;
+
+/**
+ * Draws many copies of one static unit shape with glDrawArraysInstanced.
+ * Per instance only position, size (RECT) and vertex color are uploaded, tint color and tweak are uniforms and changing them flushes the batch.
+ * A whole batch of up to size instances is a single draw call. Colors behave like in PrimitiveRenderer.
+ */
+public class InstancedPrimitiveRenderer {
+
+    public enum SHAPE {
+        POINT(GL32.GL_POINTS, new float[]{0f, 0f}, 2, 0.5f),
+        RECT(GL32.GL_TRIANGLE_STRIP, new float[]{0f, 0f, 1f, 0f, 0f, 1f, 1f, 1f}, 4, 0f);
+
+        private final int primitiveType;
+        private final float[] vertices;
+        private final int instanceComponents;
+        private final float positionOffset;
+
+        SHAPE(int primitiveType, float[] vertices, int instanceComponents, float positionOffset) {
+            this.primitiveType = primitiveType;
+            this.vertices = vertices;
+            this.instanceComponents = instanceComponents;
+            this.positionOffset = positionOffset;
+        }
+    }
+
+    private static final String INSTANCE_ATTRIBUTE = "a_instance";
+    private static final String VERTEX_COLOR_ATTRIBUTE = "a_vertexColor";
+
+    private static final String VERTEX_SHADER = """
+            attribute vec4 $POSITION_ATTRIBUTE;
+            attribute vec4 $INSTANCE_ATTRIBUTE;
+            attribute vec4 $VERTEXCOLOR_ATTRIBUTE;
+
+            uniform mat4 u_projTrans;
+            uniform vec4 u_color;
+            uniform vec4 u_tweak;
+
+            varying vec4 fragColor;
+
+            $TWEAK_FUNCTIONS
+
+            void main() {
+                gl_PointSize = 1.0;
+
+                // Position: unit shape scaled by instance size (points have no size, their unit shape is 0,0)
+                vec2 position = $INSTANCE_ATTRIBUTE.xy + ($POSITION_ATTRIBUTE.xy * $INSTANCE_ATTRIBUTE.zw);
+                gl_Position = u_projTrans * vec4(position, 0.0, 1.0);
+
+                fragColor = tweakColor($VERTEXCOLOR_ATTRIBUTE, u_color, u_tweak);
+            }
+            """
+            .replace("$TWEAK_FUNCTIONS", PrimitiveRenderer.TWEAK_FUNCTIONS)
+            .replace("$POSITION_ATTRIBUTE", ShaderProgram.POSITION_ATTRIBUTE)
+            .replace("$INSTANCE_ATTRIBUTE", INSTANCE_ATTRIBUTE)
+            .replace("$VERTEXCOLOR_ATTRIBUTE", VERTEX_COLOR_ATTRIBUTE);
+
+    private static final String FRAGMENT_SHADER = """
+                #ifdef GL_ES
+                    #define LOW lowp
+                    #define MED mediump
+                    #define HIGH highp
+                    precision mediump float;
+                #else
+                    #define MED
+                    #define LOW
+                    #define HIGH
+                #endif
+
+                varying vec4 fragColor;
+
+                void main() {
+                   gl_FragColor = fragColor;
+                }
+            """;
+
+    public static final int SIZE_DEFAULT = 131072;
+    private static final String ERROR_END_BEGIN = "InstancedPrimitiveRenderer.end must be called before begin.";
+    private static final String ERROR_BEGIN_END = "InstancedPrimitiveRenderer.begin must be called before end.";
+    private static final String ERROR_BEGIN_DRAW = "InstancedPrimitiveRenderer.begin must be called before drawing.";
+    private static final String FLUSH_WARNING = "%d intermediate flushes detected | instances=%d | %s";
+    private static final int RGB_SRC = 0, RGB_DST = 1, ALPHA_SRC = 2, ALPHA_DST = 3;
+
+    private final SHAPE shape;
+    private final Mesh mesh;
+    private final ShaderProgram shader;
+    private final int instanceSize;
+    private final float[] instances;
+    private final int u_projTrans;
+    private final int u_color;
+    private final int u_tweak;
+    private final Matrix4 projectionMatrix;
+    private final Color tempColor;
+    private final Color uniformColor;
+    private final boolean flushWarning;
+    private int idx;
+    private boolean drawing;
+    private int renderCalls;
+    private int totalRenderCalls;
+    private int intermediateFlushes;
+
+    private float color;
+    private float vertexColor;
+    private float tweak;
+    private final int[] blend;
+
+    private final float reset_tweak;
+    private final float reset_color;
+    private final float reset_vertexColor;
+    private final int[] reset_blend;
+
+    public InstancedPrimitiveRenderer(SHAPE shape) {
+        this(shape, SIZE_DEFAULT, false);
+    }
+
+    public InstancedPrimitiveRenderer(SHAPE shape, int size) {
+        this(shape, size, false);
+    }
+
+    public InstancedPrimitiveRenderer(SHAPE shape, int size, boolean flushWarning) {
+        if (size <= 0) throw new IllegalArgumentException("Instance buffer size must be > 0: " + size);
+        this.shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) throw new GdxRuntimeException("Error compiling shader: " + shader.getLog());
+        this.u_projTrans = shader.getUniformLocation("u_projTrans");
+        this.u_color = shader.getUniformLocation("u_color");
+        this.u_tweak = shader.getUniformLocation("u_tweak");
+        this.shape = shape;
+        this.instanceSize = shape.instanceComponents + 1;
+        this.instances = new float[size * instanceSize];
+
+        this.mesh = new Mesh(true, shape.vertices.length / 2, 0,
+                new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE));
+        this.mesh.setVertices(shape.vertices);
+        this.mesh.enableInstancedRendering(false, size,
+                new VertexAttribute(VertexAttributes.Usage.Generic, shape.instanceComponents, INSTANCE_ATTRIBUTE),
+                new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, VERTEX_COLOR_ATTRIBUTE));
+
+        this.projectionMatrix = new Matrix4().setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        this.tempColor = new Color(Color.GRAY);
+        this.uniformColor = new Color();
+        this.flushWarning = flushWarning;
+        this.idx = 0;
+        this.drawing = false;
+        this.renderCalls = this.totalRenderCalls = this.intermediateFlushes = 0;
+
+        this.reset_tweak = colorPackedRGBA(0.5f, 0.5f, 0.5f, 0.0f);
+        this.reset_color = colorPackedRGBA(0.5f, 0.5f, 0.5f, 1f);
+        this.reset_vertexColor = colorPackedRGBA(1f, 1f, 1f, 1f);
+        this.reset_blend = new int[]{GL32.GL_SRC_ALPHA, GL32.GL_ONE_MINUS_SRC_ALPHA, GL32.GL_SRC_ALPHA, GL32.GL_ONE_MINUS_SRC_ALPHA};
+        this.color = reset_color;
+        this.vertexColor = reset_vertexColor;
+        this.tweak = reset_tweak;
+        this.blend = new int[]{reset_blend[RGB_SRC], reset_blend[RGB_DST], reset_blend[ALPHA_SRC], reset_blend[ALPHA_DST]};
+    }
+
+    public void setProjectionMatrix(Matrix4 projection) {
+        if (Arrays.equals(projectionMatrix.val, projection.val)) return;
+        if (drawing) flush();
+        this.projectionMatrix.set(projection);
+        if (drawing) shader.setUniformMatrix(u_projTrans, this.projectionMatrix);
+    }
+
+    public Matrix4 getProjectionMatrix() {
+        return projectionMatrix;
+    }
+
+    public void begin() {
+        if (drawing) throw new IllegalStateException(ERROR_END_BEGIN);
+        this.renderCalls = 0;
+        Gdx.gl.glDepthMask(false);
+
+        shader.bind();
+        shader.setUniformMatrix(u_projTrans, this.projectionMatrix);
+        setColorUniform(u_color, this.color);
+        setColorUniform(u_tweak, this.tweak);
+
+        Gdx.gl.glEnable(GL32.GL_BLEND);
+        Gdx.gl.glBlendFuncSeparate(this.blend[RGB_SRC], this.blend[RGB_DST], this.blend[ALPHA_SRC], this.blend[ALPHA_DST]);
+
+        this.drawing = true;
+    }
+
+    public void end() {
+        if (!drawing) throw new IllegalStateException(ERROR_BEGIN_END);
+        if (idx > 0) flush();
+        Gdx.gl.glDepthMask(true);
+        if (flushWarning && this.intermediateFlushes > 0) {
+            System.err.println(String.format(FLUSH_WARNING, (this.intermediateFlushes + 1), this.instances.length / instanceSize, Thread.currentThread().getStackTrace()[2].toString()));
+        }
+        this.intermediateFlushes = 0;
+        this.drawing = false;
+    }
+
+    public void flush() {
+        if (idx == 0) return;
+        renderCalls++;
+        totalRenderCalls++;
+        mesh.setInstanceData(instances, 0, idx);
+        mesh.render(shader, shape.primitiveType, 0, shape.vertices.length / 2);
+        idx = 0;
+    }
+
+    /**
+     * Adds one instance with the current vertex color, RECT instances get a size of 1x1.
+     */
+    public void instance(float x, float y) {
+        instance(x, y, 1f, 1f, vertexColor);
+    }
+
+    public void instance(float x, float y, float r, float g, float b, float a) {
+        instance(x, y, 1f, 1f, colorPackedRGBA(r, g, b, a));
+    }
+
+    public void instance(float x, float y, float width, float height) {
+        instance(x, y, width, height, vertexColor);
+    }
+
+    public void instance(float x, float y, float width, float height, float r, float g, float b, float a) {
+        instance(x, y, width, height, colorPackedRGBA(r, g, b, a));
+    }
+
+    public void instance(float x, float y, float width, float height, float packedVertexColor) {
+        if (!drawing) throw new IllegalStateException(ERROR_BEGIN_DRAW);
+        if (idx == instances.length) {
+            this.intermediateFlushes++;
+            flush();
+        }
+        final float[] instances = this.instances;
+        instances[idx] = x + shape.positionOffset;
+        instances[idx + 1] = y + shape.positionOffset;
+        if (shape.instanceComponents == 4) {
+            instances[idx + 2] = width;
+            instances[idx + 3] = height;
+        }
+        instances[idx + shape.instanceComponents] = packedVertexColor;
+        idx += instanceSize;
+    }
+
+    public boolean isDrawing() {
+        return drawing;
+    }
+
+    public SHAPE getShape() {
+        return shape;
+    }
+
+    public void dispose() {
+        mesh.dispose();
+        shader.dispose();
+    }
+
+    // ----- Blending -----
+
+    public void setBlendFunction(int srcFunc, int dstFunc) {
+        setBlendFunctionSeparate(srcFunc, dstFunc, srcFunc, dstFunc);
+    }
+
+    public void setBlendFunctionSeparate(int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {
+        if (this.blend[RGB_SRC] == srcFuncColor && this.blend[RGB_DST] == dstFuncColor && this.blend[ALPHA_SRC] == srcFuncAlpha && this.blend[ALPHA_DST] == dstFuncAlpha)
+            return;
+        this.blend[RGB_SRC] = srcFuncColor;
+        this.blend[RGB_DST] = dstFuncColor;
+        this.blend[ALPHA_SRC] = srcFuncAlpha;
+        this.blend[ALPHA_DST] = dstFuncAlpha;
+        if (drawing) {
+            flush();
+            Gdx.gl.glBlendFuncSeparate(blend[RGB_SRC], blend[RGB_DST], blend[ALPHA_SRC], blend[ALPHA_DST]);
+        }
+    }
+
+    public void setBlendFunctionReset() {
+        setBlendFunctionSeparate(reset_blend[RGB_SRC], reset_blend[RGB_DST], reset_blend[ALPHA_SRC], reset_blend[ALPHA_DST]);
+    }
+
+    // ----- Tint Color -----
+
+    public void setColor(Color color) {
+        setPackedColor(colorPackedRGBA(color.r, color.g, color.b, color.a));
+    }
+
+    public void setColor(float r, float g, float b, float alpha) {
+        setPackedColor(colorPackedRGBA(r, g, b, alpha));
+    }
+
+    public void setPackedColor(final float color) {
+        if (this.color == color) return;
+        this.color = color;
+        if (drawing) {
+            flush();
+            setColorUniform(u_color, this.color);
+        }
+    }
+
+    public float getPackedColor() {
+        return color;
+    }
+
+    public Color getColor() {
+        Color.abgr8888ToColor(tempColor, color);
+        return tempColor;
+    }
+
+    // ----- Vertex Color -----
+
+    public void setVertexColor(Color color) {
+        this.vertexColor = colorPackedRGBA(color.r, color.g, color.b, color.a);
+    }
+
+    public void setVertexColor(float r, float g, float b, float alpha) {
+        this.vertexColor = colorPackedRGBA(r, g, b, alpha);
+    }
+
+    public void setPackedVertexColor(final float vertexColor) {
+        this.vertexColor = vertexColor;
+    }
+
+    public float getPackedVertexColor() {
+        return vertexColor;
+    }
+
+    public Color getVertexColor() {
+        Color.abgr8888ToColor(tempColor, vertexColor);
+        return tempColor;
+    }
+
+    // ----- Tweak -----
+
+    public void setTweak(float L, float A, float B) {
+        setPackedTweak(colorPackedRGB(L, A, B));
+    }
+
+    public void setPackedTweak(final float tweak) {
+        if (this.tweak == tweak) return;
+        this.tweak = tweak;
+        if (drawing) {
+            flush();
+            setColorUniform(u_tweak, this.tweak);
+        }
+    }
+
+    public float getPackedTweak() {
+        return tweak;
+    }
+
+    // ---- RESET ----
+
+    public void setAllReset() {
+        setPackedTweak(reset_tweak);
+        setPackedColor(reset_color);
+        this.vertexColor = reset_vertexColor;
+        setBlendFunctionReset();
+    }
+
+    private void setColorUniform(int location, float packedColor) {
+        Color.abgr8888ToColor(uniformColor, packedColor);
+        shader.setUniformf(location, uniformColor.r, uniformColor.g, uniformColor.b, uniformColor.a);
+    }
+
+    public static float colorPackedRGBA(float red, float green, float blue, float alpha) {
+        return NumberUtils.intBitsToFloat(((int) (alpha * 255) << 24 & 0xFE000000) | ((int) (blue * 255) << 16 & 0xFF0000)
+                | ((int) (green * 255) << 8 & 0xFF00) | ((int) (red * 255) & 0xFF));
+    }
+
+    private static float colorPackedRGB(float red, float green, float blue) {
+        return NumberUtils.intBitsToFloat(((int) (blue * 255) << 16 & 0xFF0000)
+                | ((int) (green * 255) << 8 & 0xFF00) | ((int) (red * 255) & 0xFF));
+    }
+
+    public int getRenderCalls() {
+        return this.renderCalls;
+    }
+
+    public int getTotalRenderCalls() {
+        return this.totalRenderCalls;
+    }
+
+}
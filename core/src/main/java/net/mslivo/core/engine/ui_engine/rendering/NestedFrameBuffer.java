@@ -24,6 +24,8 @@ public class NestedFrameBuffer extends FrameBuffer {
     private int[] getViewPortCache;
     private int previousFBOHandle;
     private int getBoundFBOCache;
+    private static long totalBegins = 0;
+    private static long totalEnds = 0;
 
     public NestedFrameBuffer(Pixmap.Format format, int width, int height) {
         this(format, width, height, false, false);
@@ -71,6 +73,7 @@ public class NestedFrameBuffer extends FrameBuffer {
     public void begin() {
         if (isBound) throw new RuntimeException(ERROR_BEGIN_END);
         isBound = true;
+        totalBegins++;
 
         previousFBOHandle = getBoundFboHandle();
         bind();
@@ -95,6 +98,7 @@ public class NestedFrameBuffer extends FrameBuffer {
     public void end(int x, int y, int width, int height) {
         if (!isBound) throw new RuntimeException(ERROR_END_BEGIN);
         isBound = false;
+        totalEnds++;
         Gdx.gl.glBindFramebuffer(GL32.GL_FRAMEBUFFER, previousFBOHandle);
         Gdx.gl.glViewport(x, y, width, height);
     }
@@ -106,6 +110,17 @@ public class NestedFrameBuffer extends FrameBuffer {
         Gdx.gl.glBindFramebuffer(GL32.GL_FRAMEBUFFER, previousFBOHandle);
     }
 
+    /**
+     * begin() calls of all NestedFrameBuffers, frame buffers are only bound on the GL thread.
+     */
+    public static long getTotalBegins() {
+        return totalBegins;
+    }
+
+    public static long getTotalEnds() {
+        return totalEnds;
+    }
+
     public boolean isBound() {
         return isBound;
     }
@@ -17,16 +17,10 @@ public class PrimitiveRenderer {
     private static final String TWEAK_ATTRIBUTE = "a_tweak";
     private static final String VERTEX_COLOR_ATTRIBUTE = "a_vertexColor";
 
-    private static final String VERTEX_SHADER = """
-            attribute vec4 $POSITION_ATTRIBUTE;
-            attribute vec4 $COLOR_ATTRIBUTE;
-            attribute vec4 $VERTEXCOLOR_ATTRIBUTE;
-            attribute vec4 $TWEAK_ATTRIBUTE;
-            
-            uniform mat4 u_projTrans;
-            
-            varying vec4 fragColor;
-            
+    /**
+     * OkLab color functions shared with InstancedPrimitiveRenderer, tweakColor applies tint color and tweak to a vertex color.
+     */
+    static final String TWEAK_FUNCTIONS = """
             const vec3 forward = vec3(1.0 / 3.0);
             const float twoThird = 2.0 / 3.0;
             
@@ -69,30 +63,43 @@ public class PrimitiveRenderer {
                 return lab;
             }
             
-            void main() {
-                gl_PointSize = 1.0;
-            
+            vec4 tweakColor(vec4 vertexColor, vec4 tintColor, vec4 tweak) {
                 // Tint Color
-                vec4 v_color = $COLOR_ATTRIBUTE;
-                v_color.w *= 255.0 / 254.0;
-                v_color.rgb = rgbToLabColor(v_color.rgb);
-            
-                // Position
-            
-                gl_Position = u_projTrans * $POSITION_ATTRIBUTE;
+                tintColor.w *= 255.0 / 254.0;
+                vec3 color = rgbToLabColor(tintColor.rgb);
             
                 // Draw
-                vec3 tgtLab = rgbToLabFragment($VERTEXCOLOR_ATTRIBUTE.rgb);
-                vec3 tweak = $TWEAK_ATTRIBUTE.rgb;
-                vec3 color = v_color.rgb;
-            
-                tgtLab.x = pow(clamp(tgtLab.x * $TWEAK_ATTRIBUTE.x + color.x, 0.0, 1.0), twoThird);
+                vec3 tgtLab = rgbToLabFragment(vertexColor.rgb);
+                tgtLab.x = pow(clamp(tgtLab.x * tweak.x + color.x, 0.0, 1.0), twoThird);
                 tgtLab.yz = clamp((tgtLab.yz * tweak.yz + color.yz - 0.5) * 2.0, -1.0, 1.0);
                 vec3 lab = labToRgbMatrix * tgtLab;
             
-                fragColor = vec4(sqrt(clamp(xyzToRgbMatrix * (lab * lab * lab), 0.0, 1.0)), v_color.a * $VERTEXCOLOR_ATTRIBUTE.a);
+                return vec4(sqrt(clamp(xyzToRgbMatrix * (lab * lab * lab), 0.0, 1.0)), tintColor.a * vertexColor.a);
+            }
+            """;
+
+    private static final String VERTEX_SHADER = """
+            attribute vec4 $POSITION_ATTRIBUTE;
+            attribute vec4 $COLOR_ATTRIBUTE;
+            attribute vec4 $VERTEXCOLOR_ATTRIBUTE;
+            attribute vec4 $TWEAK_ATTRIBUTE;
+            
+            uniform mat4 u_projTrans;
+            
+            varying vec4 fragColor;
+            
+            $TWEAK_FUNCTIONS
+            
+            void main() {
+                gl_PointSize = 1.0;
+            
+                // Position
+                gl_Position = u_projTrans * $POSITION_ATTRIBUTE;
+            
+                fragColor = tweakColor($VERTEXCOLOR_ATTRIBUTE, $COLOR_ATTRIBUTE, $TWEAK_ATTRIBUTE);
             }
             """
+            .replace("$TWEAK_FUNCTIONS", TWEAK_FUNCTIONS)
             .replace("$POSITION_ATTRIBUTE", ShaderProgram.POSITION_ATTRIBUTE)
             .replace("$COLOR_ATTRIBUTE", ShaderProgram.COLOR_ATTRIBUTE)
             .replace("$VERTEXCOLOR_ATTRIBUTE", VERTEX_COLOR_ATTRIBUTE)
@@ -131,7 +138,7 @@ public class PrimitiveRenderer {
     private final Color tempColor;
     private int primitiveType;
     private ShaderProgram shader;
-    private VertexData vertexData;
+    private StreamingVertexData vertexData;
     private IndexData indexData;
     private float[] vertices;
     private int idx;
@@ -139,6 +146,8 @@ public class PrimitiveRenderer {
     private boolean drawing;
     private int renderCalls;
     private int totalRenderCalls;
+    private long totalVertices;
+    private long totalIntermediateFlushes;
     private int size;
     private IntArray indexResets;
 
@@ -185,6 +194,7 @@ public class PrimitiveRenderer {
         this.indexResets = new IntArray();
         this.flushWarning = flushWarning;
         this.renderCalls = this.totalRenderCalls = 0;
+        this.totalVertices = this.totalIntermediateFlushes = 0;
         this.projectionMatrix = new Matrix4().setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         this.intermediateFlushes = 0;
         this.reset_tweak = colorPackedRGBA(0.5f, 0.5f, 0.5f, 0.0f);
@@ -268,6 +278,7 @@ public class PrimitiveRenderer {
         if (flushWarning && this.intermediateFlushes > 0) {
             printFlushWarning();
         }
+        this.totalIntermediateFlushes += this.intermediateFlushes;
         this.intermediateFlushes = 0;
         this.drawing = false;
 
@@ -321,6 +332,7 @@ public class PrimitiveRenderer {
         totalRenderCalls++;
 
         int count = idx/VERTEX_SIZE;
+        totalVertices += count;
 
         this.vertexData.setVertices(vertices, 0, idx);
         this.vertexData.bind(this.shader);
@@ -449,8 +461,8 @@ public class PrimitiveRenderer {
         return newVertices;
     }
 
-    private VertexData createVertexData(int size) {
-        VertexData vertexData = new VertexBufferObjectWithVAO(true, size * VERTEX_SIZE,
+    private StreamingVertexData createVertexData(int size) {
+        StreamingVertexData vertexData = new StreamingVertexData(size,
                 new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
                 new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, VERTEX_COLOR_ATTRIBUTE),
                 new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, COLOR_ATTRIBUTE),
@@ -579,6 +591,10 @@ public class PrimitiveRenderer {
         this.vertexColor = colorPackedRGBA(r, g, b, alpha);
     }
 
+    public void setVertexColor(int rgba8888) {
+        this.vertexColor = NumberUtils.intBitsToFloat(Integer.reverseBytes(rgba8888) & 0xFEFFFFFF);
+    }
+
     public void setPackedVertexColor(final float vertexColor) {
         this.vertexColor = vertexColor;
     }
@@ -758,4 +774,12 @@ public class PrimitiveRenderer {
     public int getTotalRenderCalls() {
         return this.totalRenderCalls;
     }
+
+    public long getTotalVertices() {
+        return this.totalVertices;
+    }
+
+    public long getTotalIntermediateFlushes() {
+        return this.totalIntermediateFlushes;
+    }
 }
@@ -0,0 +1,229 @@
+package net.mslivo.core.engine.ui_engine.rendering;
+
+import net.mslivo.core.engine.ui_engine.constants.RENDER_STAT;
+
+import java.util.ArrayList;
+
+/**
+ * Per-frame render statistics aggregated over all registered renderers and all NestedFrameBuffers.
+ * Renderers only count cumulative totals, sample() takes the difference since the last sample as one frame
+ * and keeps the last window frames for min/avg/max.
+ * Every renderer is registered under a source label, the last frame is also kept per source to see where draw calls come from.
+ * Renderers sharing a label are summed up, framebuffer switches are global and only part of the totals.
+ */
+public final class RenderStats {
+
+    public static final int WINDOW_DEFAULT = 60;
+    public static final String SOURCE_SPRITE_RENDERER_DEFAULT = "Sprite Renderer";
+    public static final String SOURCE_PRIMITIVE_RENDERER_DEFAULT = "Primitive Renderer";
+    public static final String SOURCE_UI_SPRITE_RENDERER = "UI Sprite Renderer";
+    public static final String SOURCE_UI_PRIMITIVE_RENDERER = "UI Primitive Renderer";
+    private static final int STATS = RENDER_STAT.values().length;
+
+    private final ArrayList<Source> sources;
+    private final long[] sourceTotals;
+    private final long[] last;
+    private long framebufferSwitchesSampled;
+    private long[][] history;
+    private int historyIndex;
+    private int historySize;
+    private long frames;
+
+    private static final class Source {
+        private final String label;
+        private final SpriteRenderer spriteRenderer;
+        private final PrimitiveRenderer primitiveRenderer;
+        private final long[] totalsSampled;
+        private final long[] last;
+
+        private Source(String label, SpriteRenderer spriteRenderer, PrimitiveRenderer primitiveRenderer) {
+            this.label = label;
+            this.spriteRenderer = spriteRenderer;
+            this.primitiveRenderer = primitiveRenderer;
+            this.totalsSampled = new long[STATS];
+            this.last = new long[STATS];
+        }
+    }
+
+    public RenderStats() {
+        this(WINDOW_DEFAULT);
+    }
+
+    public RenderStats(int window) {
+        this.sources = new ArrayList<>();
+        this.sourceTotals = new long[STATS];
+        this.last = new long[STATS];
+        this.framebufferSwitchesSampled = framebufferSwitches();
+        this.history = new long[STATS][Math.max(window, 1)];
+        this.historyIndex = 0;
+        this.historySize = 0;
+        this.frames = 0;
+    }
+
+    public void addSpriteRenderer(SpriteRenderer spriteRenderer) {
+        addSpriteRenderer(SOURCE_SPRITE_RENDERER_DEFAULT, spriteRenderer);
+    }
+
+    public void addSpriteRenderer(String source, SpriteRenderer spriteRenderer) {
+        if (spriteRenderer == null || findSource(spriteRenderer) != -1) return;
+        addSource(new Source(validLabel(source, SOURCE_SPRITE_RENDERER_DEFAULT), spriteRenderer, null));
+    }
+
+    public void removeSpriteRenderer(SpriteRenderer spriteRenderer) {
+        if (spriteRenderer == null) return;
+        final int index = findSource(spriteRenderer);
+        if (index != -1) sources.remove(index);
+    }
+
+    public void addPrimitiveRenderer(PrimitiveRenderer primitiveRenderer) {
+        addPrimitiveRenderer(SOURCE_PRIMITIVE_RENDERER_DEFAULT, primitiveRenderer);
+    }
+
+    public void addPrimitiveRenderer(String source, PrimitiveRenderer primitiveRenderer) {
+        if (primitiveRenderer == null || findSource(primitiveRenderer) != -1) return;
+        addSource(new Source(validLabel(source, SOURCE_PRIMITIVE_RENDERER_DEFAULT), null, primitiveRenderer));
+    }
+
+    public void removePrimitiveRenderer(PrimitiveRenderer primitiveRenderer) {
+        if (primitiveRenderer == null) return;
+        final int index = findSource(primitiveRenderer);
+        if (index != -1) sources.remove(index);
+    }
+
+    private void addSource(Source source) {
+        // Counts from before registration don't belong to the current frame
+        collectTotals(source, source.totalsSampled);
+        sources.add(source);
+    }
+
+    private int findSource(Object renderer) {
+        for (int i = 0; i < sources.size(); i++) {
+            Source source = sources.get(i);
+            if (source.spriteRenderer == renderer || source.primitiveRenderer == renderer) return i;
+        }
+        return -1;
+    }
+
+    private static String validLabel(String label, String defaultLabel) {
+        return label != null ? label : defaultLabel;
+    }
+
+    /**
+     * Closes the current frame.
+     */
+    public void sample() {
+        for (int i = 0; i < STATS; i++) last[i] = 0;
+        for (int i = 0; i < sources.size(); i++) {
+            Source source = sources.get(i);
+            collectTotals(source, sourceTotals);
+            for (int i2 = 0; i2 < STATS; i2++) {
+                source.last[i2] = sourceTotals[i2] - source.totalsSampled[i2];
+                source.totalsSampled[i2] = sourceTotals[i2];
+                last[i2] += source.last[i2];
+            }
+        }
+        final long framebufferSwitches = framebufferSwitches();
+        last[RENDER_STAT.FRAMEBUFFER_SWITCHES.ordinal()] += framebufferSwitches - framebufferSwitchesSampled;
+        framebufferSwitchesSampled = framebufferSwitches;
+
+        for (int i = 0; i < STATS; i++) history[i][historyIndex] = last[i];
+        historyIndex = (historyIndex + 1) % history[0].length;
+        if (historySize < history[0].length) historySize++;
+        frames++;
+    }
+
+    private static long framebufferSwitches() {
+        return NestedFrameBuffer.getTotalBegins() + NestedFrameBuffer.getTotalEnds();
+    }
+
+    private static void collectTotals(Source source, long[] result) {
+        for (int i = 0; i < STATS; i++) result[i] = 0;
+        if (source.spriteRenderer != null) {
+            final SpriteRenderer spriteRenderer = source.spriteRenderer;
+            result[RENDER_STAT.RENDER_CALLS.ordinal()] = spriteRenderer.getTotalRenderCalls();
+            result[RENDER_STAT.INTERMEDIATE_FLUSHES.ordinal()] = spriteRenderer.getTotalIntermediateFlushes();
+            result[RENDER_STAT.SPRITES.ordinal()] = spriteRenderer.getTotalSprites();
+            result[RENDER_STAT.VERTICES.ordinal()] = spriteRenderer.getTotalVertices();
+            result[RENDER_STAT.TEXTURE_BINDS.ordinal()] = spriteRenderer.getTotalTextureBinds();
+        } else {
+            final PrimitiveRenderer primitiveRenderer = source.primitiveRenderer;
+            result[RENDER_STAT.RENDER_CALLS.ordinal()] = primitiveRenderer.getTotalRenderCalls();
+            result[RENDER_STAT.INTERMEDIATE_FLUSHES.ordinal()] = primitiveRenderer.getTotalIntermediateFlushes();
+            result[RENDER_STAT.VERTICES.ordinal()] = primitiveRenderer.getTotalVertices();
+        }
+    }
+
+    public long last(RENDER_STAT stat) {
+        return last[stat.ordinal()];
+    }
+
+    /**
+     * Value of stat in the last frame for all renderers registered under source.
+     */
+    public long last(String source, RENDER_STAT stat) {
+        long value = 0;
+        for (int i = 0; i < sources.size(); i++) {
+            if (sources.get(i).label.equals(source)) value += sources.get(i).last[stat.ordinal()];
+        }
+        return value;
+    }
+
+    /**
+     * Adds the distinct source labels in registration order to result.
+     */
+    public void sources(ArrayList<String> result) {
+        for (int i = 0; i < sources.size(); i++) {
+            String label = sources.get(i).label;
+            if (!result.contains(label)) result.add(label);
+        }
+    }
+
+    public long min(RENDER_STAT stat) {
+        if (historySize == 0) return 0;
+        final long[] values = history[stat.ordinal()];
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < historySize; i++) min = Math.min(min, values[i]);
+        return min;
+    }
+
+    public long max(RENDER_STAT stat) {
+        if (historySize == 0) return 0;
+        final long[] values = history[stat.ordinal()];
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < historySize; i++) max = Math.max(max, values[i]);
+        return max;
+    }
+
+    public float avg(RENDER_STAT stat) {
+        if (historySize == 0) return 0f;
+        final long[] values = history[stat.ordinal()];
+        long sum = 0;
+        for (int i = 0; i < historySize; i++) sum += values[i];
+        return sum / (float) historySize;
+    }
+
+    public long frames() {
+        return frames;
+    }
+
+    public int window() {
+        return history[0].length;
+    }
+
+    public void setWindow(int window) {
+        this.history = new long[STATS][Math.max(window, 1)];
+        this.historyIndex = 0;
+        this.historySize = 0;
+    }
+
+    public void reset() {
+        for (int i = 0; i < STATS; i++) last[i] = 0;
+        for (int i = 0; i < sources.size(); i++) {
+            for (int i2 = 0; i2 < STATS; i2++) sources.get(i).last[i2] = 0;
+        }
+        this.historyIndex = 0;
+        this.historySize = 0;
+        this.frames = 0;
+    }
+
+}
@@ -10,10 +10,11 @@ import com.badlogic.gdx.math.Affine2;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.NumberUtils;
 import net.mslivo.core.engine.media_manager.*;
 
+import java.nio.FloatBuffer;
 import java.nio.ShortBuffer;
 import java.util.Arrays;
 
@@ -24,12 +25,14 @@ import java.util.Arrays;
 public class SpriteRenderer implements Batch {
 
     private static final String TWEAK_ATTRIBUTE = "a_tweak";
+    private static final String UNIT_ATTRIBUTE = "a_unit";
 
-    private static final String VERTEX_SHADER = """
+    private static final String VERTEX_SHADER_TEMPLATE = """
             attribute vec4 $POSITION_ATTRIBUTE;
             attribute vec4 $COLOR_ATTRIBUTE;
             attribute vec2 $TEXCOORD_ATTRIBUTE;
             attribute vec4 $TWEAK_ATTRIBUTE;
+            $UNIT_DECLARATION
             uniform mat4 u_projTrans;
             varying vec4 v_color;
             varying vec4 v_tweak;
@@ -58,13 +61,15 @@ public class SpriteRenderer implements Batch {
                // Position & TextCoord
                gl_Position =  u_projTrans * $POSITION_ATTRIBUTE;
                v_texCoords = $TEXCOORD_ATTRIBUTE;
+               $UNIT_ASSIGNMENT
             }
             """
             .replace("$POSITION_ATTRIBUTE", ShaderProgram.POSITION_ATTRIBUTE)
             .replace("$COLOR_ATTRIBUTE", ShaderProgram.COLOR_ATTRIBUTE)
             .replace("$TEXCOORD_ATTRIBUTE", ShaderProgram.TEXCOORD_ATTRIBUTE + "0")
             .replace("$TWEAK_ATTRIBUTE", TWEAK_ATTRIBUTE);
-    private static final String FRAGMENT_SHADER = """
+    private static final String VERTEX_SHADER = createVertexShader(1);
+    private static final String FRAGMENT_SHADER_TEMPLATE = """
             #ifdef GL_ES
                 #define LOW lowp
                 #define MED mediump
@@ -82,8 +87,7 @@ public class SpriteRenderer implements Batch {
             varying vec4 v_color;
             varying vec4 v_tweak;
             
-            uniform MED sampler2D u_texture;
-            uniform MED vec2 u_textureSize;
+            $TEXTURE_UNIFORMS
             
             const vec3 forward = vec3(1.0 / 3.0);
             const float twoThird = 2.0 / 3.0;
@@ -119,19 +123,21 @@ public class SpriteRenderer implements Batch {
                 return lab;
             }
             
-            void main() {
-                // Pixelation
-                MED vec2 texCoords = v_texCoords;
-            
+            MED vec4 sampleTexture(MED sampler2D tex, MED vec2 textureSize, MED vec2 texCoords) {
                 // Calculate pixelation factor
                 MED float pixelSize = 2.0 + floor(v_tweak.w * 14.0);
             
-                texCoords = texCoords * u_textureSize;
+                texCoords = texCoords * textureSize;
                 texCoords = mix(texCoords, floor((texCoords / pixelSize) + 0.5) * pixelSize, step(0.001, v_tweak.w));
-                texCoords = texCoords / u_textureSize;
+                texCoords = texCoords / textureSize;
+                return texture2D(tex, texCoords);
+            }
+            $TEXTURE_SELECT
+            void main() {
+                // Pixelation
+                MED vec4 tgt = $TEXTURE_SAMPLE;
             
                 // OkLab Tweaks
-                MED vec4 tgt = texture2D(u_texture, texCoords);
                 MED vec3 lab = rgbToLabFragment(tgt.xyz);
                 lab.x = pow(clamp(lab.x * v_tweak.x + v_color.x, 0.0, 1.0), twoThird);
                 lab.yz = clamp((lab.yz * v_tweak.yz + v_color.yz - 0.5) * 2.0, -1.0, 1.0);
@@ -142,8 +148,10 @@ public class SpriteRenderer implements Batch {
                 gl_FragColor = vec4(rgb, v_color.a * tgt.a);
             }
             """;
+    private static final String FRAGMENT_SHADER = createFragmentShader(1);
 
     public static final int SIZE_MAX = 16383;
+    public static final int TEXTURE_UNITS_MAX = 8;
 
     private static final String ERROR_END_BEGIN = "SpriteRenderer.end must be called before begin.";
     private static final String ERROR_BEGIN_END = "SpriteRenderer.begin must be called before end.";
@@ -152,10 +160,11 @@ public class SpriteRenderer implements Batch {
     private static final int SPRITE_SIZE = 24;
     private static final int RGB_SRC = 0, RGB_DST = 1, ALPHA_SRC = 2, ALPHA_DST = 3;
     private static final String FLUSH_WARNING = "%d intermediate flushes detected | vertices.length=%d | %s";
+    private static final int VERTEX_SIZE_UNIT = VERTEX_SIZE + 1; // vertex plus texture unit, multi texture batches only
 
     private int size;
     private final Color tempColor;
-    private VertexData vertexData;
+    private StreamingVertexData vertexData;
     private IndexData indexData;
     private float[] vertices;
     private int idx;
@@ -173,9 +182,20 @@ public class SpriteRenderer implements Batch {
     private int u_texture;
     private int u_textureSize;
     private Vector2 textureSizeD4Vector;
+    private final int textureUnits;
+    private final Texture[] textures;
+    private int texturesCount;
+    private final IntArray textureSegments; // pairs of vertex index, texture unit
+    private final float[] textureSizes;
+    private final int[] textureUnitIndices;
+    private int u_textures;
+    private int u_textureSizes;
     private int renderCalls;
     private int totalRenderCalls;
     private int maxSpritesInBatch;
+    private long totalSprites;
+    private long totalTextureBinds;
+    private long totalIntermediateFlushes;
     private boolean flushWarning;
     private int intermediateFlushes;
     private float color;
@@ -207,10 +227,22 @@ public class SpriteRenderer implements Batch {
     }
 
     public SpriteRenderer(MediaManager mediaManager, ShaderProgram shader, int size, boolean flushWarning) {
+        this(mediaManager, shader, size, flushWarning, 1);
+    }
+
+    /**
+     * textureUnits > 1 batches sprites of up to textureUnits different textures into one draw call.
+     * A custom shader then has to declare u_textures[textureUnits]/u_textureSizes[textureUnits] and pick the texture by the float attribute a_unit,
+     * comparing against constant indices like the default one.
+     */
+    public SpriteRenderer(MediaManager mediaManager, ShaderProgram shader, int size, boolean flushWarning, int textureUnits) {
         if (size > SIZE_MAX)
             throw new IllegalArgumentException("Can't have more than " + SIZE_MAX + " sprites per batch: " + size);
+        if (textureUnits < 1 || textureUnits > TEXTURE_UNITS_MAX)
+            throw new IllegalArgumentException("Texture units must be between 1 and " + TEXTURE_UNITS_MAX + ": " + textureUnits);
         if (shader == null) {
-            this.shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+            this.shader = textureUnits == 1 ? new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER) :
+                    new ShaderProgram(createVertexShader(textureUnits), createFragmentShader(textureUnits));
             if (!this.shader.isCompiled())
                 throw new IllegalArgumentException("Error compiling shader: " + this.shader.getLog());
             defaultShader = true;
@@ -224,6 +256,15 @@ public class SpriteRenderer implements Batch {
         this.u_texture = this.shader.getUniformLocation("u_texture");
         this.u_textureSize = this.shader.getUniformLocation("u_textureSize");
         this.textureSizeD4Vector = new Vector2(0, 0);
+        this.textureUnits = textureUnits;
+        this.textures = new Texture[textureUnits];
+        this.texturesCount = 0;
+        this.textureSegments = new IntArray();
+        this.textureSizes = new float[textureUnits * 2];
+        this.textureUnitIndices = new int[textureUnits];
+        for (int i = 0; i < textureUnits; i++) textureUnitIndices[i] = i;
+        this.u_textures = this.shader.getUniformLocation("u_textures[0]");
+        this.u_textureSizes = this.shader.getUniformLocation("u_textureSizes[0]");
         this.drawing = false;
         this.idx = 0;
         this.intermediateFlushes = 0;
@@ -232,8 +273,9 @@ public class SpriteRenderer implements Batch {
         this.combinedMatrix = new Matrix4();
         this.tempColor = new Color(Color.GRAY);
         this.renderCalls = this.totalRenderCalls = this.maxSpritesInBatch = 0;
+        this.totalSprites = this.totalTextureBinds = this.totalIntermediateFlushes = 0;
         this.invTexWidth = this.invTexHeight = 0;
-        this.vertexData = createVertexData(size);
+        this.vertexData = createVertexData(size, textureUnits);
         this.indexData = createIndexData(size);
         this.vertices = createVerticesArray(size);
         this.projectionMatrix = new Matrix4().setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
@@ -281,8 +323,16 @@ public class SpriteRenderer implements Batch {
         return newVertices;
     }
 
-    private VertexData createVertexData(int size) {
-        return new VertexBufferObjectWithVAO(true, size * VERTEX_SIZE,
+    private StreamingVertexData createVertexData(int size, int textureUnits) {
+        if (textureUnits > 1) {
+            return new StreamingVertexData(size * 4,
+                    new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                    new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+                    new VertexAttribute(VertexAttributes.Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"),
+                    new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, TWEAK_ATTRIBUTE),
+                    new VertexAttribute(VertexAttributes.Usage.Generic, 1, UNIT_ATTRIBUTE));
+        }
+        return new StreamingVertexData(size * 4,
                 new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
                 new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
                 new VertexAttribute(VertexAttributes.Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"),
@@ -309,10 +359,13 @@ public class SpriteRenderer implements Batch {
         if (!drawing) throw new IllegalStateException(ERROR_BEGIN_END);
         if (idx > 0) flush();
         lastTexture = null;
+        texturesCount = 0;
+        textureSegments.clear();
         Gdx.gl.glDepthMask(true);
         if (flushWarning && this.intermediateFlushes > 0) {
             printFlushWarning();
         }
+        this.totalIntermediateFlushes += this.intermediateFlushes;
         this.intermediateFlushes = 0;
         drawing = false;
     }
@@ -1187,11 +1240,20 @@ public class SpriteRenderer implements Batch {
 
         int spritesInBatch = idx / SPRITE_SIZE;
         if (spritesInBatch > maxSpritesInBatch) maxSpritesInBatch = spritesInBatch;
+        totalSprites += spritesInBatch;
         int count = spritesInBatch * 6;
 
-        lastTexture.bind();
+        if (textureUnits > 1) {
+            bindTextureUnits();
+            totalTextureBinds += texturesCount;
+            writeUnitVertices(vertexData.map((idx / VERTEX_SIZE) * VERTEX_SIZE_UNIT));
+            vertexData.unmap();
+        } else {
+            lastTexture.bind();
+            totalTextureBinds++;
+            vertexData.setVertices(this.vertices, 0, this.idx);
+        }
 
-        vertexData.setVertices(this.vertices, 0, this.idx);
         vertexData.bind(shader);
 
         ShortBuffer indexBuffer = indexData.getBuffer(true);
@@ -1202,6 +1264,39 @@ public class SpriteRenderer implements Batch {
         Gdx.gl32.glDrawElements(GL32.GL_TRIANGLES, count, GL32.GL_UNSIGNED_SHORT, 0);
 
         idx = 0;
+        if (textureUnits > 1) resetTextureUnits();
+    }
+
+    private void writeUnitVertices(FloatBuffer mapped) {
+        // Append the texture unit of each segment to its vertices while writing into the mapped buffer, unit is a small integer and exact as float
+        for (int s = 0; s < textureSegments.size; s += 2) {
+            final float unit = textureSegments.get(s + 1);
+            final int to = (s + 2) < textureSegments.size ? textureSegments.get(s + 2) : idx;
+            for (int i = textureSegments.get(s); i < to; i += VERTEX_SIZE) {
+                mapped.put(vertices, i, VERTEX_SIZE);
+                mapped.put(unit);
+            }
+        }
+    }
+
+    private void bindTextureUnits() {
+        // Bind in reverse so unit 0 stays active
+        for (int i = texturesCount - 1; i >= 0; i--) {
+            textures[i].bind(i);
+            textureSizes[i * 2] = textures[i].getWidth();
+            textureSizes[(i * 2) + 1] = textures[i].getHeight();
+        }
+        shader.setUniform2fv(u_textureSizes, textureSizes, 0, texturesCount * 2);
+    }
+
+    private void resetTextureUnits() {
+        texturesCount = 0;
+        textureSegments.clear();
+        if (lastTexture != null) {
+            // Drawing continues with the current texture
+            textures[texturesCount++] = lastTexture;
+            textureSegments.add(0, 0);
+        }
     }
 
 
@@ -1290,10 +1385,18 @@ public class SpriteRenderer implements Batch {
     protected void setupMatrices() {
         combinedMatrix.set(projectionMatrix).mul(transformMatrix);
         shader.setUniformMatrix(u_projTrans, combinedMatrix);
-        shader.setUniformi(u_texture, 0);
+        if (textureUnits > 1) {
+            Gdx.gl.glUniform1iv(u_textures, textureUnits, textureUnitIndices, 0);
+        } else {
+            shader.setUniformi(u_texture, 0);
+        }
     }
 
     protected void switchTexture(Texture texture) {
+        if (textureUnits > 1) {
+            switchTextureUnit(texture);
+            return;
+        }
         flush();
         lastTexture = texture;
         invTexWidth = 1.0f / texture.getWidth();
@@ -1303,6 +1406,33 @@ public class SpriteRenderer implements Batch {
         shader.setUniformf(this.u_textureSize, this.textureSizeD4Vector);
     }
 
+    private void switchTextureUnit(Texture texture) {
+        if (idx == vertices.length) {
+            this.intermediateFlushes++;
+            flush();
+        }
+        int unit = -1;
+        for (int i = 0; i < texturesCount; i++) {
+            if (textures[i] == texture) {
+                unit = i;
+                break;
+            }
+        }
+        if (unit == -1) {
+            if (texturesCount == textureUnits) flush();
+            unit = texturesCount;
+            textures[texturesCount++] = texture;
+        }
+        if (textureSegments.size > 0 && textureSegments.get(textureSegments.size - 2) == idx) {
+            textureSegments.set(textureSegments.size - 1, unit);
+        } else {
+            textureSegments.add(idx, unit);
+        }
+        lastTexture = texture;
+        invTexWidth = 1.0f / texture.getWidth();
+        invTexHeight = 1.0f / texture.getHeight();
+    }
+
     @Override
     public void setShader(ShaderProgram shader) {
         if (drawing) {
@@ -1311,9 +1441,52 @@ public class SpriteRenderer implements Batch {
         this.shader = shader;
         this.u_projTrans = shader.getUniformLocation("u_projTrans");
         this.u_texture = shader.getUniformLocation("u_texture");
+        this.u_textures = shader.getUniformLocation("u_textures[0]");
+        this.u_textureSizes = shader.getUniformLocation("u_textureSizes[0]");
         this.shader.bind();
     }
 
+    public int getTextureUnits() {
+        return textureUnits;
+    }
+
+    private static String createVertexShader(int textureUnits) {
+        if (textureUnits == 1) {
+            return VERTEX_SHADER_TEMPLATE
+                    .replace("$UNIT_DECLARATION", "")
+                    .replace("$UNIT_ASSIGNMENT", "");
+        }
+        return VERTEX_SHADER_TEMPLATE
+                .replace("$UNIT_DECLARATION", "attribute float " + UNIT_ATTRIBUTE + ";\n            varying float v_unit;")
+                .replace("$UNIT_ASSIGNMENT", "v_unit = " + UNIT_ATTRIBUTE + ";");
+    }
+
+    private static String createFragmentShader(int textureUnits) {
+        if (textureUnits == 1) {
+            return FRAGMENT_SHADER_TEMPLATE
+                    .replace("$TEXTURE_UNIFORMS", "uniform MED sampler2D u_texture;\n            uniform MED vec2 u_textureSize;")
+                    .replace("$TEXTURE_SELECT", "")
+                    .replace("$TEXTURE_SAMPLE", "sampleTexture(u_texture, u_textureSize, v_texCoords)");
+        }
+        StringBuilder textureUniforms = new StringBuilder();
+        textureUniforms.append("uniform MED sampler2D u_textures[").append(textureUnits).append("];\n");
+        textureUniforms.append("            uniform MED vec2 u_textureSizes[").append(textureUnits).append("];\n");
+        textureUniforms.append("            varying float v_unit;");
+        // Sampler and size are picked in one chain with constant indices, GLSL ES does not allow indexing by a variable
+        StringBuilder textureSelect = new StringBuilder();
+        textureSelect.append("MED vec4 selectTexture(int unit, MED vec2 texCoords) {\n");
+        for (int i = 1; i < textureUnits; i++) {
+            textureSelect.append("                if (unit == ").append(i).append(") return sampleTexture(u_textures[").append(i)
+                    .append("], u_textureSizes[").append(i).append("], texCoords);\n");
+        }
+        textureSelect.append("                return sampleTexture(u_textures[0], u_textureSizes[0], texCoords);\n");
+        textureSelect.append("            }");
+        return FRAGMENT_SHADER_TEMPLATE
+                .replace("$TEXTURE_UNIFORMS", textureUniforms.toString())
+                .replace("$TEXTURE_SELECT", textureSelect.toString())
+                .replace("$TEXTURE_SAMPLE", "selectTexture(int(v_unit + 0.5), v_texCoords)");
+    }
+
     @Override
     public ShaderProgram getShader() {
         return this.shader;
@@ -1562,7 +1735,7 @@ public class SpriteRenderer implements Batch {
             yOffset -= MathUtils.round(mediaManager.fontTextHeight(cMediaFont, text) / 2f);
         BitmapFontCache fontCache = mediaManager.font(cMediaFont).getCache();
         fontCache.clear();
-        fontCache.addText(text, (x + xOffset), (y + yOffset), 0, text.length(), maxWidth, Align.left, false, maxWidth > 0 ? "" : null);
+        fontCache.addText(mediaManager.fontLayout(cMediaFont, text, maxWidth), (x + xOffset), (y + yOffset));
         fontCache.setAlphas(alpha);
         fontCache.draw(this);
     }
@@ -1770,4 +1943,24 @@ public class SpriteRenderer implements Batch {
     public int getTotalRenderCalls() {
         return this.totalRenderCalls;
     }
+
+    public int getMaxSpritesInBatch() {
+        return this.maxSpritesInBatch;
+    }
+
+    public long getTotalSprites() {
+        return this.totalSprites;
+    }
+
+    public long getTotalVertices() {
+        return this.totalSprites * 4;
+    }
+
+    public long getTotalTextureBinds() {
+        return this.totalTextureBinds;
+    }
+
+    public long getTotalIntermediateFlushes() {
+        return this.totalIntermediateFlushes;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package net.mslivo.core.engine.ui_engine.rendering;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL32;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Vertex buffer for renderer batches that are rewritten on every flush.
+ * The buffer holds several batches worth of vertices which are written back to back through glMapBufferRange without synchronization,
+ * the driver never has to wait for a draw that still reads a previous region. Once the ring is full the whole buffer is orphaned.
+ * setVertices copies a vertex array once into the mapped region, map returns the region itself for writers that build vertices at flush time.
+ * bind points the attributes at the region written last.
+ * Write-only, so it is not a libGDX VertexData.
+ */
+final class StreamingVertexData implements Disposable {
+
+    static final int SEGMENTS_DEFAULT = 3;
+    private static final String ERROR_MAP_FAILED = "glMapBufferRange failed";
+    private static final String ERROR_TOO_MANY_VERTICES = "Can't stream more than %d vertices: %d";
+    private static final int MAP_ACCESS_RANGE = GL32.GL_MAP_WRITE_BIT | GL32.GL_MAP_UNSYNCHRONIZED_BIT | GL32.GL_MAP_INVALIDATE_RANGE_BIT;
+    private static final int MAP_ACCESS_ORPHAN = GL32.GL_MAP_WRITE_BIT | GL32.GL_MAP_INVALIDATE_BUFFER_BIT;
+
+    private final VertexAttributes attributes;
+    private final int maxVertices;
+    private final int capacityBytes;
+    private final IntBuffer tmpHandle;
+    private int bufferHandle;
+    private int vaoHandle;
+    private int writeOffsetBytes;
+    private int regionOffsetBytes;
+    private int numVertices;
+    private int[] attributeLocations;
+    private ShaderProgram attributeLocationsShader;
+
+    StreamingVertexData(int maxVertices, VertexAttribute... attributes) {
+        this(maxVertices, SEGMENTS_DEFAULT, attributes);
+    }
+
+    StreamingVertexData(int maxVertices, int segments, VertexAttribute... attributes) {
+        this.attributes = new VertexAttributes(attributes);
+        this.maxVertices = maxVertices;
+        this.capacityBytes = maxVertices * this.attributes.vertexSize * Math.max(segments, 1);
+        this.tmpHandle = BufferUtils.newIntBuffer(1);
+        this.attributeLocations = new int[this.attributes.size()];
+        this.attributeLocationsShader = null;
+        createBuffers();
+    }
+
+    private void createBuffers() {
+        this.bufferHandle = Gdx.gl32.glGenBuffer();
+        Gdx.gl32.glBindBuffer(GL32.GL_ARRAY_BUFFER, bufferHandle);
+        Gdx.gl32.glBufferData(GL32.GL_ARRAY_BUFFER, capacityBytes, null, GL32.GL_STREAM_DRAW);
+        Gdx.gl32.glBindBuffer(GL32.GL_ARRAY_BUFFER, 0);
+
+        tmpHandle.clear();
+        Gdx.gl32.glGenVertexArrays(1, tmpHandle);
+        this.vaoHandle = tmpHandle.get(0);
+
+        this.writeOffsetBytes = 0;
+        this.regionOffsetBytes = 0;
+        this.numVertices = 0;
+    }
+
+    void setVertices(float[] vertices, int offset, int count) {
+        map(count).put(vertices, offset, count);
+        unmap();
+    }
+
+    /**
+     * Maps the next region for count floats, the returned buffer is only valid until unmap.
+     */
+    FloatBuffer map(int count) {
+        final int vertexCount = (count * 4) / attributes.vertexSize;
+        if (vertexCount > maxVertices)
+            throw new IllegalArgumentException(String.format(ERROR_TOO_MANY_VERTICES, maxVertices, vertexCount));
+        final int bytes = count * 4;
+
+        int access = MAP_ACCESS_RANGE;
+        if (writeOffsetBytes + bytes > capacityBytes) {
+            // Ring is full, orphan the buffer instead of waiting for the GPU
+            writeOffsetBytes = 0;
+            access = MAP_ACCESS_ORPHAN;
+        }
+
+        Gdx.gl32.glBindBuffer(GL32.GL_ARRAY_BUFFER, bufferHandle);
+        Buffer mapped = Gdx.gl32.glMapBufferRange(GL32.GL_ARRAY_BUFFER, writeOffsetBytes, bytes, access);
+        if (mapped == null) throw new IllegalStateException(ERROR_MAP_FAILED);
+
+        this.regionOffsetBytes = writeOffsetBytes;
+        this.writeOffsetBytes += bytes;
+        this.numVertices = vertexCount;
+        return ((ByteBuffer) mapped).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    void unmap() {
+        Gdx.gl32.glUnmapBuffer(GL32.GL_ARRAY_BUFFER);
+    }
+
+    void bind(ShaderProgram shader) {
+        Gdx.gl32.glBindVertexArray(vaoHandle);
+        Gdx.gl32.glBindBuffer(GL32.GL_ARRAY_BUFFER, bufferHandle);
+        final int[] locations = attributeLocations(shader);
+        // Region moves every flush, attribute pointers are re-pointed at it
+        for (int i = 0; i < attributes.size(); i++) {
+            final int location = locations[i];
+            if (location < 0) continue;
+            VertexAttribute attribute = attributes.get(i);
+            shader.enableVertexAttribute(location);
+            shader.setVertexAttribute(location, attribute.numComponents, attribute.type, attribute.normalized,
+                    attributes.vertexSize, regionOffsetBytes + attribute.offset);
+        }
+    }
+
+    private int[] attributeLocations(ShaderProgram shader) {
+        if (attributeLocationsShader != shader) {
+            for (int i = 0; i < attributes.size(); i++) {
+                attributeLocations[i] = shader.getAttributeLocation(attributes.get(i).alias);
+            }
+            attributeLocationsShader = shader;
+        }
+        return attributeLocations;
+    }
+
+    void unbind() {
+        Gdx.gl32.glBindVertexArray(0);
+    }
+
+    int getNumVertices() {
+        return numVertices;
+    }
+
+    int getNumMaxVertices() {
+        return maxVertices;
+    }
+
+    VertexAttributes getAttributes() {
+        return attributes;
+    }
+
+    void invalidate() {
+        // Context loss, handles are gone
+        this.attributeLocationsShader = null;
+        createBuffers();
+    }
+
+    @Override
+    public void dispose() {
+        Gdx.gl32.glBindBuffer(GL32.GL_ARRAY_BUFFER, 0);
+        Gdx.gl32.glDeleteBuffer(bufferHandle);
+        tmpHandle.clear();
+        tmpHandle.put(vaoHandle);
+        tmpHandle.flip();
+        Gdx.gl32.glDeleteVertexArrays(1, tmpHandle);
+        this.bufferHandle = 0;
+        this.vaoHandle = 0;
+    }
+
+}
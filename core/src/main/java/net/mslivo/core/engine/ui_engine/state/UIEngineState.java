@@ -4,6 +4,7 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.math.GridPoint2;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.viewport.Viewport;
@@ -11,15 +12,18 @@ import net.mslivo.core.engine.media_manager.CMediaSprite;
 import net.mslivo.core.engine.ui_engine.constants.MOUSE_CONTROL_MODE;
 import net.mslivo.core.engine.ui_engine.constants.TILE_SIZE;
 import net.mslivo.core.engine.ui_engine.constants.VIEWPORT_MODE;
+import net.mslivo.core.engine.ui_engine.profiler.FrameProfiler;
 import net.mslivo.core.engine.ui_engine.rendering.NestedFrameBuffer;
 import net.mslivo.core.engine.ui_engine.rendering.PrimitiveRenderer;
+import net.mslivo.core.engine.ui_engine.rendering.RenderStats;
 import net.mslivo.core.engine.ui_engine.rendering.SpriteRenderer;
 import net.mslivo.core.engine.ui_engine.state.config.UIConfig;
 import net.mslivo.core.engine.ui_engine.state.input.UIInputEvents;
 import net.mslivo.core.engine.ui_engine.state.input.UIInputProcessor;
 import net.mslivo.core.engine.ui_engine.ui.Window;
-import net.mslivo.core.engine.ui_engine.ui.actions.UpdateAction;
+import net.mslivo.core.engine.ui_engine.ui.actions.UpdateActionWheel;
 import net.mslivo.core.engine.ui_engine.ui.components.Component;
+import net.mslivo.core.engine.ui_engine.ui.components.ComponentIndex;
 import net.mslivo.core.engine.ui_engine.ui.components.button.Button;
 import net.mslivo.core.engine.ui_engine.ui.components.canvas.Canvas;
 import net.mslivo.core.engine.ui_engine.ui.components.checkbox.Checkbox;
@@ -66,6 +70,10 @@ public final class UIEngineState {
     public OrthographicCamera camera_ui;
     public NestedFrameBuffer frameBuffer_uiComponent;
     public NestedFrameBuffer frameBuffer_uiModal;
+    public boolean uiComponentLayerDirty;
+    public boolean uiModalLayerDirty;
+    public boolean render_layerAnimated;
+    public Matrix4 matrix4_windowFrameBuffer;
 
     /* #################### Graphics: Screen #################### */
     public int upscaleFactor_screen;
@@ -73,17 +81,21 @@ public final class UIEngineState {
     public NestedFrameBuffer frameBuffer_screen;
     public Viewport viewport_screen;
 
+    /* #################### Stats #################### */
+    public RenderStats renderStats;
+    public FrameProfiler frameProfiler;
+
     /* #################### UI: Added Elements #################### */
 
     public ArrayList<Window> windows;
     public ArrayList<Component> screenComponents;
+    public ComponentIndex screenComponentIndex;
     public Window modalWindow;
     public ArrayDeque<Window> modalWindowQueue;
     public ArrayList<Notification> notifications;
     public ArrayList<HotKey> hotKeys;
     public ArrayList<AppViewport> appViewPorts;
-    public ArrayList<UpdateAction> singleUpdateActions;
-    public ArrayDeque<UpdateAction> singleUpdateActionsRemoveQueue;
+    public UpdateActionWheel updateActionWheel;
 
     /* #################### UI: Actively used UI References #################### */
     public Window draggedWindow;
@@ -143,6 +155,10 @@ public final class UIEngineState {
 
     /* #################### Control #################### */
     public Object lastUIMouseHover; // Last GUI Element the mouse hovered over
+    public Object layerCaching_lastUIMouseHover;
+    public int layerCaching_lastMouseX, layerCaching_lastMouseY;
+    public CMediaSprite layerCaching_lastCursor;
+    public int layerCaching_lastCursorArrayIndex;
     public MOUSE_CONTROL_MODE currentControlMode;
     public GridPoint2 mouse_app;
     public Vector2 mouse_emulated; // Mouse Position for Keyboard/Gamepad mouse control
@@ -22,6 +22,7 @@ public final class UIConfig implements Serializable, Cloneable {
     public boolean ui_keyInteractionsDisabled;
     public boolean ui_mouseInteractionsDisabled;
     public boolean ui_foldWindowsOnDoubleClick;
+    public boolean ui_layerCaching;
     public AnimationTimerFunction ui_animationTimerFunction;
     public float input_emulatedMouseCursorSpeed;
     public boolean input_hardwareMouseEnabled;
@@ -49,6 +50,7 @@ public final class UIConfig implements Serializable, Cloneable {
     public int[] input_gamePadMouseButtonsScrollUp;
     public int[] input_gamePadMouseButtonsScrollDown;
     public boolean window_defaultEnforceScreenBounds;
+    public boolean window_defaultCached;
     public Color window_defaultColor;
     public Color component_defaultColor;
     public Color contextMenu_defaultColor;
@@ -58,6 +60,7 @@ public final class UIConfig implements Serializable, Cloneable {
     public float component_knobSensitivity;
     public float component_scrollbarSensitivity;
     public float component_mapOverlayDefaultFadeoutSpeed;
+    public boolean component_canvasDefaultTextureMode;
     public int notification_max;
     public int notification_defaultDisplayTime;
     public Color notification_defaultColor;
@@ -83,6 +86,7 @@ public final class UIConfig implements Serializable, Cloneable {
         ui_keyInteractionsDisabled = false;
         ui_mouseInteractionsDisabled = false;
         ui_foldWindowsOnDoubleClick = true;
+        ui_layerCaching = false;
         ui_animationTimerFunction = new AnimationTimerFunction() {
             float delta = 0.016f;
             float animationTimer = 0;
@@ -125,6 +129,7 @@ public final class UIConfig implements Serializable, Cloneable {
         input_gamePadMouseButtonsScrollDown = null;
         // ##### Window & Component Default Values #####
         window_defaultEnforceScreenBounds = true;
+        window_defaultCached = false;
         window_defaultColor = DEFAULT_COlOR.cpy();
         component_defaultColor = DEFAULT_COlOR.cpy();
         contextMenu_defaultColor = DEFAULT_COlOR_BRIGHT.cpy();
@@ -134,6 +139,7 @@ public final class UIConfig implements Serializable, Cloneable {
         component_knobSensitivity = 1f;
         component_scrollbarSensitivity = 1f;
         component_mapOverlayDefaultFadeoutSpeed = 0.05f;
+        component_canvasDefaultTextureMode = true;
         component_textFieldDefaultAllowedCharacters = new char[]{
                 'a', 'b', 'c', 'd', 'e', 'f',
                 'g', 'h', 'i', 'j', 'k', 'l',
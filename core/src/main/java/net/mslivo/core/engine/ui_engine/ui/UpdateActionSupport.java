@@ -5,5 +5,5 @@ import net.mslivo.core.engine.ui_engine.ui.actions.UpdateAction;
 import java.util.ArrayList;
 
 public abstract class UpdateActionSupport {
-    public ArrayList<UpdateAction> updateActions;
+    public ArrayList<UpdateAction> updateActions; // modify via API only, the engine schedules them on add/remove
 }
@@ -1,8 +1,10 @@
 package net.mslivo.core.engine.ui_engine.ui;
 
 import com.badlogic.gdx.graphics.Color;
+import net.mslivo.core.engine.ui_engine.rendering.NestedFrameBuffer;
 import net.mslivo.core.engine.ui_engine.ui.actions.WindowAction;
 import net.mslivo.core.engine.ui_engine.ui.components.Component;
+import net.mslivo.core.engine.ui_engine.ui.components.ComponentIndex;
 
 import java.util.ArrayList;
 
@@ -14,6 +16,7 @@ public class Window extends UpdateActionSupport {
     public String title;
     public Color fontColor;
     public ArrayList<Component> components;
+    public ComponentIndex componentIndex;
     public String name;
     public Object data;
     public Color color;
@@ -25,4 +28,7 @@ public class Window extends UpdateActionSupport {
     public boolean enforceScreenBounds;
     public WindowAction windowAction;
     public boolean addedToScreen;
+    public boolean cached;
+    public NestedFrameBuffer frameBuffer;
+    public boolean frameBufferDirty;
 }
@@ -2,12 +2,19 @@ package net.mslivo.core.engine.ui_engine.ui.actions;
 
 /**
  * Created by Admin on 16.03.2019.
+ * An UpdateAction belongs to one component or window at a time, adding it to another is ignored until it is removed again.
+ * Tooltips run their actions every frame without scheduling and don't take ownership.
  */
 public abstract class UpdateAction {
 
     public final int interval;
 
-    public long lastUpdate;
+    public long lastUpdate; // set by engine, the scheduled wheel slot is derived from it
+
+    public Object addedTo; // set by engine
+    public int wheelSlot; // set by engine
+    public UpdateAction wheelPrev, wheelNext; // set by engine
+    public boolean singleUpdate; // set by engine
 
     public UpdateAction() {
         this(0, false);
@@ -20,6 +27,10 @@ public abstract class UpdateAction {
     public UpdateAction(int interval, boolean updateOnInit) {
         this.interval = interval;
         this.lastUpdate = updateOnInit ? 0 : System.currentTimeMillis();
+        this.addedTo = null;
+        this.wheelSlot = UpdateActionWheel.SLOT_NONE;
+        this.wheelPrev = this.wheelNext = null;
+        this.singleUpdate = false;
     }
 
     public void onUpdate() {
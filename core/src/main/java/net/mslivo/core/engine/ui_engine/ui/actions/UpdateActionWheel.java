@@ -0,0 +1,19 @@
+package net.mslivo.core.engine.ui_engine.ui.actions;
+
+/*
+ * Hashed timing wheel of UpdateActions with one slot per millisecond
+ * Slots are intrusive doubly linked lists over UpdateAction, slot SLOT_EVERY_FRAME holds interval 0 actions
+ * Actions due further away than SLOTS ms stay in their slot and are checked once per revolution
+ */
+public class UpdateActionWheel {
+    public static final int SLOTS = 1024;
+    public static final int SLOT_MASK = SLOTS - 1;
+    public static final int SLOT_EVERY_FRAME = SLOTS;
+    public static final int SLOT_NONE = -1;
+    public static final int SLOT_PENDING = -2; // collected for execution
+    public UpdateAction[] slots;
+    public long currentTime; // last processed millisecond
+    public UpdateAction[] due;
+    public int dueSize;
+    public int size;
+}
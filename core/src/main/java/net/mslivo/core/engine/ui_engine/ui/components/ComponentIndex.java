@@ -0,0 +1,13 @@
+package net.mslivo.core.engine.ui_engine.ui.components;
+
+/*
+ * Uniform tile grid over a component list, rebuilt lazily when invalidated
+ * Cells hold the overlapping components in list (draw) order
+ */
+public class ComponentIndex {
+    public boolean valid;
+    public boolean linear; // grid would be too large, fall back to linear search
+    public int cellX, cellY, cellsWidth, cellsHeight;
+    public Component[][] cells;
+    public int[] cellSizes;
+}
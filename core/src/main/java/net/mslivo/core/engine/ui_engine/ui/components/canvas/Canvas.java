@@ -1,13 +1,18 @@
 package net.mslivo.core.engine.ui_engine.ui.components.canvas;
 
+import com.badlogic.gdx.graphics.Texture;
 import net.mslivo.core.engine.ui_engine.rendering.ColorMap;
 import net.mslivo.core.engine.ui_engine.ui.actions.CanvasAction;
 import net.mslivo.core.engine.ui_engine.ui.components.Component;
 
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 
 public class Canvas extends Component {
     public ColorMap colorMap;
     public CanvasAction canvasAction;
     public ArrayList<CanvasImage> canvasImages;
+    public boolean textureMode;
+    public Texture texture;
+    public IntBuffer textureBuffer;
 }
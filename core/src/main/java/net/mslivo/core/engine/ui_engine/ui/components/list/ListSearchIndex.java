@@ -0,0 +1,198 @@
+package net.mslivo.core.engine.ui_engine.ui.components.list;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+import net.mslivo.core.engine.ui_engine.ui.tooltip.Tooltip;
+import net.mslivo.core.engine.ui_engine.ui.tooltip.TooltipTextSegment;
+
+import java.util.ArrayList;
+
+/**
+ * Trigram index over the item texts (and optionally tooltip texts) of a list for search bars.
+ * Queries start from the smallest posting list of their trigrams, a query that extends the previous one starts from the previous result instead.
+ * Candidates are verified with contains, results keep the item order. The index is rebuilt by update() after invalidate() or once the source list
+ * (including nested lists with searchArrayLists) no longer holds the indexed items in the same order, found by an identity scan without reading texts.
+ * Texts of items that stay in place are only re-read after invalidate().
+ * Item texts are read through the ListAction during update() only, which builds an immutable snapshot and publishes it.
+ * search() reads the latest snapshot without locking and can run on any thread while the next update() builds.
+ */
+public final class ListSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final char SEPARATOR = '\n'; // separates item and tooltip texts, never part of a query
+
+    private final List list;
+    private final ArrayList source;
+    private final boolean searchTooltips;
+    private final boolean searchArrayLists;
+    private final ArrayList<Object> itemsTemp;
+    private final ArrayList<String> textsTemp;
+    private final StringBuilder textBuilder;
+    private volatile Snapshot snapshot;
+    private volatile SearchResult lastResult;
+    private volatile boolean valid;
+
+    private record Snapshot(Object[] items, String[] texts, LongMap<IntArray> postings) {
+    }
+
+    private record SearchResult(Snapshot snapshot, String query, int[] matches) {
+    }
+
+    public ListSearchIndex(List list, ArrayList source, boolean searchTooltips, boolean searchArrayLists) {
+        this.list = list;
+        this.source = source;
+        this.searchTooltips = searchTooltips;
+        this.searchArrayLists = searchArrayLists;
+        this.itemsTemp = new ArrayList<>();
+        this.textsTemp = new ArrayList<>();
+        this.textBuilder = new StringBuilder();
+        this.snapshot = null;
+        this.lastResult = null;
+        this.valid = false;
+    }
+
+    public void invalidate() {
+        this.valid = false;
+    }
+
+    /**
+     * Call from the UI thread.
+     */
+    public boolean isOutdated() {
+        final Snapshot snapshot = this.snapshot;
+        if (!valid || snapshot == null) return true;
+        // Catches added, removed and replaced items, also inside nested lists
+        return matchItems(source, snapshot.items(), 0) != snapshot.items().length;
+    }
+
+    /**
+     * Compares the items of searchList with items from index on by identity, returns the next index or -1 on a mismatch.
+     */
+    private int matchItems(ArrayList searchList, Object[] items, int index) {
+        for (int i = 0; i < searchList.size(); i++) {
+            Object item = searchList.get(i);
+            if (searchArrayLists && item instanceof ArrayList itemList) {
+                index = matchItems(itemList, items, index);
+                if (index == -1) return -1;
+                continue;
+            }
+            if (index >= items.length || items[index] != item) return -1;
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Rebuilds the index if outdated, call from the UI thread.
+     */
+    public void update() {
+        if (!isOutdated()) return;
+        // Set before the rebuild, an invalidate() during the rebuild keeps the new snapshot outdated
+        this.valid = true;
+
+        itemsTemp.clear();
+        textsTemp.clear();
+        collectItems(source);
+        final Object[] items = itemsTemp.toArray();
+        final String[] texts = textsTemp.toArray(new String[0]);
+        itemsTemp.clear();
+        textsTemp.clear();
+
+        final LongMap<IntArray> postings = new LongMap<>();
+        for (int i = 0; i < texts.length; i++) {
+            final String text = texts[i];
+            for (int p = 0; p <= text.length() - GRAM; p++) {
+                if (text.charAt(p) == SEPARATOR || text.charAt(p + 1) == SEPARATOR || text.charAt(p + 2) == SEPARATOR)
+                    continue;
+                final long key = gram(text, p);
+                IntArray posting = postings.get(key);
+                if (posting == null) {
+                    posting = new IntArray();
+                    postings.put(key, posting);
+                }
+                // Items are added in order, duplicates of the same item are always at the end
+                if (posting.size == 0 || posting.peek() != i) posting.add(i);
+            }
+        }
+
+        this.snapshot = new Snapshot(items, texts, postings);
+    }
+
+    private void collectItems(ArrayList searchList) {
+        for (int i = 0; i < searchList.size(); i++) {
+            Object item = searchList.get(i);
+            if (searchArrayLists && item instanceof ArrayList itemList) {
+                collectItems(itemList);
+                continue;
+            }
+            textBuilder.setLength(0);
+            textBuilder.append(list.listAction.text(item).trim().toLowerCase());
+            if (searchTooltips) {
+                Tooltip tooltip = list.listAction.toolTip(item);
+                if (tooltip != null) {
+                    for (int i2 = 0; i2 < tooltip.segments.size(); i2++) {
+                        if (tooltip.segments.get(i2) instanceof TooltipTextSegment textSegment)
+                            textBuilder.append(SEPARATOR).append(textSegment.text.trim().toLowerCase());
+                    }
+                }
+            }
+            itemsTemp.add(item);
+            textsTemp.add(textBuilder.toString());
+        }
+    }
+
+    /**
+     * Adds all items matching searchText to result, in list order.
+     */
+    public void search(String searchText, ArrayList result) {
+        final String query = searchText.trim().toLowerCase();
+        result.clear();
+        final Snapshot snapshot = this.snapshot;
+        if (snapshot == null) return;
+
+        // Narrowing query: every match also matched the previous query on the same snapshot
+        final SearchResult lastResult = this.lastResult;
+        final boolean narrowing = lastResult != null && lastResult.snapshot() == snapshot && query.contains(lastResult.query());
+        int[] candidates = narrowing ? lastResult.matches() : null;
+        int candidatesSize = narrowing ? candidates.length : Integer.MAX_VALUE;
+        if (query.length() >= GRAM) {
+            for (int p = 0; p <= query.length() - GRAM; p++) {
+                IntArray posting = snapshot.postings().get(gram(query, p));
+                if (posting == null) {
+                    this.lastResult = new SearchResult(snapshot, query, new int[0]);
+                    return;
+                }
+                if (posting.size < candidatesSize) {
+                    candidates = posting.items;
+                    candidatesSize = posting.size;
+                }
+            }
+        }
+
+        final String[] texts = snapshot.texts();
+        final IntArray matches = new IntArray();
+        if (candidates == null) {
+            for (int i = 0; i < texts.length; i++)
+                if (texts[i].contains(query)) matches.add(i);
+        } else {
+            for (int c = 0; c < candidatesSize; c++) {
+                final int i = candidates[c];
+                if (texts[i].contains(query)) matches.add(i);
+            }
+        }
+        this.lastResult = new SearchResult(snapshot, query, matches.toArray());
+
+        final Object[] items = snapshot.items();
+        for (int i = 0; i < matches.size; i++) result.add(items[matches.get(i)]);
+    }
+
+    public int size() {
+        final Snapshot snapshot = this.snapshot;
+        return snapshot != null ? snapshot.items().length : 0;
+    }
+
+    private static long gram(String text, int position) {
+        return ((long) text.charAt(position) << 32) | ((long) text.charAt(position + 1) << 16) | text.charAt(position + 2);
+    }
+
+}